@@ -3,9 +3,13 @@ package com.gym.management.apigateway;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+
+import com.gym.management.apigateway.loadbalancer.LatencyAwareLoadBalancerConfiguration;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
 public class CentralServer1Application {
 
 	public static void main(String[] args) {
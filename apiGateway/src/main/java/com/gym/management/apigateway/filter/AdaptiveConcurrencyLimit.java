@@ -0,0 +1,113 @@
+package com.gym.management.apigateway.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrency limit that follows backend latency, after the gradient
+ * algorithm: it compares a short-term average of response times with a
+ * long-term one. While they agree the backend is keeping up and the limit
+ * grows by a small queue allowance; once the short-term average rises above
+ * the long-term one, requests are queueing in the backend and the limit
+ * shrinks in proportion.
+ *
+ * Acquiring and releasing are lock-free. Samples update the limit under a
+ * lock that is only tried, never waited for, so under contention some
+ * samples are skipped rather than requests delayed.
+ */
+public class AdaptiveConcurrencyLimit {
+	private static final double SHORT_WINDOW_WEIGHT = 0.1;
+	private static final double LONG_WINDOW_WEIGHT = 1.0 / 600;
+	private static final double RTT_TOLERANCE = 1.5;
+	private static final double SMOOTHING = 0.2;
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final ReentrantLock updateLock = new ReentrantLock();
+	private volatile double limit;
+	private double shortRtt;
+	private double longRtt;
+
+	public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+		if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+			throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+		}
+		this.limit = initialLimit;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+	}
+
+	/**
+	 * Admits a request if fewer than the limit are in flight. Every admitted
+	 * request must be followed by exactly one {@link #release(long)}.
+	 */
+	public boolean tryAcquire() {
+		while (true) {
+			int current = inFlight.get();
+			if (current >= (int) limit) {
+				return false;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Ends an admitted request and feeds its response time into the limit.
+	 *
+	 * @param rttNanos the response time, or a negative value if the request
+	 *                 ended without one, such as when it was cancelled
+	 */
+	public void release(long rttNanos) {
+		int current = inFlight.getAndDecrement();
+		if (rttNanos > 0 && updateLock.tryLock()) {
+			try {
+				update(rttNanos, current);
+			} finally {
+				updateLock.unlock();
+			}
+		}
+	}
+
+	private void update(double rtt, int inFlightAtSample) {
+		if (longRtt == 0) {
+			shortRtt = rtt;
+			longRtt = rtt;
+			return;
+		}
+		shortRtt += (rtt - shortRtt) * SHORT_WINDOW_WEIGHT;
+		longRtt += (shortRtt - longRtt) * LONG_WINDOW_WEIGHT;
+		if (longRtt / shortRtt > 2) {
+			// Latency dropped for good, for example after a slow instance left;
+			// let the baseline catch up instead of growing without bound.
+			longRtt *= 0.95;
+		}
+
+		double current = limit;
+		if (inFlightAtSample < current / 2) {
+			// The backend is not being pushed, so its latency says nothing
+			// about how much more it could take.
+			return;
+		}
+		double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / shortRtt));
+		double target = current * gradient + Math.sqrt(current);
+		double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+		limit = Math.max(minLimit, Math.min(maxLimit, next));
+	}
+
+	/**
+	 * The current limit.
+	 */
+	public int getLimit() {
+		return (int) limit;
+	}
+
+	/**
+	 * The number of requests in flight.
+	 */
+	public int getInFlight() {
+		return inFlight.get();
+	}
+}
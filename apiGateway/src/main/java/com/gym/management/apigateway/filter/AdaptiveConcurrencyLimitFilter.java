@@ -0,0 +1,71 @@
+package com.gym.management.apigateway.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Rejects requests with 503 Service Unavailable and Retry-After while a route
+ * already has as many requests in flight as its {@link AdaptiveConcurrencyLimit}
+ * allows. The time from forwarding a request to receiving the backend's
+ * response is fed back into the limit, so a backend that slows down gets less
+ * concurrent work instead of a growing queue. The limit is local to each
+ * gateway instance and needs no shared store.
+ *
+ * Publishes gateway.concurrency.limit and gateway.concurrency.in-flight per
+ * route, and counts rejections in gateway.requests.rejected.
+ */
+public class AdaptiveConcurrencyLimitFilter implements GatewayFilter, Ordered {
+	private final AdaptiveConcurrencyLimit limit;
+	private final String routeId;
+	private final MeterRegistry meterRegistry;
+
+	public AdaptiveConcurrencyLimitFilter(AdaptiveConcurrencyLimitGatewayFilterFactory.Config config,
+			MeterRegistry meterRegistry) {
+		this.limit = new AdaptiveConcurrencyLimit(config.getInitialLimit(), config.getMinLimit(),
+				config.getMaxLimit());
+		this.routeId = String.valueOf(config.getRouteId());
+		this.meterRegistry = meterRegistry;
+		Gauge.builder("gateway.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+				.description("Requests a route may have in flight")
+				.tag("route", routeId)
+				.register(meterRegistry);
+		Gauge.builder("gateway.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+				.description("Requests a route has in flight")
+				.tag("route", routeId)
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Runs after the response cache, so only requests that reach a backend
+	 * count against the limit.
+	 */
+	@Override
+	public int getOrder() {
+		return 0;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		if (!limit.tryAcquire()) {
+			meterRegistry.counter("gateway.requests.rejected", "route", routeId, "limit", "concurrency").increment();
+			ServerHttpResponse response = exchange.getResponse();
+			response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+			response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+			return response.setComplete();
+		}
+
+		long start = System.nanoTime();
+		return chain.filter(exchange)
+				.doFinally(signal -> limit.release(signal == SignalType.CANCEL ? -1 : System.nanoTime() - start));
+	}
+}
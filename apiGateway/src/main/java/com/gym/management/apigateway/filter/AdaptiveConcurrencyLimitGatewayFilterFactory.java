@@ -0,0 +1,83 @@
+package com.gym.management.apigateway.filter;
+
+import java.util.List;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Route filter that caps the number of requests a route has in flight at a
+ * limit that adapts to backend latency, for example
+ * {@code AdaptiveConcurrencyLimit=20,4,200} to start at 20 and stay between 4
+ * and 200.
+ *
+ * @see AdaptiveConcurrencyLimitFilter
+ */
+@Component
+public class AdaptiveConcurrencyLimitGatewayFilterFactory
+		extends AbstractGatewayFilterFactory<AdaptiveConcurrencyLimitGatewayFilterFactory.Config> {
+	private final MeterRegistry meterRegistry;
+
+	public AdaptiveConcurrencyLimitGatewayFilterFactory(MeterRegistry meterRegistry) {
+		super(Config.class);
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public List<String> shortcutFieldOrder() {
+		return List.of("initialLimit", "minLimit", "maxLimit");
+	}
+
+	@Override
+	public GatewayFilter apply(Config config) {
+		return new AdaptiveConcurrencyLimitFilter(config, meterRegistry);
+	}
+
+	/**
+	 * Concurrency limits of one route.
+	 */
+	public static class Config implements HasRouteId {
+		private String routeId;
+		private int initialLimit = 20;
+		private int minLimit = 4;
+		private int maxLimit = 200;
+
+		@Override
+		public void setRouteId(String routeId) {
+			this.routeId = routeId;
+		}
+
+		@Override
+		public String getRouteId() {
+			return routeId;
+		}
+
+		public int getInitialLimit() {
+			return initialLimit;
+		}
+
+		public void setInitialLimit(int initialLimit) {
+			this.initialLimit = initialLimit;
+		}
+
+		public int getMinLimit() {
+			return minLimit;
+		}
+
+		public void setMinLimit(int minLimit) {
+			this.minLimit = minLimit;
+		}
+
+		public int getMaxLimit() {
+			return maxLimit;
+		}
+
+		public void setMaxLimit(int maxLimit) {
+			this.maxLimit = maxLimit;
+		}
+	}
+}
@@ -0,0 +1,350 @@
+package com.gym.management.apigateway.filter;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Serves GET responses of one route from a bounded in-memory cache and lets
+ * identical GETs that arrive while the first one is still being fetched wait
+ * for its response instead of calling the backend themselves. A burst of N
+ * identical requests costs one backend call whether it arrives before or
+ * after the response is cached.
+ *
+ * Only complete 200 responses without Set-Cookie, no-store or private, and no
+ * larger than {@code maxEntrySize}, are cached. A no-cache response is cached
+ * only if it has an ETag, and is revalidated with the backend by If-None-Match
+ * before every reuse; a 304 from the backend is answered from the cache. If
+ * the first request produces anything else, fails or is cancelled, the
+ * requests waiting on it go to the backend on their own. Requests that ask for
+ * no-cache or no-store bypass the filter.
+ *
+ * A POST, PUT, PATCH or DELETE passing through the route evicts every cached
+ * response for its path once it completes, and responses to GETs that were
+ * already under way at that point are not cached.
+ *
+ * The cache key is the path, the query and the configured key headers.
+ * Conditional headers are not part of it: the backend is always asked for the
+ * full response, and If-None-Match and If-Modified-Since are answered with 304
+ * by the gateway from the cached ETag and Last-Modified.
+ *
+ * Every response passing through is counted in gateway.response.cache, tagged
+ * with the route and with hit, coalesced, miss, revalidate or bypass; the
+ * client gets HIT, COALESCED, MISS or REVALIDATED in the X-Cache header.
+ */
+public class CoalescingResponseCacheFilter implements GatewayFilter, Ordered {
+	public static final String X_CACHE = "X-Cache";
+
+	private static final List<String> UNCACHED_HEADERS = List.of(HttpHeaders.CONNECTION, "Keep-Alive",
+			HttpHeaders.TRANSFER_ENCODING, HttpHeaders.DATE, X_CACHE);
+	private static final Set<HttpMethod> SAFE_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS,
+			HttpMethod.TRACE);
+
+	private final Cache<String, CachedResponse> cache;
+	private final ConcurrentMap<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+	private final CoalescingResponseCacheGatewayFilterFactory.Config config;
+	private final MeterRegistry meterRegistry;
+	private final long maxEntryBytes;
+	private volatile long invalidatedAt = System.nanoTime();
+
+	public CoalescingResponseCacheFilter(CoalescingResponseCacheGatewayFilterFactory.Config config,
+			MeterRegistry meterRegistry) {
+		this.config = config;
+		this.meterRegistry = meterRegistry;
+		this.maxEntryBytes = Math.min(config.getMaxEntrySize().toBytes(), config.getSize().toBytes());
+		this.cache = Caffeine.newBuilder()
+				.expireAfterWrite(config.getTimeToLive())
+				.maximumWeight(config.getSize().toBytes())
+				.<String, CachedResponse>weigher((key, response) -> key.length() + response.body().length)
+				.build();
+	}
+
+	/**
+	 * Runs before the response is written, like the other response-rewriting
+	 * filters, and before the load balancer, so a hit picks no instance.
+	 */
+	@Override
+	public int getOrder() {
+		return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		ServerHttpRequest request = exchange.getRequest();
+		if (!SAFE_METHODS.contains(request.getMethod())) {
+			record(exchange, "bypass");
+			String path = request.getURI().getRawPath();
+			return chain.filter(exchange).doFinally(signal -> evict(path));
+		}
+		if (!HttpMethod.GET.equals(request.getMethod()) || bypassesCache(request.getHeaders())) {
+			record(exchange, "bypass");
+			return chain.filter(exchange);
+		}
+
+		String key = key(request);
+		CachedResponse cached = cache.getIfPresent(key);
+		if (cached != null && !cached.mustRevalidate()) {
+			record(exchange, "hit");
+			return write(exchange, cached, "HIT");
+		}
+
+		Sinks.One<CachedResponse> flight = Sinks.one();
+		Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, flight);
+		if (leader != null) {
+			record(exchange, "coalesced");
+			return leader.asMono()
+					.map(Optional::of)
+					.defaultIfEmpty(Optional.empty())
+					.flatMap(response -> response.isPresent() ? write(exchange, response.get(), "COALESCED")
+							: chain.filter(exchange));
+		}
+
+		record(exchange, cached == null ? "miss" : "revalidate");
+		ServerHttpRequest upstreamRequest = request.mutate()
+				.headers(headers -> {
+					headers.remove(HttpHeaders.IF_NONE_MATCH);
+					headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+					if (cached != null) {
+						headers.setIfNoneMatch(cached.headers().getETag());
+					}
+				})
+				.build();
+		ServerWebExchange upstream = exchange.mutate()
+				.request(upstreamRequest)
+				.response(new CapturingResponse(exchange, key, flight, cached))
+				.build();
+		return chain.filter(upstream).doFinally(signal -> {
+			inFlight.remove(key, flight);
+			flight.tryEmitEmpty();
+		});
+	}
+
+	/**
+	 * Forgets every cached response for a path, whatever its query or key
+	 * headers, and keeps responses to GETs already under way from being
+	 * cached.
+	 */
+	private void evict(String path) {
+		invalidatedAt = System.nanoTime();
+		cache.asMap().keySet().removeIf(key -> key.equals(path) || key.startsWith(path + "?")
+				|| key.startsWith(path + "\n"));
+	}
+
+	private String key(ServerHttpRequest request) {
+		StringBuilder key = new StringBuilder(request.getURI().getRawPath());
+		if (config.isIncludeQuery() && request.getURI().getRawQuery() != null) {
+			key.append('?').append(request.getURI().getRawQuery());
+		}
+		for (String header : config.getKeyHeaders()) {
+			key.append('\n').append(header).append(':').append(request.getHeaders().getValuesAsList(header));
+		}
+		return key.toString();
+	}
+
+	private Mono<Void> write(ServerWebExchange exchange, CachedResponse cached, String result) {
+		ServerHttpResponse response = exchange.getResponse();
+		response.getHeaders().addAll(cached.headers());
+		response.getHeaders().set(HttpHeaders.AGE,
+				Long.toString(ChronoUnit.SECONDS.between(cached.storedAt(), Instant.now())));
+		response.getHeaders().set(X_CACHE, result);
+		if (isNotModified(exchange.getRequest().getHeaders(), cached.headers())) {
+			return notModified(response);
+		}
+		response.setStatusCode(cached.status());
+		return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+	}
+
+	private static Mono<Void> notModified(ServerHttpResponse response) {
+		response.setStatusCode(HttpStatus.NOT_MODIFIED);
+		response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+		response.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+		return response.setComplete();
+	}
+
+	private void record(ServerWebExchange exchange, String result) {
+		Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		meterRegistry.counter("gateway.response.cache", "route", route == null ? "none" : route.getId(),
+				"result", result).increment();
+	}
+
+	private static boolean bypassesCache(HttpHeaders headers) {
+		String cacheControl = headers.getCacheControl();
+		return cacheControl != null && (cacheControl.contains("no-cache") || cacheControl.contains("no-store"));
+	}
+
+	private static boolean isCacheable(HttpStatusCode status, HttpHeaders headers) {
+		String cacheControl = headers.getCacheControl();
+		return status.value() == HttpStatus.OK.value() && !headers.containsKey(HttpHeaders.SET_COOKIE)
+				&& !headers.getVary().contains("*")
+				&& (cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private")
+						|| cacheControl.contains("no-cache") && headers.getETag() == null));
+	}
+
+	/**
+	 * Evaluates If-None-Match, or If-Modified-Since when there is no
+	 * If-None-Match, against a response's validators.
+	 */
+	static boolean isNotModified(HttpHeaders request, HttpHeaders response) {
+		List<String> ifNoneMatch = request.getIfNoneMatch();
+		if (!ifNoneMatch.isEmpty()) {
+			String etag = response.getETag();
+			if (etag == null) {
+				return false;
+			}
+			String opaque = stripWeak(etag);
+			return ifNoneMatch.stream().anyMatch(tag -> tag.equals("*") || stripWeak(tag).equals(opaque));
+		}
+		long ifModifiedSince = request.getIfModifiedSince();
+		long lastModified = response.getLastModified();
+		return ifModifiedSince >= 0 && lastModified >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+	}
+
+	private static String stripWeak(String etag) {
+		return etag.startsWith("W/") ? etag.substring(2) : etag;
+	}
+
+	/**
+	 * Copies buffers into one array and releases them.
+	 */
+	private static byte[] join(List<DataBuffer> buffers) {
+		int length = 0;
+		for (DataBuffer buffer : buffers) {
+			length += buffer.readableByteCount();
+		}
+		byte[] bytes = new byte[length];
+		int offset = 0;
+		for (DataBuffer buffer : buffers) {
+			int count = buffer.readableByteCount();
+			buffer.read(bytes, offset, count);
+			offset += count;
+			DataBufferUtils.release(buffer);
+		}
+		return bytes;
+	}
+
+	/**
+	 * A cached response. The body is shared by every hit and never modified.
+	 */
+	record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, Instant storedAt) {
+		boolean mustRevalidate() {
+			String cacheControl = headers.getCacheControl();
+			return cacheControl != null && cacheControl.contains("no-cache");
+		}
+	}
+
+	/**
+	 * Buffers the backend response of the request that fetches a key, caches it
+	 * if allowed, hands it to the requests waiting on the key and writes it to
+	 * its own client, answering that client's conditional headers. A body that
+	 * grows past the maximum entry size is not cached and streams through as it
+	 * arrives. When the request revalidates a stale entry, a 304 from the
+	 * backend is answered with that entry.
+	 */
+	private class CapturingResponse extends ServerHttpResponseDecorator {
+		private final ServerWebExchange exchange;
+		private final String key;
+		private final Sinks.One<CachedResponse> flight;
+		private final CachedResponse stale;
+		private final long startedAt = System.nanoTime();
+
+		CapturingResponse(ServerWebExchange exchange, String key, Sinks.One<CachedResponse> flight,
+				CachedResponse stale) {
+			super(exchange.getResponse());
+			this.exchange = exchange;
+			this.key = key;
+			this.flight = flight;
+			this.stale = stale;
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			AtomicLong size = new AtomicLong();
+			return Flux.<DataBuffer>from(body)
+					.bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maxEntryBytes)
+					.switchOnFirst((first, buffers) -> {
+						if (first.isOnComplete() || first.hasValue() && size.get() <= maxEntryBytes) {
+							return buffers.next().map(CoalescingResponseCacheFilter::join).defaultIfEmpty(new byte[0])
+									.flatMap(this::complete);
+						}
+						flight.tryEmitEmpty();
+						getHeaders().set(X_CACHE, "MISS");
+						return super.writeWith(buffers.concatMapIterable(list -> list));
+					})
+					.then();
+		}
+
+		private Mono<Void> complete(byte[] bytes) {
+			HttpStatusCode status = getStatusCode() == null ? HttpStatus.OK : getStatusCode();
+			if (stale != null && status.value() == HttpStatus.NOT_MODIFIED.value()) {
+				share(new CachedResponse(stale.status(), stale.headers(), stale.body(), Instant.now()));
+				getHeaders().putAll(stale.headers());
+				getHeaders().set(X_CACHE, "REVALIDATED");
+				if (isNotModified(exchange.getRequest().getHeaders(), stale.headers())) {
+					return notModified(getDelegate());
+				}
+				setStatusCode(stale.status());
+				return super.writeWith(Mono.just(bufferFactory().wrap(stale.body())));
+			}
+
+			HttpHeaders headers = new HttpHeaders();
+			headers.addAll(getHeaders());
+			UNCACHED_HEADERS.forEach(headers::remove);
+			if (isCacheable(status, headers)) {
+				share(new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), bytes, Instant.now()));
+			} else {
+				flight.tryEmitEmpty();
+			}
+
+			getHeaders().set(X_CACHE, "MISS");
+			if (status.value() == HttpStatus.OK.value()
+					&& isNotModified(exchange.getRequest().getHeaders(), headers)) {
+				return notModified(getDelegate());
+			}
+			return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+		}
+
+		/**
+		 * Caches a response and hands it to the waiting requests, unless a write
+		 * to the route completed while it was being fetched.
+		 */
+		private void share(CachedResponse response) {
+			if (startedAt - invalidatedAt < 0) {
+				flight.tryEmitEmpty();
+				return;
+			}
+			cache.put(key, response);
+			flight.tryEmitValue(response);
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package com.gym.management.apigateway.filter;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Route filter that caches GET responses in gateway memory and collapses
+ * identical concurrent GETs into one backend call. Configured per route, for
+ * example {@code CoalescingResponseCache=5m,2MB} for a five minute TTL and at
+ * most 2 MB of cached bodies.
+ *
+ * @see CoalescingResponseCacheFilter
+ */
+@Component
+public class CoalescingResponseCacheGatewayFilterFactory
+		extends AbstractGatewayFilterFactory<CoalescingResponseCacheGatewayFilterFactory.Config> {
+	private final MeterRegistry meterRegistry;
+
+	public CoalescingResponseCacheGatewayFilterFactory(MeterRegistry meterRegistry) {
+		super(Config.class);
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public List<String> shortcutFieldOrder() {
+		return List.of("timeToLive", "size");
+	}
+
+	@Override
+	public GatewayFilter apply(Config config) {
+		return new CoalescingResponseCacheFilter(config, meterRegistry);
+	}
+
+	/**
+	 * Cache settings of one route.
+	 */
+	public static class Config {
+		/**
+		 * How long a response is served from the cache.
+		 */
+		private Duration timeToLive = Duration.ofSeconds(5);
+
+		/**
+		 * Upper bound on the cached bodies of the route; the least recently used
+		 * entries are evicted first.
+		 */
+		private DataSize size = DataSize.ofMegabytes(1);
+
+		/**
+		 * Largest body that is cached. A larger body is passed through without
+		 * being buffered in full.
+		 */
+		private DataSize maxEntrySize = DataSize.ofKilobytes(256);
+
+		/**
+		 * Request headers whose values are part of the cache key, because the
+		 * response depends on them.
+		 */
+		private List<String> keyHeaders = List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+		/**
+		 * Whether the query string is part of the cache key.
+		 */
+		private boolean includeQuery = true;
+
+		public Duration getTimeToLive() {
+			return timeToLive;
+		}
+
+		public void setTimeToLive(Duration timeToLive) {
+			this.timeToLive = timeToLive;
+		}
+
+		public DataSize getSize() {
+			return size;
+		}
+
+		public void setSize(DataSize size) {
+			this.size = size;
+		}
+
+		public DataSize getMaxEntrySize() {
+			return maxEntrySize;
+		}
+
+		public void setMaxEntrySize(DataSize maxEntrySize) {
+			this.maxEntrySize = maxEntrySize;
+		}
+
+		public List<String> getKeyHeaders() {
+			return keyHeaders;
+		}
+
+		public void setKeyHeaders(List<String> keyHeaders) {
+			this.keyHeaders = keyHeaders;
+		}
+
+		public boolean isIncludeQuery() {
+			return includeQuery;
+		}
+
+		public void setIncludeQuery(boolean includeQuery) {
+			this.includeQuery = includeQuery;
+		}
+	}
+}
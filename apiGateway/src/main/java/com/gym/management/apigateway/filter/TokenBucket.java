@@ -0,0 +1,58 @@
+package com.gym.management.apigateway.filter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket. The whole state is one long, the time at which
+ * the bucket will be full again (the generic cell rate algorithm), so taking
+ * a token is one compare-and-set and needs no refill thread.
+ */
+public class TokenBucket {
+	private final long intervalNanos;
+	private final long capacityNanos;
+	private final AtomicLong fullAt;
+
+	/**
+	 * @param permitsPerSecond the rate at which tokens are added
+	 * @param burst            the number of tokens the bucket holds
+	 * @param now              the current {@link System#nanoTime()}
+	 */
+	public TokenBucket(double permitsPerSecond, int burst, long now) {
+		if (permitsPerSecond <= 0 || burst < 1) {
+			throw new IllegalArgumentException("A token bucket needs a positive rate and burst");
+		}
+		this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+		this.capacityNanos = intervalNanos * burst;
+		this.fullAt = new AtomicLong(now);
+	}
+
+	/**
+	 * Takes one token if there is one.
+	 *
+	 * @param now the current {@link System#nanoTime()}
+	 * @return the number of tokens left if one was taken, or minus the number
+	 *         of nanoseconds until the next token if the bucket is empty
+	 */
+	public long tryAcquire(long now) {
+		while (true) {
+			long current = fullAt.get();
+			long next = Math.max(current, now) + intervalNanos;
+			long used = next - now;
+			if (used > capacityNanos) {
+				return -Math.max(1, used - capacityNanos);
+			}
+			if (fullAt.compareAndSet(current, next)) {
+				return (capacityNanos - used) / intervalNanos;
+			}
+		}
+	}
+
+	/**
+	 * Puts back a token taken by {@link #tryAcquire(long)}, for a request that
+	 * was turned away by another limit after all.
+	 */
+	public void release() {
+		fullAt.addAndGet(-intervalNanos);
+	}
+}
@@ -0,0 +1,170 @@
+package com.gym.management.apigateway.filter;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.handler.ipfilter.IpFilterRuleType;
+import io.netty.handler.ipfilter.IpSubnetFilterRule;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rejects requests with 429 Too Many Requests once a route, a source, a
+ * client or a gym location has used up its token bucket. Checking a request
+ * is a lookup in a concurrent map and one compare-and-set per bucket, so the
+ * filter takes no lock and does not serialize the gateway. A request takes a
+ * token from every bucket or from none: if one bucket turns it away, the
+ * tokens already taken from the others are put back.
+ *
+ * The source of a request is its authenticated principal, or its remote
+ * address without one, so it cannot be chosen by the client. The configured
+ * client header, when present, only tells apart clients of one source, such
+ * as the kiosks of a gym behind one address; the source limit caps them
+ * together, so inventing client ids does not raise it. Locations are
+ * identified by the location header, but only on requests that come straight
+ * from one of the configured trusted proxies, which set it at the edge. From
+ * anywhere else the header is the client's own claim: honouring it would let
+ * a kiosk drain another gym's bucket, so it is ignored.
+ *
+ * Source, client and location buckets are shared with the other routes that
+ * have the same limits, through {@link TokenBuckets}; the route bucket belongs
+ * to the route. All buckets are local to each gateway instance.
+ *
+ * The smallest limit that allows the request is returned in
+ * X-RateLimit-Remaining, and a rejected request gets Retry-After. Rejections
+ * are counted in gateway.requests.rejected, tagged with the route and the
+ * limit that was hit.
+ */
+public class TokenBucketRateLimiterFilter implements GatewayFilter, Ordered {
+	public static final String REMAINING = "X-RateLimit-Remaining";
+
+	private final TokenBucketRateLimiterGatewayFilterFactory.Config config;
+	private final TokenBuckets tokenBuckets;
+	private final MeterRegistry meterRegistry;
+	private final TokenBucket routeBucket;
+	private final List<IpSubnetFilterRule> locationTrustedProxies;
+
+	public TokenBucketRateLimiterFilter(TokenBucketRateLimiterGatewayFilterFactory.Config config,
+			TokenBuckets tokenBuckets, MeterRegistry meterRegistry) {
+		this.config = config;
+		this.tokenBuckets = tokenBuckets;
+		this.meterRegistry = meterRegistry;
+		this.routeBucket = config.getRouteRate() > 0
+				? new TokenBucket(config.getRouteRate(), config.getRouteBurst(), System.nanoTime())
+				: null;
+		this.locationTrustedProxies = config.getLocationTrustedProxies().stream()
+				.map(TokenBucketRateLimiterFilter::subnet)
+				.toList();
+	}
+
+	/**
+	 * Parses an address or a CIDR range, as the RemoteAddr route predicate
+	 * does. A bare address stands for itself.
+	 */
+	private static IpSubnetFilterRule subnet(String proxy) {
+		String[] addressAndPrefix = proxy.trim().split("/", 2);
+		int prefix = addressAndPrefix.length == 2 ? Integer.parseInt(addressAndPrefix[1])
+				: addressAndPrefix[0].contains(":") ? 128 : 32;
+		return new IpSubnetFilterRule(addressAndPrefix[0], prefix, IpFilterRuleType.ACCEPT);
+	}
+
+	/**
+	 * Runs first, so a throttled request costs neither a cache lookup nor a
+	 * backend call.
+	 */
+	@Override
+	public int getOrder() {
+		return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		return exchange.getPrincipal()
+				.map(Principal::getName)
+				.map(name -> "principal:" + name)
+				.switchIfEmpty(Mono.fromSupplier(() -> "address:" + remoteAddress(exchange.getRequest())))
+				.flatMap(source -> filter(exchange, chain, source));
+	}
+
+	private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, String source) {
+		HttpHeaders headers = exchange.getRequest().getHeaders();
+		long now = System.nanoTime();
+
+		Map<String, TokenBucket> buckets = new LinkedHashMap<>();
+		if (config.getSourceRate() > 0) {
+			buckets.put("source", tokenBuckets.get("source:" + source, config.getSourceRate(),
+					config.getSourceBurst(), now));
+		}
+		if (config.getClientRate() > 0) {
+			String client = headers.getFirst(config.getClientHeader());
+			buckets.put("client", tokenBuckets.get("client:" + source + (client == null ? "" : "/" + client),
+					config.getClientRate(), config.getClientBurst(), now));
+		}
+		String location = fromTrustedProxy(exchange.getRequest()) ? headers.getFirst(config.getLocationHeader())
+				: null;
+		if (config.getLocationRate() > 0 && location != null) {
+			buckets.put("location", tokenBuckets.get("location:" + location, config.getLocationRate(),
+					config.getLocationBurst(), now));
+		}
+		if (routeBucket != null) {
+			buckets.put("route", routeBucket);
+		}
+
+		long remaining = Long.MAX_VALUE;
+		for (Map.Entry<String, TokenBucket> limit : buckets.entrySet()) {
+			long result = limit.getValue().tryAcquire(now);
+			if (result < 0) {
+				for (TokenBucket taken : buckets.values()) {
+					if (taken == limit.getValue()) {
+						break;
+					}
+					taken.release();
+				}
+				return reject(exchange, limit.getKey(), result);
+			}
+			remaining = Math.min(remaining, result);
+		}
+
+		if (remaining != Long.MAX_VALUE) {
+			exchange.getResponse().getHeaders().set(REMAINING, Long.toString(remaining));
+		}
+		return chain.filter(exchange);
+	}
+
+	private boolean fromTrustedProxy(ServerHttpRequest request) {
+		InetSocketAddress remoteAddress = request.getRemoteAddress();
+		return remoteAddress != null && !remoteAddress.isUnresolved()
+				&& locationTrustedProxies.stream().anyMatch(proxy -> proxy.matches(remoteAddress));
+	}
+
+	private static String remoteAddress(ServerHttpRequest request) {
+		InetSocketAddress remoteAddress = request.getRemoteAddress();
+		return remoteAddress == null || remoteAddress.getAddress() == null ? "unknown"
+				: remoteAddress.getAddress().getHostAddress();
+	}
+
+	private Mono<Void> reject(ServerWebExchange exchange, String limit, long waitNanos) {
+		meterRegistry.counter("gateway.requests.rejected", "route", String.valueOf(config.getRouteId()), "limit",
+				limit).increment();
+		ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+		response.getHeaders().set(REMAINING, "0");
+		response.getHeaders().set(HttpHeaders.RETRY_AFTER,
+				Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(-waitNanos + TimeUnit.SECONDS.toNanos(1) - 1))));
+		return response.setComplete();
+	}
+}
@@ -0,0 +1,195 @@
+package com.gym.management.apigateway.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Route filter that limits the request rate of a route, of each source, of
+ * each client and of each gym location with in-memory token buckets, for
+ * example {@code TokenBucketRateLimiter=20,40} for 20 requests per second per
+ * client with bursts of up to 40.
+ *
+ * @see TokenBucketRateLimiterFilter
+ */
+@Component
+public class TokenBucketRateLimiterGatewayFilterFactory
+		extends AbstractGatewayFilterFactory<TokenBucketRateLimiterGatewayFilterFactory.Config> {
+	private final TokenBuckets tokenBuckets;
+	private final MeterRegistry meterRegistry;
+
+	public TokenBucketRateLimiterGatewayFilterFactory(TokenBuckets tokenBuckets, MeterRegistry meterRegistry) {
+		super(Config.class);
+		this.tokenBuckets = tokenBuckets;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public List<String> shortcutFieldOrder() {
+		return List.of("clientRate", "clientBurst");
+	}
+
+	@Override
+	public GatewayFilter apply(Config config) {
+		return new TokenBucketRateLimiterFilter(config, tokenBuckets, meterRegistry);
+	}
+
+	/**
+	 * Limits of one route. A rate of 0 turns that limit off.
+	 */
+	public static class Config implements HasRouteId {
+		private String routeId;
+
+		/**
+		 * Requests per second allowed for the whole route.
+		 */
+		private double routeRate;
+		private int routeBurst = 1;
+
+		/**
+		 * Requests per second allowed for one source: an authenticated
+		 * principal, or a remote address for anonymous requests, across all of
+		 * its clients.
+		 */
+		private double sourceRate;
+		private int sourceBurst = 1;
+
+		/**
+		 * Requests per second allowed for one client of a source.
+		 */
+		private double clientRate;
+		private int clientBurst = 1;
+
+		/**
+		 * Requests per second allowed for one gym location.
+		 */
+		private double locationRate;
+		private int locationBurst = 1;
+
+		/**
+		 * The header telling apart the clients of one source, such as the kiosks
+		 * of a gym. Requests without it are limited as one client of their
+		 * source.
+		 */
+		private String clientHeader = "X-Client-Id";
+
+		/**
+		 * The header identifying the gym location. Requests without it are not
+		 * limited per location.
+		 */
+		private String locationHeader = "X-Gym-Location";
+
+		/**
+		 * Addresses or CIDR ranges of the proxies that set the location header
+		 * at the edge, replacing whatever the client sent. The header is only
+		 * honoured on requests that come straight from one of them, since any
+		 * other client could name any gym. Empty by default, which leaves the
+		 * location limit off.
+		 */
+		private List<String> locationTrustedProxies = new ArrayList<>();
+
+		@Override
+		public void setRouteId(String routeId) {
+			this.routeId = routeId;
+		}
+
+		@Override
+		public String getRouteId() {
+			return routeId;
+		}
+
+		public double getRouteRate() {
+			return routeRate;
+		}
+
+		public void setRouteRate(double routeRate) {
+			this.routeRate = routeRate;
+		}
+
+		public int getRouteBurst() {
+			return routeBurst;
+		}
+
+		public void setRouteBurst(int routeBurst) {
+			this.routeBurst = routeBurst;
+		}
+
+		public double getSourceRate() {
+			return sourceRate;
+		}
+
+		public void setSourceRate(double sourceRate) {
+			this.sourceRate = sourceRate;
+		}
+
+		public int getSourceBurst() {
+			return sourceBurst;
+		}
+
+		public void setSourceBurst(int sourceBurst) {
+			this.sourceBurst = sourceBurst;
+		}
+
+		public double getClientRate() {
+			return clientRate;
+		}
+
+		public void setClientRate(double clientRate) {
+			this.clientRate = clientRate;
+		}
+
+		public int getClientBurst() {
+			return clientBurst;
+		}
+
+		public void setClientBurst(int clientBurst) {
+			this.clientBurst = clientBurst;
+		}
+
+		public double getLocationRate() {
+			return locationRate;
+		}
+
+		public void setLocationRate(double locationRate) {
+			this.locationRate = locationRate;
+		}
+
+		public int getLocationBurst() {
+			return locationBurst;
+		}
+
+		public void setLocationBurst(int locationBurst) {
+			this.locationBurst = locationBurst;
+		}
+
+		public String getClientHeader() {
+			return clientHeader;
+		}
+
+		public void setClientHeader(String clientHeader) {
+			this.clientHeader = clientHeader;
+		}
+
+		public String getLocationHeader() {
+			return locationHeader;
+		}
+
+		public void setLocationHeader(String locationHeader) {
+			this.locationHeader = locationHeader;
+		}
+
+		public List<String> getLocationTrustedProxies() {
+			return locationTrustedProxies;
+		}
+
+		public void setLocationTrustedProxies(List<String> locationTrustedProxies) {
+			this.locationTrustedProxies = locationTrustedProxies;
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.gym.management.apigateway.filter;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * The token buckets of sources, clients and locations, shared by every route
+ * that limits them, so a client's limit holds across routes instead of once
+ * per route. A bucket is keyed by what it limits and by its rate and burst,
+ * so routes configured with different limits do not share buckets. Buckets of
+ * idle keys expire, and at most {@code gateway.rate-limit.max-buckets} are
+ * kept, which bounds memory even when the keys are made up.
+ */
+@Component
+public class TokenBuckets {
+	private static final Duration IDLE_BUCKET_EXPIRY = Duration.ofMinutes(10);
+
+	private final Cache<String, TokenBucket> buckets;
+
+	public TokenBuckets(@Value("${gateway.rate-limit.max-buckets:300000}") long maxBuckets) {
+		this.buckets = Caffeine.newBuilder()
+				.expireAfterAccess(IDLE_BUCKET_EXPIRY)
+				.maximumSize(maxBuckets)
+				.build();
+	}
+
+	/**
+	 * The bucket of a key, created full if there is none.
+	 *
+	 * @param key   what the bucket limits, such as {@code client:10.0.0.7}
+	 * @param rate  the bucket's rate
+	 * @param burst the bucket's burst
+	 * @param now   the current {@link System#nanoTime()}
+	 */
+	public TokenBucket get(String key, double rate, int burst, long now) {
+		return buckets.get(key + "@" + rate + "/" + burst, k -> new TokenBucket(rate, burst, now));
+	}
+}
@@ -0,0 +1,338 @@
+package com.gym.management.apigateway.loadbalancer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.http.HttpStatusCode;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Chooses between the instances of a service by recent latency and load
+ * instead of in turn. Two instances are picked at random and the one with the
+ * lower cost wins (power of two choices), where the cost is the peak EWMA of
+ * the instance's response times multiplied by its outstanding requests plus
+ * one. The peak EWMA jumps to a slow response at once and decays over
+ * {@code decay}, both with faster responses and with time, so an instance
+ * stalled by a GC pause stops getting traffic within one response and is
+ * tried again once its pause is old news.
+ *
+ * An instance that fails {@code failureThreshold} requests in a row, with an
+ * error or a 5xx, is ejected for {@code ejectionTime}, as long as no more than
+ * {@code maxEjectionPercent} of the instances are ejected. New and returning
+ * instances start with a fraction of their share, growing linearly to the
+ * full share over {@code slowStart}. An instance with no response yet gets
+ * one request at a time until its first response arrives.
+ *
+ * The balancer learns from the requests it routes: the gateway reports each
+ * request's start and completion through {@link LoadBalancerLifecycle}. A
+ * request that is cancelled and never completes is forgotten after
+ * {@code staleAfter}. Statistics are kept per gateway instance.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+		LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+	private static final Logger logger = LoggerFactory.getLogger(LatencyAwareLoadBalancer.class);
+	private static final int STALE_CHECK_THRESHOLD = 256;
+	private static final double MIN_SLOW_START_WEIGHT = 0.1;
+
+	private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+	private final String serviceId;
+	private final Settings settings;
+	private final ConcurrentMap<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+	public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+			String serviceId, Settings settings) {
+		this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+		this.serviceId = serviceId;
+		this.settings = settings;
+	}
+
+	@Override
+	@SuppressWarnings("rawtypes")
+	public Mono<Response<ServiceInstance>> choose(Request request) {
+		ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+				.getIfAvailable(NoopServiceInstanceListSupplier::new);
+		return supplier.get(request).next().map(instances -> {
+			Response<ServiceInstance> response = choose(instances);
+			if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+				callback.selectedServiceInstance(response.getServer());
+			}
+			return response;
+		});
+	}
+
+	Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+		if (instances.isEmpty()) {
+			logger.warn("No servers available for service: {}", serviceId);
+			return new EmptyResponse();
+		}
+		long now = System.nanoTime();
+		forgetRemoved(instances);
+
+		List<ServiceInstance> candidates = new ArrayList<>(instances.size());
+		for (ServiceInstance instance : instances) {
+			if (!stats(instance, now).isEjected(now)) {
+				candidates.add(instance);
+			}
+		}
+		int maxEjected = instances.size() * settings.getMaxEjectionPercent() / 100;
+		if (candidates.isEmpty() || instances.size() - candidates.size() > maxEjected) {
+			candidates = instances;
+		}
+		if (candidates.size() == 1) {
+			return new DefaultResponse(candidates.get(0));
+		}
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int first = random.nextInt(candidates.size());
+		int second = random.nextInt(candidates.size() - 1);
+		if (second >= first) {
+			second++;
+		}
+		ServiceInstance a = candidates.get(first);
+		ServiceInstance b = candidates.get(second);
+		return new DefaultResponse(cost(a, now) <= cost(b, now) ? a : b);
+	}
+
+	private double cost(ServiceInstance instance, long now) {
+		InstanceStats instanceStats = stats(instance, now);
+		int outstanding = instanceStats.outstanding.size();
+		double latency = instanceStats.latency(now, settings.getDecay().toNanos());
+		if (latency < 0) {
+			latency = outstanding == 0 ? 0 : settings.getUnprobedPenalty().toNanos();
+		}
+		double warmedUp = (double) (now - instanceStats.warmingSince) / settings.getSlowStart().toNanos();
+		double weight = Math.max(MIN_SLOW_START_WEIGHT, Math.min(1.0, warmedUp));
+		return latency * (outstanding + 1) / weight;
+	}
+
+	@Override
+	public void onStart(Request<Object> request) {
+	}
+
+	@Override
+	public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+		if (!lbResponse.hasServer()) {
+			return;
+		}
+		long now = System.nanoTime();
+		InstanceStats instanceStats = stats(lbResponse.getServer(), now);
+		instanceStats.outstanding.put(new RequestKey(request), now);
+		if (instanceStats.outstanding.size() > STALE_CHECK_THRESHOLD) {
+			long staleBefore = now - settings.getStaleAfter().toNanos();
+			instanceStats.outstanding.values().removeIf(start -> start < staleBefore);
+		}
+	}
+
+	@Override
+	public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+		if (lbResponse == null || !lbResponse.hasServer()) {
+			return;
+		}
+		InstanceStats instanceStats = stats.get(key(lbResponse.getServer()));
+		if (instanceStats == null) {
+			return;
+		}
+		Long start = instanceStats.outstanding.remove(new RequestKey(completionContext.getLoadBalancerRequest()));
+		if (start == null || completionContext.status() == CompletionContext.Status.DISCARD) {
+			return;
+		}
+
+		long now = System.nanoTime();
+		if (completionContext.status() == CompletionContext.Status.FAILED) {
+			recordFailure(lbResponse.getServer(), instanceStats, now);
+			return;
+		}
+		instanceStats.observe(now - start, now, settings.getDecay().toNanos());
+		HttpStatusCode status = completionContext.getClientResponse() instanceof ResponseData responseData
+				? responseData.getHttpStatus()
+				: null;
+		if (status != null && status.is5xxServerError()) {
+			recordFailure(lbResponse.getServer(), instanceStats, now);
+		} else {
+			instanceStats.consecutiveFailures.set(0);
+		}
+	}
+
+	private void recordFailure(ServiceInstance instance, InstanceStats instanceStats, long now) {
+		if (instanceStats.consecutiveFailures.incrementAndGet() >= settings.getFailureThreshold()) {
+			instanceStats.consecutiveFailures.set(0);
+			instanceStats.ejectedUntil = now + settings.getEjectionTime().toNanos();
+			instanceStats.warmingSince = instanceStats.ejectedUntil;
+			logger.warn("Ejecting {} instance {} for {} after {} consecutive failures", serviceId, key(instance),
+					settings.getEjectionTime(), settings.getFailureThreshold());
+		}
+	}
+
+	private InstanceStats stats(ServiceInstance instance, long now) {
+		return stats.computeIfAbsent(key(instance), k -> new InstanceStats(now));
+	}
+
+	private void forgetRemoved(List<ServiceInstance> instances) {
+		if (stats.size() <= instances.size()) {
+			return;
+		}
+		Set<String> current = new HashSet<>();
+		for (ServiceInstance instance : instances) {
+			current.add(key(instance));
+		}
+		stats.keySet().retainAll(current);
+	}
+
+	private static String key(ServiceInstance instance) {
+		return instance.getHost() + ":" + instance.getPort();
+	}
+
+	/**
+	 * What the balancer knows about one instance.
+	 */
+	static final class InstanceStats {
+		final ConcurrentMap<RequestKey, Long> outstanding = new ConcurrentHashMap<>();
+		final AtomicInteger consecutiveFailures = new AtomicInteger();
+		volatile long ejectedUntil;
+		volatile long warmingSince;
+		private double ewmaNanos = -1;
+		private long lastSampleAt;
+
+		InstanceStats(long now) {
+			this.warmingSince = now;
+			this.ejectedUntil = now;
+		}
+
+		boolean isEjected(long now) {
+			return ejectedUntil - now > 0;
+		}
+
+		/**
+		 * The peak EWMA, decayed for the time since the last response, so an
+		 * instance that was avoided after a slow response is tried again once
+		 * its cost has decayed below the others'. Negative if there has been no
+		 * response yet.
+		 */
+		synchronized double latency(long now, long decayNanos) {
+			if (ewmaNanos < 0) {
+				return ewmaNanos;
+			}
+			return ewmaNanos * Math.exp(-(double) Math.max(0, now - lastSampleAt) / decayNanos);
+		}
+
+		synchronized void observe(long rttNanos, long now, long decayNanos) {
+			if (ewmaNanos < 0 || rttNanos > ewmaNanos) {
+				ewmaNanos = rttNanos;
+			} else {
+				double weight = Math.exp(-(double) (now - lastSampleAt) / decayNanos);
+				ewmaNanos = ewmaNanos * weight + rttNanos * (1 - weight);
+			}
+			lastSampleAt = now;
+		}
+	}
+
+	/**
+	 * Identifies one load-balanced request. The gateway passes the same request
+	 * object to the start and completion callbacks, but equal requests must not
+	 * be confused, so it is compared by identity.
+	 */
+	private record RequestKey(Object request) {
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof RequestKey key && key.request == request;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(request);
+		}
+	}
+
+	/**
+	 * Tuning of the balancer, bound from {@code gateway.loadbalancer}.
+	 */
+	public static class Settings {
+		private Duration decay = Duration.ofSeconds(10);
+		private Duration slowStart = Duration.ofSeconds(30);
+		private Duration unprobedPenalty = Duration.ofSeconds(1);
+		private int failureThreshold = 5;
+		private Duration ejectionTime = Duration.ofSeconds(30);
+		private int maxEjectionPercent = 50;
+		private Duration staleAfter = Duration.ofMinutes(1);
+
+		public Duration getDecay() {
+			return decay;
+		}
+
+		public void setDecay(Duration decay) {
+			this.decay = decay;
+		}
+
+		public Duration getSlowStart() {
+			return slowStart;
+		}
+
+		public void setSlowStart(Duration slowStart) {
+			this.slowStart = slowStart;
+		}
+
+		public Duration getUnprobedPenalty() {
+			return unprobedPenalty;
+		}
+
+		public void setUnprobedPenalty(Duration unprobedPenalty) {
+			this.unprobedPenalty = unprobedPenalty;
+		}
+
+		public int getFailureThreshold() {
+			return failureThreshold;
+		}
+
+		public void setFailureThreshold(int failureThreshold) {
+			this.failureThreshold = failureThreshold;
+		}
+
+		public Duration getEjectionTime() {
+			return ejectionTime;
+		}
+
+		public void setEjectionTime(Duration ejectionTime) {
+			this.ejectionTime = ejectionTime;
+		}
+
+		public int getMaxEjectionPercent() {
+			return maxEjectionPercent;
+		}
+
+		public void setMaxEjectionPercent(int maxEjectionPercent) {
+			this.maxEjectionPercent = maxEjectionPercent;
+		}
+
+		public Duration getStaleAfter() {
+			return staleAfter;
+		}
+
+		public void setStaleAfter(Duration staleAfter) {
+			this.staleAfter = staleAfter;
+		}
+	}
+}
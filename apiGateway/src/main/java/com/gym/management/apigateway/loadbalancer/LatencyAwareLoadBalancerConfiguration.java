@@ -0,0 +1,28 @@
+package com.gym.management.apigateway.loadbalancer;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Load balancer configuration of every {@code lb://} service. Registered
+ * through {@code @LoadBalancerClients} and instantiated once per service in
+ * that service's load balancer context, so it is deliberately not a
+ * {@code @Configuration} picked up by component scanning.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+	@Bean
+	public LatencyAwareLoadBalancer latencyAwareLoadBalancer(Environment environment,
+			LoadBalancerClientFactory loadBalancerClientFactory) {
+		String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+		LatencyAwareLoadBalancer.Settings settings = Binder.get(environment)
+				.bind("gateway.loadbalancer", LatencyAwareLoadBalancer.Settings.class)
+				.orElseGet(LatencyAwareLoadBalancer.Settings::new);
+		return new LatencyAwareLoadBalancer(
+				loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), serviceId,
+				settings);
+	}
+}
@@ -0,0 +1,76 @@
+package com.gym.management.apigateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.gym.management.apigateway.filter.AdaptiveConcurrencyLimit;
+
+class AdaptiveConcurrencyLimitTests {
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+	/**
+	 * Runs rounds in which the limit is fully used and every request takes the
+	 * given time.
+	 */
+	private static void saturate(AdaptiveConcurrencyLimit limit, long rttNanos, int rounds) {
+		for (int round = 0; round < rounds; round++) {
+			int admitted = 0;
+			while (limit.tryAcquire()) {
+				admitted++;
+			}
+			for (int i = 0; i < admitted; i++) {
+				limit.release(rttNanos);
+			}
+		}
+	}
+
+	@Test
+	void testRequestsBeyondTheLimitAreRejected() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10);
+
+		assertTrue(limit.tryAcquire());
+		assertTrue(limit.tryAcquire());
+		assertFalse(limit.tryAcquire());
+		limit.release(-1);
+		assertTrue(limit.tryAcquire());
+	}
+
+	@Test
+	void testLimitGrowsWhileLatencyIsSteady() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100);
+
+		saturate(limit, FAST, 20);
+
+		assertTrue(limit.getLimit() > 10, "limit was " + limit.getLimit());
+		assertEquals(0, limit.getInFlight());
+	}
+
+	@Test
+	void testLimitShrinksWhenLatencyRises() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 2, 100);
+		saturate(limit, FAST, 5);
+		int before = limit.getLimit();
+
+		saturate(limit, SLOW, 5);
+
+		assertTrue(limit.getLimit() < before, "limit went from " + before + " to " + limit.getLimit());
+	}
+
+	@Test
+	void testIdleBackendDoesNotRaiseTheLimit() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100);
+
+		for (int i = 0; i < 100; i++) {
+			limit.tryAcquire();
+			limit.release(FAST);
+		}
+
+		assertEquals(10, limit.getLimit());
+	}
+}
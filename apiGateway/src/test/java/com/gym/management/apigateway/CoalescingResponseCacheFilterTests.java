@@ -0,0 +1,186 @@
+package com.gym.management.apigateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.gym.management.apigateway.filter.CoalescingResponseCacheFilter;
+import com.gym.management.apigateway.filter.CoalescingResponseCacheGatewayFilterFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class CoalescingResponseCacheFilterTests {
+	private static final String BODY = "[{\"id\":1,\"name\":\"Push Up\"}]";
+
+	private CoalescingResponseCacheGatewayFilterFactory.Config config;
+	private CoalescingResponseCacheFilter filter;
+	private AtomicInteger backendCalls;
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		config = new CoalescingResponseCacheGatewayFilterFactory.Config();
+		config.setTimeToLive(Duration.ofMinutes(1));
+		meterRegistry = new SimpleMeterRegistry();
+		filter = new CoalescingResponseCacheFilter(config, meterRegistry);
+		backendCalls = new AtomicInteger();
+	}
+
+	private GatewayFilterChain backend(Mono<Void> delay, HttpStatus status) {
+		return exchange -> delay.then(Mono.defer(() -> {
+			backendCalls.incrementAndGet();
+			ServerHttpResponse response = exchange.getResponse();
+			response.setStatusCode(status);
+			response.getHeaders().setETag("\"7\"");
+			return response.writeWith(
+					Mono.just(response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+		}));
+	}
+
+	/**
+	 * A backend whose responses must be revalidated, answering 304 to an
+	 * If-None-Match that carries its ETag.
+	 */
+	private GatewayFilterChain revalidatingBackend() {
+		return exchange -> Mono.defer(() -> {
+			backendCalls.incrementAndGet();
+			ServerHttpResponse response = exchange.getResponse();
+			response.getHeaders().setETag("\"7\"");
+			response.getHeaders().setCacheControl("no-cache");
+			if (exchange.getRequest().getHeaders().getIfNoneMatch().contains("\"7\"")) {
+				response.setStatusCode(HttpStatus.NOT_MODIFIED);
+				return response.writeWith(Flux.empty());
+			}
+			response.setStatusCode(HttpStatus.OK);
+			return response.writeWith(
+					Mono.just(response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+		});
+	}
+
+	private static MockServerWebExchange get(String path) {
+		return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+	}
+
+	private double count(String result) {
+		return meterRegistry.counter("gateway.response.cache", "route", "none", "result", result).count();
+	}
+
+	@Test
+	void testRepeatedGetIsServedFromTheCache() {
+		MockServerWebExchange first = get("/fitness/exercises");
+		MockServerWebExchange second = get("/fitness/exercises");
+
+		filter.filter(first, backend(Mono.empty(), HttpStatus.OK)).block();
+		filter.filter(second, backend(Mono.empty(), HttpStatus.OK)).block();
+
+		assertEquals(1, backendCalls.get());
+		assertEquals(BODY, second.getResponse().getBodyAsString().block());
+		assertEquals("HIT", second.getResponse().getHeaders().getFirst(CoalescingResponseCacheFilter.X_CACHE));
+		assertEquals(1, count("hit"));
+	}
+
+	@Test
+	void testConcurrentGetsShareOneBackendCall() {
+		Sinks.Empty<Void> release = Sinks.empty();
+		MockServerWebExchange leader = get("/members/get/1");
+		MockServerWebExchange follower = get("/members/get/1");
+
+		Mono<Void> leading = filter.filter(leader, backend(release.asMono(), HttpStatus.OK)).cache();
+		leading.subscribe();
+		Mono<Void> following = filter.filter(follower, backend(Mono.empty(), HttpStatus.OK)).cache();
+		following.subscribe();
+		release.tryEmitEmpty();
+		leading.block();
+		following.block();
+
+		assertEquals(1, backendCalls.get());
+		assertEquals(BODY, follower.getResponse().getBodyAsString().block());
+		assertEquals(1, count("coalesced"));
+	}
+
+	@Test
+	void testErrorResponseIsNotCached() {
+		filter.filter(get("/members/get/2"), backend(Mono.empty(), HttpStatus.SERVICE_UNAVAILABLE)).block();
+		filter.filter(get("/members/get/2"), backend(Mono.empty(), HttpStatus.SERVICE_UNAVAILABLE)).block();
+
+		assertEquals(2, backendCalls.get());
+	}
+
+	@Test
+	void testMatchingIfNoneMatchIsAnsweredWith304() {
+		filter.filter(get("/fitness/exercises"), backend(Mono.empty(), HttpStatus.OK)).block();
+		MockServerWebExchange conditional = MockServerWebExchange
+				.from(MockServerHttpRequest.get("/fitness/exercises").header(HttpHeaders.IF_NONE_MATCH, "\"7\""));
+
+		filter.filter(conditional, backend(Mono.empty(), HttpStatus.OK)).block();
+
+		assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+		assertEquals(1, backendCalls.get());
+	}
+
+	@Test
+	void testNonGetBypassesTheCache() {
+		filter.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/members/add")),
+				backend(Mono.empty(), HttpStatus.OK)).block();
+		filter.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/members/add")),
+				backend(Mono.empty(), HttpStatus.OK)).block();
+
+		assertEquals(2, backendCalls.get());
+		assertEquals(2, count("bypass"));
+	}
+
+	@Test
+	void testWriteEvictsTheCachedPath() {
+		filter.filter(get("/fitness/exercises"), backend(Mono.empty(), HttpStatus.OK)).block();
+		filter.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/fitness/exercises")),
+				backend(Mono.empty(), HttpStatus.OK)).block();
+		MockServerWebExchange after = get("/fitness/exercises");
+
+		filter.filter(after, backend(Mono.empty(), HttpStatus.OK)).block();
+
+		assertEquals(3, backendCalls.get());
+		assertEquals("MISS", after.getResponse().getHeaders().getFirst(CoalescingResponseCacheFilter.X_CACHE));
+	}
+
+	@Test
+	void testBodyLargerThanAnEntryIsPassedThroughUncached() {
+		config.setMaxEntrySize(DataSize.ofBytes(8));
+		filter = new CoalescingResponseCacheFilter(config, meterRegistry);
+		MockServerWebExchange second = get("/fitness/exercises");
+
+		filter.filter(get("/fitness/exercises"), backend(Mono.empty(), HttpStatus.OK)).block();
+		filter.filter(second, backend(Mono.empty(), HttpStatus.OK)).block();
+
+		assertEquals(2, backendCalls.get());
+		assertEquals(BODY, second.getResponse().getBodyAsString().block());
+	}
+
+	@Test
+	void testNoCacheResponseIsRevalidatedBeforeReuse() {
+		filter.filter(get("/fitness/exercises"), revalidatingBackend()).block();
+		MockServerWebExchange second = get("/fitness/exercises");
+
+		filter.filter(second, revalidatingBackend()).block();
+
+		assertEquals(2, backendCalls.get());
+		assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+		assertEquals(BODY, second.getResponse().getBodyAsString().block());
+		assertEquals("REVALIDATED", second.getResponse().getHeaders().getFirst(CoalescingResponseCacheFilter.X_CACHE));
+		assertEquals(1, count("revalidate"));
+	}
+}
@@ -0,0 +1,130 @@
+package com.gym.management.apigateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Runs the gateway against several local stub instances of each service,
+ * registered through simple discovery instead of Eureka, and checks how the
+ * latency-aware balancer spreads real requests over them. The decay is short
+ * so that the first response from each stub, which also pays for opening the
+ * connection, is soon forgotten. The default filters are restated with rate
+ * limits high enough for every request to get through, since a list property
+ * can only be replaced as a whole.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"eureka.client.enabled=false", "gateway.loadbalancer.slow-start=1ms", "gateway.loadbalancer.decay=1s",
+		"spring.cloud.gateway.default-filters[0].name=TokenBucketRateLimiter",
+		"spring.cloud.gateway.default-filters[0].args.sourceRate=1000",
+		"spring.cloud.gateway.default-filters[0].args.sourceBurst=1000",
+		"spring.cloud.gateway.default-filters[0].args.clientRate=1000",
+		"spring.cloud.gateway.default-filters[0].args.clientBurst=1000",
+		"spring.cloud.gateway.default-filters[1]=AdaptiveConcurrencyLimit=20,4,200" })
+class LatencyAwareLoadBalancerHarnessTests {
+	private static final int REQUESTS = 100;
+
+	private static final Stub FAST_FITNESS_1 = new Stub(Duration.ofMillis(2), HttpResponseStatus.OK);
+	private static final Stub FAST_FITNESS_2 = new Stub(Duration.ofMillis(2), HttpResponseStatus.OK);
+	private static final Stub SLOW_FITNESS = new Stub(Duration.ofMillis(150), HttpResponseStatus.OK);
+	// The failing instance answers fastest, so only ejection keeps traffic off it.
+	private static final Stub MEMBERS_1 = new Stub(Duration.ofMillis(30), HttpResponseStatus.OK);
+	private static final Stub MEMBERS_2 = new Stub(Duration.ofMillis(30), HttpResponseStatus.OK);
+	private static final Stub FAILING_MEMBERS = new Stub(Duration.ZERO, HttpResponseStatus.INTERNAL_SERVER_ERROR);
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	/**
+	 * A stub backend instance that answers every request after a fixed delay
+	 * and counts what it served.
+	 */
+	private static final class Stub {
+		final AtomicInteger requests = new AtomicInteger();
+		final DisposableServer server;
+
+		Stub(Duration delay, HttpResponseStatus status) {
+			server = HttpServer.create()
+					.host("localhost")
+					.port(0)
+					.handle((request, response) -> Mono.delay(delay)
+							.then(Mono.defer(() -> {
+								requests.incrementAndGet();
+								return response.status(status).sendString(Mono.just("[]")).then();
+							})))
+					.bindNow();
+		}
+
+		String uri() {
+			return "http://localhost:" + server.port();
+		}
+	}
+
+	@DynamicPropertySource
+	static void instances(DynamicPropertyRegistry registry) {
+		register(registry, "FITNESS-SERVICE", List.of(FAST_FITNESS_1, FAST_FITNESS_2, SLOW_FITNESS));
+		register(registry, "MEMBER-MANAGEMENT-SERVICE", List.of(MEMBERS_1, MEMBERS_2, FAILING_MEMBERS));
+	}
+
+	private static void register(DynamicPropertyRegistry registry, String serviceId, List<Stub> stubs) {
+		for (int i = 0; i < stubs.size(); i++) {
+			Stub stub = stubs.get(i);
+			registry.add("spring.cloud.discovery.client.simple.instances[" + serviceId + "][" + i + "].uri",
+					stub::uri);
+		}
+	}
+
+	@AfterAll
+	static void stopStubs() {
+		for (Stub stub : List.of(FAST_FITNESS_1, FAST_FITNESS_2, SLOW_FITNESS, MEMBERS_1, MEMBERS_2,
+				FAILING_MEMBERS)) {
+			stub.server.disposeNow();
+		}
+	}
+
+	private void get(String path) {
+		webTestClient.get()
+				.uri(path)
+				.exchange()
+				.expectBody()
+				.returnResult();
+	}
+
+	@Test
+	void testSlowInstanceGetsLittleTraffic() {
+		for (int i = 0; i < REQUESTS; i++) {
+			get("/fitness/workouts/member/1");
+		}
+
+		assertEquals(REQUESTS, FAST_FITNESS_1.requests.get() + FAST_FITNESS_2.requests.get()
+				+ SLOW_FITNESS.requests.get());
+		assertTrue(SLOW_FITNESS.requests.get() < REQUESTS / 10,
+				"slow instance served " + SLOW_FITNESS.requests.get() + " of " + REQUESTS);
+	}
+
+	@Test
+	void testFailingInstanceIsEjected() {
+		for (int i = 0; i < REQUESTS; i++) {
+			get("/members");
+		}
+
+		assertEquals(5, FAILING_MEMBERS.requests.get());
+		assertEquals(REQUESTS - 5, MEMBERS_1.requests.get() + MEMBERS_2.requests.get());
+	}
+}
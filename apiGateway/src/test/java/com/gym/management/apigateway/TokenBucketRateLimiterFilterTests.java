@@ -0,0 +1,190 @@
+package com.gym.management.apigateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.gym.management.apigateway.filter.TokenBucket;
+import com.gym.management.apigateway.filter.TokenBucketRateLimiterFilter;
+import com.gym.management.apigateway.filter.TokenBucketRateLimiterGatewayFilterFactory;
+import com.gym.management.apigateway.filter.TokenBuckets;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class TokenBucketRateLimiterFilterTests {
+	private SimpleMeterRegistry meterRegistry;
+	private TokenBuckets tokenBuckets;
+	private AtomicInteger forwarded;
+	private GatewayFilterChain chain;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		tokenBuckets = new TokenBuckets(1000);
+		forwarded = new AtomicInteger();
+		chain = exchange -> {
+			forwarded.incrementAndGet();
+			return Mono.empty();
+		};
+	}
+
+	private static MockServerWebExchange request(String client, String location) {
+		MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/members/get/1")
+				.remoteAddress(new InetSocketAddress("10.0.0.7", 52000))
+				.header("X-Client-Id", client);
+		if (location != null) {
+			request.header("X-Gym-Location", location);
+		}
+		return MockServerWebExchange.from(request);
+	}
+
+	@Test
+	void testBucketAllowsBurstThenRefillsAtRate() {
+		long now = 0;
+		TokenBucket bucket = new TokenBucket(10, 3, now);
+
+		assertEquals(2, bucket.tryAcquire(now));
+		assertEquals(1, bucket.tryAcquire(now));
+		assertEquals(0, bucket.tryAcquire(now));
+		long wait = bucket.tryAcquire(now);
+		assertTrue(wait < 0 && -wait <= TimeUnit.MILLISECONDS.toNanos(100), "wait was " + wait);
+		assertEquals(0, bucket.tryAcquire(now + TimeUnit.MILLISECONDS.toNanos(100)));
+	}
+
+	@Test
+	void testEachClientHasItsOwnBucket() {
+		TokenBucketRateLimiterGatewayFilterFactory.Config config = new TokenBucketRateLimiterGatewayFilterFactory.Config();
+		config.setRouteId("MEMBER-MANAGEMENT-SERVICE");
+		config.setClientRate(0.001);
+		config.setClientBurst(2);
+		TokenBucketRateLimiterFilter filter = new TokenBucketRateLimiterFilter(config, tokenBuckets, meterRegistry);
+
+		filter.filter(request("kiosk-1", null), chain).block();
+		filter.filter(request("kiosk-1", null), chain).block();
+		MockServerWebExchange throttled = request("kiosk-1", null);
+		filter.filter(throttled, chain).block();
+		filter.filter(request("kiosk-2", null), chain).block();
+
+		assertEquals(3, forwarded.get());
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, throttled.getResponse().getStatusCode());
+		assertTrue(Long.parseLong(throttled.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)) >= 1);
+		assertEquals(1, meterRegistry.counter("gateway.requests.rejected", "route", "MEMBER-MANAGEMENT-SERVICE",
+				"limit", "client").count());
+	}
+
+	@Test
+	void testLocationLimitSpansClients() {
+		TokenBucketRateLimiterGatewayFilterFactory.Config config = new TokenBucketRateLimiterGatewayFilterFactory.Config();
+		config.setClientRate(100);
+		config.setClientBurst(100);
+		config.setLocationRate(0.001);
+		config.setLocationBurst(1);
+		config.setLocationTrustedProxies(List.of("10.0.0.0/24"));
+		TokenBucketRateLimiterFilter filter = new TokenBucketRateLimiterFilter(config, tokenBuckets, meterRegistry);
+
+		filter.filter(request("kiosk-1", "downtown"), chain).block();
+		MockServerWebExchange throttled = request("kiosk-2", "downtown");
+		filter.filter(throttled, chain).block();
+		filter.filter(request("kiosk-3", "uptown"), chain).block();
+
+		assertEquals(2, forwarded.get());
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, throttled.getResponse().getStatusCode());
+	}
+
+	@Test
+	void testLocationHeaderFromAnUntrustedPeerIsIgnored() {
+		TokenBucketRateLimiterGatewayFilterFactory.Config config = new TokenBucketRateLimiterGatewayFilterFactory.Config();
+		config.setClientRate(100);
+		config.setClientBurst(100);
+		config.setLocationRate(0.001);
+		config.setLocationBurst(1);
+		config.setLocationTrustedProxies(List.of("10.0.1.1"));
+		TokenBucketRateLimiterFilter filter = new TokenBucketRateLimiterFilter(config, tokenBuckets, meterRegistry);
+
+		filter.filter(request("kiosk-1", "downtown"), chain).block();
+		filter.filter(request("kiosk-2", "downtown"), chain).block();
+
+		assertEquals(2, forwarded.get());
+		assertEquals(0, meterRegistry.counter("gateway.requests.rejected", "route", "null", "limit", "location")
+				.count());
+	}
+
+	@Test
+	void testBucketGivesBackAReleasedToken() {
+		long now = 0;
+		TokenBucket bucket = new TokenBucket(10, 1, now);
+
+		assertEquals(0, bucket.tryAcquire(now));
+		bucket.release();
+
+		assertEquals(0, bucket.tryAcquire(now));
+		assertTrue(bucket.tryAcquire(now) < 0);
+	}
+
+	@Test
+	void testClientIdsCannotRaiseTheSourceLimit() {
+		TokenBucketRateLimiterGatewayFilterFactory.Config config = new TokenBucketRateLimiterGatewayFilterFactory.Config();
+		config.setSourceRate(0.001);
+		config.setSourceBurst(2);
+		config.setClientRate(100);
+		config.setClientBurst(100);
+		TokenBucketRateLimiterFilter filter = new TokenBucketRateLimiterFilter(config, tokenBuckets, meterRegistry);
+
+		filter.filter(request("kiosk-1", null), chain).block();
+		filter.filter(request("kiosk-2", null), chain).block();
+		MockServerWebExchange throttled = request("kiosk-3", null);
+		filter.filter(throttled, chain).block();
+
+		assertEquals(2, forwarded.get());
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, throttled.getResponse().getStatusCode());
+		assertEquals(1, meterRegistry.counter("gateway.requests.rejected", "route", "null", "limit", "source").count());
+	}
+
+	@Test
+	void testRejectedRequestTakesNoTokens() {
+		TokenBucketRateLimiterGatewayFilterFactory.Config config = new TokenBucketRateLimiterGatewayFilterFactory.Config();
+		config.setClientRate(0.001);
+		config.setClientBurst(1);
+		config.setLocationRate(0.001);
+		config.setLocationBurst(1);
+		config.setLocationTrustedProxies(List.of("10.0.0.0/24"));
+		TokenBucketRateLimiterFilter filter = new TokenBucketRateLimiterFilter(config, tokenBuckets, meterRegistry);
+
+		filter.filter(request("kiosk-1", "downtown"), chain).block();
+		MockServerWebExchange throttled = request("kiosk-2", "downtown");
+		filter.filter(throttled, chain).block();
+		filter.filter(request("kiosk-2", "uptown"), chain).block();
+
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, throttled.getResponse().getStatusCode());
+		assertEquals(2, forwarded.get());
+	}
+
+	@Test
+	void testRoutesShareTheClientBuckets() {
+		TokenBucketRateLimiterGatewayFilterFactory.Config config = new TokenBucketRateLimiterGatewayFilterFactory.Config();
+		config.setClientRate(0.001);
+		config.setClientBurst(1);
+		TokenBucketRateLimiterFilter members = new TokenBucketRateLimiterFilter(config, tokenBuckets, meterRegistry);
+		TokenBucketRateLimiterFilter fitness = new TokenBucketRateLimiterFilter(config, tokenBuckets, meterRegistry);
+
+		members.filter(request("kiosk-1", null), chain).block();
+		MockServerWebExchange throttled = request("kiosk-1", null);
+		fitness.filter(throttled, chain).block();
+
+		assertEquals(1, forwarded.get());
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, throttled.getResponse().getStatusCode());
+	}
+}
@@ -0,0 +1,49 @@
+package com.gym.management.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the Spring contexts the benchmarks run against. By default each
+ * context gets its own in-memory H2 database whose schema is created from the
+ * entities. The defaults can be overridden with system properties, for example
+ * {@code -Dspring.datasource.url=jdbc:mysql://localhost:3306/fitness_database}
+ * together with {@code -Dspring.jpa.hibernate.ddl-auto=validate} to run against
+ * a local MySQL loaded by the seed profile.
+ */
+final class BenchmarkContexts {
+
+	private BenchmarkContexts() {
+	}
+
+	/**
+	 * Starts a non-web context from the given configuration.
+	 *
+	 * @param configuration the benchmark configuration class
+	 * @param database      the name of the in-memory database
+	 * @return the started context
+	 */
+	static ConfigurableApplicationContext start(Class<?> configuration, String database) {
+		Map<String, Object> defaults = new HashMap<>();
+		defaults.put("spring.main.banner-mode", "off");
+		// The service jars carry their own application.properties; skip them
+		// and stay away from the config server and Eureka.
+		defaults.put("spring.config.name", "benchmark");
+		defaults.put("spring.cloud.config.enabled", "false");
+		defaults.put("spring.cloud.discovery.enabled", "false");
+		defaults.put("eureka.client.enabled", "false");
+		defaults.put("spring.datasource.url", "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+		defaults.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+		defaults.put("spring.jpa.open-in-view", "false");
+		defaults.put("spring.jpa.properties.hibernate.jdbc.batch_size", "50");
+		defaults.put("spring.jpa.properties.hibernate.order_inserts", "true");
+		defaults.put("spring.flyway.enabled", "false");
+		defaults.put("logging.level.root", "warn");
+
+		return new SpringApplicationBuilder(configuration).web(WebApplicationType.NONE).properties(defaults).run();
+	}
+}
@@ -0,0 +1,45 @@
+package com.gym.management.benchmarks;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import com.gym.management.fitness.client.MemberClient;
+import com.gym.management.fitness.dto.MemberDTO;
+import com.gym.management.fitness.service.FitnessServiceImpl;
+import com.gym.management.fitness.service.MemberWorkoutPurger;
+
+/**
+ * The fitness service's persistence layer and services. The member service is
+ * replaced by a client that answers locally, so the numbers only cover the
+ * fitness service's own work. Setting {@code benchmark.member-latency-ms} makes
+ * every lookup block for that long, like an uncached remote call.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan("com.gym.management.fitness.models")
+@EnableJpaRepositories("com.gym.management.fitness.repository")
+@Import({ FitnessServiceImpl.class, MemberWorkoutPurger.class })
+class FitnessBenchmarkConfig {
+
+	@Bean
+	MemberClient memberClient(@Value("${benchmark.member-latency-ms:0}") long memberLatencyMillis) {
+		return new MemberClient(null) {
+			@Override
+			public MemberDTO getMember(int memberId) {
+				if (memberLatencyMillis > 0) {
+					try {
+						Thread.sleep(memberLatencyMillis);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				return new MemberDTO(memberId, "Member", String.valueOf(memberId));
+			}
+		};
+	}
+}
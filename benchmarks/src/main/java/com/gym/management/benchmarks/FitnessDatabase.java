@@ -0,0 +1,102 @@
+package com.gym.management.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.gym.management.fitness.dto.BulkWorkoutRequest;
+import com.gym.management.fitness.dto.ExerciseSetDTO;
+import com.gym.management.fitness.models.Exercise;
+import com.gym.management.fitness.service.FitnessService;
+
+/**
+ * A fitness service context with an exercise catalog and, for each of
+ * {@code members} members, {@code workoutsPerMember} workouts of
+ * {@code setsPerWorkout} sets.
+ */
+@State(Scope.Benchmark)
+public class FitnessDatabase {
+	private static final int EXERCISES = 20;
+
+	@Param("100")
+	public int members;
+
+	@Param("20")
+	public int workoutsPerMember;
+
+	@Param("10")
+	public int setsPerWorkout;
+
+	FitnessService fitnessService;
+	int[] exerciseIds;
+	List<Integer> workoutIds;
+
+	private ConfigurableApplicationContext context;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkContexts.start(FitnessBenchmarkConfig.class, "fitness");
+		fitnessService = context.getBean(FitnessService.class);
+
+		exerciseIds = new int[EXERCISES];
+		for (int i = 0; i < EXERCISES; i++) {
+			Exercise exercise = new Exercise();
+			exercise.setName("Exercise " + i);
+			exercise.setCategory("Strength");
+			exercise.setMuscleGroup("Full Body");
+			exerciseIds[i] = fitnessService.createExercise(exercise).getId();
+		}
+
+		workoutIds = new ArrayList<>(members * workoutsPerMember);
+		for (int memberId = 1; memberId <= members; memberId++) {
+			for (int w = 0; w < workoutsPerMember; w++) {
+				workoutIds.add(fitnessService.createWorkoutWithExercises(newWorkout(memberId, setsPerWorkout)).getId());
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	/**
+	 * Builds a bulk workout request with the given number of sets drawn from
+	 * the catalog.
+	 *
+	 * @param memberId the ID of the member
+	 * @param sets     the number of sets
+	 * @return the request
+	 */
+	BulkWorkoutRequest newWorkout(int memberId, int sets) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		List<ExerciseSetDTO> exercises = new ArrayList<>(sets);
+		for (int s = 0; s < sets; s++) {
+			exercises.add(new ExerciseSetDTO(exerciseIds[random.nextInt(exerciseIds.length)], 3, 10,
+					2.5 * random.nextInt(40)));
+		}
+		return new BulkWorkoutRequest(memberId, "Workout", LocalDateTime.now().minusDays(random.nextInt(365)), null,
+				exercises);
+	}
+
+	int randomMemberId() {
+		return 1 + ThreadLocalRandom.current().nextInt(members);
+	}
+
+	int randomWorkoutId() {
+		return workoutIds.get(ThreadLocalRandom.current().nextInt(workoutIds.size()));
+	}
+
+	int randomExerciseId() {
+		return exerciseIds[ThreadLocalRandom.current().nextInt(exerciseIds.length)];
+	}
+}
@@ -0,0 +1,153 @@
+package com.gym.management.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.gym.management.fitness.controller.FitnessController;
+import com.gym.management.fitness.dto.BulkWorkoutRequest;
+import com.gym.management.fitness.dto.ExerciseSetDTO;
+import com.gym.management.fitness.models.Exercise;
+import com.gym.management.fitness.service.FitnessService;
+
+/**
+ * Load test for {@code POST /fitness/workouts} on an embedded Tomcat,
+ * comparing the thread-per-request model with virtual threads. Each request
+ * blocks on a member lookup of {@code latencyMs}, as for a member the event
+ * stream has not delivered yet, and then writes the workout over JDBC. With
+ * platform threads, requests above Tomcat's 200 request threads queue for a
+ * thread; with virtual threads, only the Hikari pool bounds them.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.gym.management.benchmarks.FitnessLoadTest \
+ *     [platform|virtual] [concurrency=1000] [requests=20000] [latencyMs=50]
+ * </pre>
+ *
+ * The virtual mode requires a Java 21 runtime and refuses to run on an older
+ * one, where Spring Boot would quietly fall back to platform threads.
+ */
+public final class FitnessLoadTest {
+	private static final int MEMBERS = 100;
+	private static final int WORKOUTS_PER_MEMBER = 5;
+
+	private FitnessLoadTest() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		boolean virtual = args.length > 0 && args[0].equals("virtual");
+		int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		int requests = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+		long latencyMillis = args.length > 3 ? Long.parseLong(args[3]) : 50;
+		if (virtual && Runtime.version().feature() < 21) {
+			throw new IllegalStateException(
+					"The virtual mode requires Java 21 or later, but this is Java " + Runtime.version().feature());
+		}
+
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("spring.main.banner-mode", "off");
+		properties.put("spring.config.name", "benchmark");
+		properties.put("spring.cloud.config.enabled", "false");
+		properties.put("spring.cloud.discovery.enabled", "false");
+		properties.put("eureka.client.enabled", "false");
+		properties.put("server.port", "0");
+		properties.put("spring.threads.virtual.enabled", String.valueOf(virtual));
+		properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+		properties.put("spring.datasource.hikari.maximum-pool-size", "20");
+		properties.put("spring.datasource.hikari.connection-timeout", "5000");
+		properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+		properties.put("spring.jpa.open-in-view", "false");
+		properties.put("spring.flyway.enabled", "false");
+		properties.put("benchmark.member-latency-ms", String.valueOf(latencyMillis));
+		properties.put("logging.level.root", "warn");
+
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FitnessBenchmarkConfig.class,
+				FitnessController.class).web(WebApplicationType.SERVLET).properties(properties).run()) {
+			seed(context.getBean(FitnessService.class));
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+			HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+			run(client, port, Math.min(concurrency, 1000), Math.min(requests, 1000));
+			long started = System.nanoTime();
+			long[] latencies = run(client, port, concurrency, requests);
+			report(virtual ? "virtual" : "platform", concurrency, latencies, System.nanoTime() - started);
+		}
+	}
+
+	private static void seed(FitnessService fitnessService) {
+		Exercise exercise = new Exercise();
+		exercise.setName("Squat");
+		int exerciseId = fitnessService.createExercise(exercise).getId();
+
+		for (int memberId = 1; memberId <= MEMBERS; memberId++) {
+			for (int w = 0; w < WORKOUTS_PER_MEMBER; w++) {
+				fitnessService.createWorkoutWithExercises(new BulkWorkoutRequest(memberId, "Workout",
+						LocalDateTime.now().minusDays(w), null, List.of(new ExerciseSetDTO(exerciseId, 3, 10, 100.0))));
+			}
+		}
+	}
+
+	/**
+	 * Sends {@code requests} requests with at most {@code concurrency} in flight.
+	 *
+	 * @return the latency of each request in nanoseconds, or -1 for failures
+	 */
+	private static long[] run(HttpClient client, int port, int concurrency, int requests) throws InterruptedException {
+		Semaphore inFlight = new Semaphore(concurrency);
+		long[] latencies = new long[requests];
+		AtomicInteger index = new AtomicInteger();
+		List<CompletableFuture<?>> futures = new ArrayList<>(requests);
+
+		for (int i = 0; i < requests; i++) {
+			inFlight.acquire();
+			int memberId = 1 + ThreadLocalRandom.current().nextInt(MEMBERS);
+			HttpRequest request = HttpRequest
+					.newBuilder(URI.create(
+							"http://localhost:" + port + "/fitness/workouts?workoutName=Load&memberId=" + memberId))
+					.POST(HttpRequest.BodyPublishers.noBody())
+					.timeout(Duration.ofSeconds(30))
+					.build();
+			long started = System.nanoTime();
+			futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).handle((response, error) -> {
+				boolean ok = error == null && response.statusCode() == 200;
+				latencies[index.getAndIncrement()] = ok ? System.nanoTime() - started : -1;
+				inFlight.release();
+				return null;
+			}));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+		return latencies;
+	}
+
+	private static void report(String mode, int concurrency, long[] latencies, long elapsedNanos) {
+		long[] succeeded = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+
+		System.out.printf("mode=%s concurrency=%d requests=%d errors=%d%n", mode, concurrency, latencies.length,
+				latencies.length - succeeded.length);
+		if (succeeded.length > 0) {
+			System.out.printf("throughput=%.0f req/s p50=%.1f ms p99=%.1f ms max=%.1f ms%n",
+					succeeded.length / (elapsedNanos / 1e9), percentile(succeeded, 0.50), percentile(succeeded, 0.99),
+					succeeded[succeeded.length - 1] / 1e6);
+		}
+	}
+
+	private static double percentile(long[] sorted, double quantile) {
+		return sorted[Math.min(sorted.length - 1, (int) (quantile * sorted.length))] / 1e6;
+	}
+}
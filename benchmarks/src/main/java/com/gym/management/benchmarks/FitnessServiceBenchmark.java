@@ -0,0 +1,56 @@
+package com.gym.management.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gym.management.fitness.dto.WorkoutExerciseDTO;
+import com.gym.management.fitness.dto.WorkoutHistoryDTO;
+import com.gym.management.fitness.models.Workout;
+
+/**
+ * Workout writes and reads through {@code FitnessServiceImpl}. The member
+ * service is stubbed out, see {@link FitnessBenchmarkConfig}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class FitnessServiceBenchmark {
+	@Param("50")
+	public int bulkSets;
+
+	@Benchmark
+	public WorkoutExerciseDTO addExerciseToWorkout(FitnessDatabase database) {
+		return database.fitnessService.addExerciseToWorkout(database.randomWorkoutId(), database.randomExerciseId(), 3,
+				10, 60.0);
+	}
+
+	@Benchmark
+	public List<Workout> getMemberWorkouts(FitnessDatabase database) {
+		return database.fitnessService.getMemberWorkouts(database.randomMemberId());
+	}
+
+	@Benchmark
+	public List<WorkoutHistoryDTO> getMemberWorkoutHistory(FitnessDatabase database) {
+		return database.fitnessService.getMemberWorkoutHistory(database.randomMemberId());
+	}
+
+	@Benchmark
+	public Workout createWorkoutWithExercises(FitnessDatabase database) {
+		return database.fitnessService
+				.createWorkoutWithExercises(database.newWorkout(database.randomMemberId(), bulkSets));
+	}
+}
@@ -0,0 +1,181 @@
+package com.gym.management.benchmarks;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.gym.management.fitness.models.Workout;
+import com.gym.management.fitness.repository.WorkoutRepository;
+import com.gym.management.membership.model.Membership.MembershipStatus;
+import com.gym.management.membership.repository.MembershipRepository;
+
+/**
+ * The queries served by the idx_workouts_member_id_workout_date and
+ * idx_memberships_status_end_date indexes, run against a seeded database with
+ * the indexes in place and with them dropped. The tables are filled with plain
+ * JDBC so that seeding a few hundred thousand rows takes seconds.
+ *
+ * Run with {@code -p indexed=true,false} (the default) to compare the two.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IndexBenchmark {
+	private static final int BATCH_SIZE = 1000;
+
+	/**
+	 * A fitness database of {@code workouts} workouts spread over
+	 * {@code members} members.
+	 */
+	@State(Scope.Benchmark)
+	public static class Workouts {
+		@Param("5000")
+		public int members;
+
+		@Param("200000")
+		public int workouts;
+
+		@Param({ "true", "false" })
+		public boolean indexed;
+
+		WorkoutRepository workoutRepository;
+
+		private ConfigurableApplicationContext context;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			context = BenchmarkContexts.start(FitnessBenchmarkConfig.class, "index-workouts-" + indexed);
+			workoutRepository = context.getBean(WorkoutRepository.class);
+			JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+			Random random = new Random(42);
+			LocalDateTime now = LocalDateTime.now();
+			List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+			for (int i = 0; i < workouts; i++) {
+				Timestamp workoutDate = Timestamp.valueOf(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+				batch.add(new Object[] { 1 + random.nextInt(members), "Workout", workoutDate, workoutDate });
+				if (batch.size() == BATCH_SIZE || i == workouts - 1) {
+					jdbcTemplate.batchUpdate("insert into workouts (member_id, workout_name, workout_date, "
+							+ "created_at, version) values (?, ?, ?, ?, 0)", batch);
+					batch.clear();
+				}
+			}
+			if (!indexed) {
+				jdbcTemplate.execute("drop index idx_workouts_member_id_workout_date");
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			context.close();
+		}
+
+		int randomMemberId() {
+			return 1 + ThreadLocalRandom.current().nextInt(members);
+		}
+	}
+
+	/**
+	 * A membership database of {@code members} members, each with a
+	 * membership. One in a hundred active memberships has already ended, which
+	 * is what the nightly expiry job looks for.
+	 */
+	@State(Scope.Benchmark)
+	public static class Memberships {
+		@Param("200000")
+		public int members;
+
+		@Param({ "true", "false" })
+		public boolean indexed;
+
+		MembershipRepository membershipRepository;
+
+		private ConfigurableApplicationContext context;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			context = BenchmarkContexts.start(MemberBenchmarkConfig.class, "index-memberships-" + indexed);
+			membershipRepository = context.getBean(MembershipRepository.class);
+			JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+			Random random = new Random(42);
+			LocalDate today = LocalDate.now();
+			Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+			Date dateOfBirth = Date.valueOf(today.minusYears(30));
+			List<Object[]> members = new ArrayList<>(BATCH_SIZE);
+			List<Object[]> memberships = new ArrayList<>(BATCH_SIZE);
+			for (int id = 1; id <= this.members; id++) {
+				members.add(new Object[] { id, "F" + id, "L" + id, "member" + id + "@example.com",
+						"555" + id, dateOfBirth, now });
+
+				MembershipStatus status = random.nextInt(4) == 0 ? MembershipStatus.EXPIRED : MembershipStatus.ACTIVE;
+				LocalDate endDate = status == MembershipStatus.ACTIVE && random.nextInt(100) != 0
+						? today.plusDays(1 + random.nextInt(365))
+						: today.minusDays(1 + random.nextInt(365));
+				memberships.add(new Object[] { id, random.nextBoolean() ? "B" : "P", status.name(),
+						Date.valueOf(endDate.minusYears(1)), Date.valueOf(endDate), now });
+
+				if (members.size() == BATCH_SIZE || id == this.members) {
+					jdbcTemplate.batchUpdate("insert into members (id, first_name, last_name, email, phone_number, "
+							+ "date_of_birth, created_at, version) values (?, ?, ?, ?, ?, ?, ?, 0)", members);
+					jdbcTemplate.batchUpdate("insert into memberships (member_id, membership_type, status, "
+							+ "start_date, end_date, created_at, version) values (?, ?, ?, ?, ?, ?, 0)", memberships);
+					members.clear();
+					memberships.clear();
+				}
+			}
+			if (!indexed) {
+				jdbcTemplate.execute("drop index idx_memberships_status_end_date");
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			context.close();
+		}
+
+		/**
+		 * A cutoff date within the last month. It varies between calls so that
+		 * H2 cannot answer the query from its cache of recent results.
+		 */
+		LocalDate randomCutoff() {
+			return LocalDate.now().minusDays(ThreadLocalRandom.current().nextInt(30));
+		}
+	}
+
+	@Benchmark
+	public List<Workout> findWorkoutsByMemberId(Workouts database) {
+		return database.workoutRepository.findByMemberId(database.randomMemberId());
+	}
+
+	@Benchmark
+	public List<Integer> findExpiredMembershipIds(Memberships database) {
+		return database.membershipRepository.findIdsByStatusAndEndDateBefore(MembershipStatus.ACTIVE,
+				database.randomCutoff(), Limit.of(500));
+	}
+}
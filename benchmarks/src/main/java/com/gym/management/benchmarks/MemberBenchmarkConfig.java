@@ -0,0 +1,24 @@
+package com.gym.management.benchmarks;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import com.gym.management.membership.service.EventOutbox;
+import com.gym.management.membership.service.MemberSearchIndex;
+import com.gym.management.membership.service.MemberServiceImpl;
+import com.gym.management.membership.service.MembershipServiceImpl;
+
+/**
+ * The member service's persistence layer and services, without the web layer
+ * or discovery.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan("com.gym.management.membership.model")
+@EnableJpaRepositories("com.gym.management.membership.repository")
+@Import({ EventOutbox.class, MemberSearchIndex.class, MemberServiceImpl.class, MembershipServiceImpl.class })
+class MemberBenchmarkConfig {
+}
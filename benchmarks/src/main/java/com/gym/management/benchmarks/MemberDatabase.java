@@ -0,0 +1,76 @@
+package com.gym.management.benchmarks;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.gym.management.membership.model.Member;
+import com.gym.management.membership.model.Membership.MembershipType;
+import com.gym.management.membership.service.MemberService;
+import com.gym.management.membership.service.MembershipService;
+
+/**
+ * A member service context with {@code members} members, each holding a
+ * membership.
+ */
+@State(Scope.Benchmark)
+public class MemberDatabase {
+	@Param("1000")
+	public int members;
+
+	MemberService memberService;
+	MembershipService membershipService;
+	Member[] seeded;
+
+	private ConfigurableApplicationContext context;
+	private final AtomicInteger sequence = new AtomicInteger();
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkContexts.start(MemberBenchmarkConfig.class, "members");
+		memberService = context.getBean(MemberService.class);
+		membershipService = context.getBean(MembershipService.class);
+
+		seeded = new Member[members];
+		for (int i = 0; i < members; i++) {
+			seeded[i] = memberService.createMember(newMember());
+			seeded[i].setMembership(membershipService.createMembership(seeded[i].getId(),
+					i % 4 == 0 ? MembershipType.PREMIUM : MembershipType.BASIC));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	/**
+	 * Builds a valid, not yet persisted member with a unique email address.
+	 *
+	 * @return the new member
+	 */
+	Member newMember() {
+		int n = sequence.incrementAndGet();
+		Member member = new Member();
+		member.setFirstName("Member");
+		member.setLastName("M" + n);
+		member.setEmail("member" + n + "@example.com");
+		member.setPhoneNumber("+15550001234");
+		member.setDateOfBirth(Date.from(LocalDate.of(1990, 1, 1).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+		return member;
+	}
+
+	Member randomMember() {
+		return seeded[ThreadLocalRandom.current().nextInt(seeded.length)];
+	}
+}
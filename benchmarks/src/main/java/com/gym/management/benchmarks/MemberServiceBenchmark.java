@@ -0,0 +1,54 @@
+package com.gym.management.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gym.management.membership.dto.MemberSearchPage;
+import com.gym.management.membership.model.Member;
+
+/**
+ * Member lookups, searches and updates through {@code MemberServiceImpl}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class MemberServiceBenchmark {
+	private int updates;
+
+	@Benchmark
+	public Member getMember(MemberDatabase database) {
+		return database.memberService.getMember(database.randomMember().getId());
+	}
+
+	@Benchmark
+	public MemberSearchPage searchMembers(MemberDatabase database) {
+		String lastName = database.randomMember().getLastName();
+		return database.memberService.searchMembers(lastName.substring(0, Math.min(3, lastName.length())), null,
+				null, 20);
+	}
+
+	@Benchmark
+	public Member updateMember(MemberDatabase database) {
+		Member current = database.randomMember();
+
+		Member details = new Member();
+		details.setFirstName(current.getFirstName());
+		details.setLastName("U" + (++updates % 100_000));
+		details.setEmail(current.getEmail());
+		details.setPhoneNumber(current.getPhoneNumber());
+		details.setDateOfBirth(current.getDateOfBirth());
+		return database.memberService.updateMember(current.getId(), details);
+	}
+}
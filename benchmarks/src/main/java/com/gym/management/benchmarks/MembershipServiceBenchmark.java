@@ -0,0 +1,54 @@
+package com.gym.management.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gym.management.membership.model.Membership;
+import com.gym.management.membership.model.Membership.MembershipType;
+
+/**
+ * Membership creation and renewal through {@code MembershipServiceImpl}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MembershipServiceBenchmark {
+
+	/**
+	 * A member without a membership, created before every invocation of
+	 * {@link MembershipServiceBenchmark#createMembership} so only the
+	 * membership itself is measured.
+	 */
+	@State(Scope.Thread)
+	public static class NewMember {
+		int memberId;
+
+		@Setup(Level.Invocation)
+		public void setUp(MemberDatabase database) {
+			memberId = database.memberService.createMember(database.newMember()).getId();
+		}
+	}
+
+	@Benchmark
+	public Membership createMembership(MemberDatabase database, NewMember member) {
+		return database.membershipService.createMembership(member.memberId, MembershipType.BASIC);
+	}
+
+	@Benchmark
+	public Membership renewMembership(MemberDatabase database) {
+		return database.membershipService.renewMembership(database.randomMember().getMembership().getId());
+	}
+}
@@ -0,0 +1,107 @@
+package com.gym.management.benchmarks;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym.management.fitness.models.Exercise;
+import com.gym.management.fitness.models.Workout;
+import com.gym.management.fitness.models.WorkoutExercise;
+import com.gym.management.membership.model.Member;
+
+/**
+ * Jackson serialization of the entities the controllers return, with an
+ * ObjectMapper configured the way Spring Boot configures it by default.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+	@Param("10")
+	public int setsPerWorkout;
+
+	@Param("20")
+	public int workoutsPerMember;
+
+	private ObjectMapper objectMapper;
+	private Member member;
+	private Workout workout;
+	private List<Workout> memberWorkouts;
+
+	@Setup
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+		member = new Member();
+		member.setId(1);
+		member.setFirstName("John");
+		member.setLastName("Doe");
+		member.setEmail("john.doe@example.com");
+		member.setPhoneNumber("+15550001234");
+		member.setDateOfBirth(Date.from(LocalDate.of(1990, 1, 1).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+
+		Exercise exercise = new Exercise();
+		exercise.setId(1);
+		exercise.setName("Squat");
+
+		memberWorkouts = new ArrayList<>(workoutsPerMember);
+		for (int w = 0; w < workoutsPerMember; w++) {
+			Workout memberWorkout = new Workout();
+			memberWorkout.setId(w + 1);
+			memberWorkout.setMemberId(1);
+			memberWorkout.setMemberFirstName("John");
+			memberWorkout.setMemberLastName("Doe");
+			memberWorkout.setWorkoutName("Leg day");
+			memberWorkout.setWorkoutDate(LocalDateTime.now().minusDays(w));
+			for (int s = 0; s < setsPerWorkout; s++) {
+				WorkoutExercise workoutExercise = new WorkoutExercise();
+				workoutExercise.setId(w * setsPerWorkout + s + 1);
+				workoutExercise.setWorkout(memberWorkout);
+				workoutExercise.setExercise(exercise);
+				workoutExercise.setSets(3);
+				workoutExercise.setReps(10);
+				workoutExercise.setWeight(100.0);
+				memberWorkout.getExercises().add(workoutExercise);
+			}
+			memberWorkouts.add(memberWorkout);
+		}
+		workout = memberWorkouts.get(0);
+	}
+
+	@Benchmark
+	public byte[] serializeMember() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(member);
+	}
+
+	@Benchmark
+	public byte[] serializeWorkout() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(workout);
+	}
+
+	@Benchmark
+	public byte[] serializeMemberWorkouts() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(memberWorkouts);
+	}
+}
@@ -0,0 +1,46 @@
+package com.gym.management.common;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.ComponentScan.Filter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+
+/**
+ * The pieces shared by the member and fitness services: the Idempotency-Key
+ * filter and its table, the resource stamp used for conditional GETs, the
+ * service method timers, the per-request query count, runtime log sampling,
+ * the answer to writes that lose a version race and the Java 21 requirement
+ * of virtual threads. Import it from the application class.
+ *
+ * The package is registered as an auto-configuration package, so the
+ * idempotency entity and repository are picked up next to the service's own.
+ * The schema of the shared table is migrated from {@code db/common} with its
+ * own history table, after the service's migrations, so the two version
+ * sequences never collide.
+ */
+@Configuration(proxyBeanMethods = false)
+@AutoConfigurationPackage
+@ComponentScan(excludeFilters = @Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class))
+public class CommonConfiguration {
+	static final String SCHEMA_HISTORY_TABLE = "common_schema_history";
+
+	@Bean
+	FlywayMigrationStrategy commonFlywayMigrationStrategy() {
+		return flyway -> {
+			flyway.migrate();
+			Flyway.configure()
+					.configuration(flyway.getConfiguration())
+					.locations("classpath:db/common")
+					.table(SCHEMA_HISTORY_TABLE)
+					.baselineOnMigrate(true)
+					.baselineVersion("0")
+					.load()
+					.migrate();
+		};
+	}
+}
@@ -0,0 +1,31 @@
+package com.gym.management.common;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava.Range;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Makes Java 21 a requirement of {@code spring.threads.virtual.enabled}.
+ * Spring Boot only switches to virtual threads on Java 21 or later, and on an
+ * older runtime it quietly keeps platform threads. A service with the switch
+ * on refuses to start there instead, so it never runs in a mode other than the
+ * configured one.
+ */
+@Configuration(proxyBeanMethods = false)
+public class VirtualThreadsConfiguration {
+	static final String VIRTUAL_THREADS_ENABLED = "spring.threads.virtual.enabled";
+
+	@Bean
+	@ConditionalOnProperty(VIRTUAL_THREADS_ENABLED)
+	@ConditionalOnJava(range = Range.OLDER_THAN, value = JavaVersion.TWENTY_ONE)
+	InitializingBean virtualThreadsRuntimeCheck() {
+		return () -> {
+			throw new IllegalStateException(VIRTUAL_THREADS_ENABLED + " requires Java 21 or later, but this is Java "
+					+ Runtime.version().feature());
+		};
+	}
+}
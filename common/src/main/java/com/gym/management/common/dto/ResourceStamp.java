@@ -0,0 +1,36 @@
+package com.gym.management.common.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What a conditional GET needs to know about a resource, read with one
+ * aggregate query instead of loading it: how many rows it spans, the sum of
+ * their versions and when the newest of them last changed.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResourceStamp {
+	private long count;
+	private long version;
+	private LocalDateTime lastModified;
+
+	/**
+	 * An ETag that changes whenever a row is added, removed or updated.
+	 */
+	public String toETag() {
+		return Long.toHexString(count) + "-" + Long.toHexString(version) + "-" + Long.toHexString(lastModifiedMillis());
+	}
+
+	/**
+	 * The last modification time in epoch milliseconds, or -1 if unknown.
+	 */
+	public long lastModifiedMillis() {
+		return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+}
@@ -0,0 +1,30 @@
+package com.gym.management.common.exception;
+
+import java.io.IOException;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Answers a write that lost a race on an entity's version column. Another
+ * request changed the row between this request reading and writing it, so the
+ * client should read it again and retry. With an If-Match header the client
+ * made the write conditional, and the condition no longer holds: 412
+ * Precondition Failed. Without one: 409 Conflict.
+ */
+@RestControllerAdvice
+public class LostUpdateExceptionHandler {
+
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public void handleLostUpdate(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		HttpStatus status = request.getHeader(HttpHeaders.IF_MATCH) != null ? HttpStatus.PRECONDITION_FAILED
+				: HttpStatus.CONFLICT;
+		response.sendError(status.value(), "The resource was changed by another request; read it again and retry");
+	}
+}
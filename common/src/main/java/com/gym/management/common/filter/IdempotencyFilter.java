@@ -0,0 +1,274 @@
+package com.gym.management.common.filter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.gym.management.common.model.IdempotencyRecord;
+import com.gym.management.common.repository.IdempotencyRecordRepository;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Makes POST requests that carry an {@code Idempotency-Key} header safe to
+ * retry. The first request with a key claims it in the idempotency_keys table
+ * and its response is stored; a retry with the same key gets the stored
+ * response back without running the request again, at the cost of one primary
+ * key lookup.
+ *
+ * A request is identified by a SHA-256 of its method, path, query and body,
+ * so the body is read up front and handed on to the controller from memory;
+ * bodies larger than {@code idempotency.max-request-bytes} get 413. A retry
+ * that arrives while the first request is still running gets 409 with
+ * Retry-After, and a key reused for a different request gets 422. A request
+ * holds its key for {@code idempotency.lease-ms}; if it has not finished by
+ * then, its process is taken to have died and a retry runs in its place.
+ * Requests that fail with a 5xx, or whose response is larger than
+ * {@code idempotency.max-body-bytes}, release their key so they can be retried
+ * for real. Keys expire after {@code idempotency.ttl-ms} and are purged in the
+ * background, which keeps the table bounded.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+	public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+	public static final String REPLAYED = "Idempotent-Replayed";
+
+	private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+	private static final int MAX_KEY_LENGTH = 128;
+
+	private final IdempotencyRecordRepository idempotencyRecordRepository;
+	private final long ttlMillis;
+	private final long leaseMillis;
+	private final int maxBodyBytes;
+	private final int maxRequestBytes;
+
+	public IdempotencyFilter(IdempotencyRecordRepository idempotencyRecordRepository,
+			@Value("${idempotency.ttl-ms:86400000}") long ttlMillis,
+			@Value("${idempotency.max-body-bytes:65535}") int maxBodyBytes,
+			@Value("${idempotency.max-request-bytes:1048576}") int maxRequestBytes,
+			@Value("${idempotency.lease-ms:30000}") long leaseMillis) {
+		this.idempotencyRecordRepository = idempotencyRecordRepository;
+		this.ttlMillis = ttlMillis;
+		this.leaseMillis = leaseMillis;
+		this.maxBodyBytes = maxBodyBytes;
+		this.maxRequestBytes = maxRequestBytes;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY) == null;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String key = request.getHeader(IDEMPOTENCY_KEY).trim();
+		if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+			response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid " + IDEMPOTENCY_KEY);
+			return;
+		}
+		byte[] body = request.getInputStream().readNBytes(maxRequestBytes + 1);
+		if (body.length > maxRequestBytes) {
+			response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(),
+					"Requests with an " + IDEMPOTENCY_KEY + " are limited to " + maxRequestBytes + " bytes");
+			return;
+		}
+		request = new BufferedBodyRequest(request, body);
+		String fingerprint = fingerprint(request, body);
+
+		LocalDateTime now = LocalDateTime.now();
+		Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findById(key);
+		if (existing.isPresent() && existing.get().getExpiresAt().isBefore(now)) {
+			idempotencyRecordRepository.release(key);
+			existing = Optional.empty();
+		}
+		LocalDateTime lockedUntil = now.plus(leaseMillis, ChronoUnit.MILLIS);
+		if (existing.isPresent()) {
+			if (!existing.get().getFingerprint().equals(fingerprint)) {
+				response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+						IDEMPOTENCY_KEY + " was already used for a different request");
+				return;
+			}
+			if (existing.get().getResponseStatus() != null) {
+				replay(existing.get(), response);
+				return;
+			}
+			if (idempotencyRecordRepository.takeOver(key, now, lockedUntil) == 0) {
+				inProgress(response);
+				return;
+			}
+			logger.warn("Taking over idempotency key {} from a request that did not finish", key);
+		} else {
+			try {
+				idempotencyRecordRepository.reserve(key, fingerprint, now, lockedUntil,
+						now.plus(ttlMillis, ChronoUnit.MILLIS));
+			} catch (DataIntegrityViolationException e) {
+				inProgress(response);
+				return;
+			}
+		}
+
+		ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+		boolean stored = false;
+		try {
+			filterChain.doFilter(request, wrapper);
+			stored = store(key, wrapper);
+		} finally {
+			if (!stored) {
+				idempotencyRecordRepository.release(key);
+			}
+			wrapper.copyBodyToResponse();
+		}
+	}
+
+	/**
+	 * Deletes expired keys.
+	 */
+	@Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:60000}")
+	public void purgeExpired() {
+		int purged = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+		if (purged > 0) {
+			logger.debug("Purged {} expired idempotency keys", purged);
+		}
+	}
+
+	private boolean store(String key, ContentCachingResponseWrapper response) {
+		byte[] body = response.getContentAsByteArray();
+		if (response.getStatus() >= 500 || body.length > maxBodyBytes) {
+			return false;
+		}
+		idempotencyRecordRepository.complete(key, response.getStatus(), response.getContentType(), body);
+		return true;
+	}
+
+	private static void replay(IdempotencyRecord record, HttpServletResponse response) throws IOException {
+		response.setStatus(record.getResponseStatus());
+		response.setHeader(REPLAYED, "true");
+		if (record.getContentType() != null) {
+			response.setContentType(record.getContentType());
+		}
+		if (record.getResponseBody() != null) {
+			response.setContentLength(record.getResponseBody().length);
+			response.getOutputStream().write(record.getResponseBody());
+		}
+	}
+
+	private static void inProgress(HttpServletResponse response) throws IOException {
+		response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+		response.sendError(HttpStatus.CONFLICT.value(), "A request with this " + IDEMPOTENCY_KEY + " is in progress");
+	}
+
+	private static String fingerprint(HttpServletRequest request, byte[] body) {
+		String query = request.getQueryString();
+		String target = request.getMethod() + " " + request.getRequestURI() + (query == null ? "" : "?" + query);
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+		digest.update(target.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) '\n');
+		digest.update(body);
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * A request whose body has already been read, served again from memory.
+	 */
+	private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+		private final byte[] body;
+
+		BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+			super(request);
+			this.body = body;
+		}
+
+		@Override
+		public int getContentLength() {
+			return body.length;
+		}
+
+		@Override
+		public long getContentLengthLong() {
+			return body.length;
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			ByteArrayInputStream in = new ByteArrayInputStream(body);
+			return new ServletInputStream() {
+				@Override
+				public int read() {
+					return in.read();
+				}
+
+				@Override
+				public int read(byte[] b, int off, int len) {
+					return in.read(b, off, len);
+				}
+
+				@Override
+				public boolean isFinished() {
+					return in.available() == 0;
+				}
+
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+
+				/**
+				 * The body is already in memory, so it is all available at
+				 * once: the listener reads it in one go and is then told the
+				 * body is complete.
+				 */
+				@Override
+				public void setReadListener(ReadListener listener) {
+					try {
+						if (!isFinished()) {
+							listener.onDataAvailable();
+						}
+						listener.onAllDataRead();
+					} catch (IOException e) {
+						listener.onError(e);
+					}
+				}
+			};
+		}
+
+		@Override
+		public BufferedReader getReader() {
+			String encoding = getCharacterEncoding();
+			Charset charset = encoding == null ? StandardCharsets.ISO_8859_1 : Charset.forName(encoding);
+			return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+		}
+	}
+}
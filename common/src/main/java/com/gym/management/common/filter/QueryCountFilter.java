@@ -0,0 +1,50 @@
+package com.gym.management.common.filter;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records how many SQL statements each request runs in the
+ * http.server.requests.queries summary, tagged with the method and the URI
+ * pattern like http.server.requests, so an endpoint that starts issuing a
+ * query per row stands out. Statements run on other threads, such as by
+ * scheduled jobs, are not counted.
+ */
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+	private final QueryCounter queryCounter;
+	private final MeterRegistry meterRegistry;
+
+	public QueryCountFilter(QueryCounter queryCounter, MeterRegistry meterRegistry) {
+		this.queryCounter = queryCounter;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		queryCounter.open();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			int queries = queryCounter.close();
+			Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			DistributionSummary.builder("http.server.requests.queries")
+					.description("SQL statements run per request")
+					.tag("method", request.getMethod())
+					.tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+					.register(meterRegistry)
+					.record(queries);
+		}
+	}
+}
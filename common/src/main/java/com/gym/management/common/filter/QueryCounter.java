@@ -0,0 +1,50 @@
+package com.gym.management.common.filter;
+
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a
+ * count is open. Registers itself as Hibernate's statement inspector, which
+ * sees every statement and passes it through unchanged.
+ */
+@Component
+public class QueryCounter implements StatementInspector, HibernatePropertiesCustomizer {
+	private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+	@Override
+	public void customize(Map<String, Object> hibernateProperties) {
+		hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+	}
+
+	@Override
+	public String inspect(String sql) {
+		int[] count = COUNT.get();
+		if (count != null) {
+			count[0]++;
+		}
+		return sql;
+	}
+
+	/**
+	 * Starts counting on the current thread.
+	 */
+	public void open() {
+		COUNT.set(new int[1]);
+	}
+
+	/**
+	 * Stops counting on the current thread.
+	 *
+	 * @return the number of statements since {@link #open()}
+	 */
+	public int close() {
+		int[] count = COUNT.get();
+		COUNT.remove();
+		return count == null ? 0 : count[0];
+	}
+}
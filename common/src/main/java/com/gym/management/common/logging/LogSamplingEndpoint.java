@@ -0,0 +1,71 @@
+package com.gym.management.common.logging;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * Actuator endpoint for changing log sampling at runtime, next to the loggers
+ * endpoint that changes levels. {@code GET /actuator/logsampling} lists the
+ * rates and how many events were dropped, {@code POST
+ * /actuator/logsampling/{name}} with {@code {"rate": 0.01}} keeps 1% of the
+ * DEBUG and INFO events of a package, and {@code DELETE} keeps all of them
+ * again. Rates set at startup come from {@code logging.sampling.rates}.
+ *
+ * @see SamplingTurboFilter
+ */
+@Component
+@Endpoint(id = "logsampling")
+public class LogSamplingEndpoint implements DisposableBean {
+	private final SamplingTurboFilter filter = new SamplingTurboFilter();
+	private final LoggerContext loggerContext;
+
+	public LogSamplingEndpoint(Environment environment) {
+		filter.setRates(Binder.get(environment)
+				.bind("logging.sampling.rates", Bindable.mapOf(String.class, Double.class))
+				.orElse(Map.of()));
+		filter.setName("sampling");
+		filter.start();
+		loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+		loggerContext.addTurboFilter(filter);
+	}
+
+	@Override
+	public void destroy() {
+		loggerContext.getTurboFilterList().remove(filter);
+		filter.stop();
+	}
+
+	@ReadOperation
+	public Map<String, Object> sampling() {
+		return Map.of("rates", new TreeMap<>(filter.getRates()), "dropped", filter.getDropped());
+	}
+
+	@WriteOperation
+	public synchronized void configure(@Selector String name, double rate) {
+		Map<String, Double> rates = new HashMap<>(filter.getRates());
+		rates.put(name, rate);
+		filter.setRates(rates);
+	}
+
+	@DeleteOperation
+	public synchronized void reset(@Selector String name) {
+		Map<String, Double> rates = new HashMap<>(filter.getRates());
+		rates.remove(name);
+		filter.setRates(rates);
+	}
+}
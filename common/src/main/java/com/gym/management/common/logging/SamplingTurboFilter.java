@@ -0,0 +1,101 @@
+package com.gym.management.common.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Keeps only a fraction of the DEBUG and INFO events of chosen packages. The
+ * rate of a logger is that of its nearest configured package, and WARN and
+ * ERROR events are always kept. Turbo filters run before an event is created,
+ * so a dropped event costs a map lookup and a random number, and its message
+ * is never formatted.
+ *
+ * Level checks such as {@code isDebugEnabled()} are not sampled, only the
+ * logging calls themselves, so guarded code is not sampled twice.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+	private static final Double KEEP_ALL = 1.0;
+
+	private volatile Rates rates = new Rates(Map.of());
+	private final LongAdder dropped = new LongAdder();
+
+	/**
+	 * The configured rates with the rate of each logger resolved from them,
+	 * replaced together so a lookup never mixes old and new rates.
+	 */
+	private record Rates(Map<String, Double> byName, ConcurrentMap<String, Double> byLogger) {
+		Rates(Map<String, Double> byName) {
+			this(Map.copyOf(byName), new ConcurrentHashMap<>());
+		}
+
+		double of(String loggerName) {
+			return byLogger.computeIfAbsent(loggerName, this::resolve);
+		}
+
+		private Double resolve(String loggerName) {
+			String name = loggerName;
+			while (true) {
+				Double rate = byName.get(name);
+				if (rate != null) {
+					return rate;
+				}
+				int dot = name.lastIndexOf('.');
+				if (dot < 0) {
+					return KEEP_ALL;
+				}
+				name = name.substring(0, dot);
+			}
+		}
+	}
+
+	@Override
+	public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+			Throwable t) {
+		Rates current = rates;
+		if (format == null || level.isGreaterOrEqual(Level.WARN) || current.byName().isEmpty()) {
+			return FilterReply.NEUTRAL;
+		}
+		double rate = current.of(logger.getName());
+		if (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate) {
+			return FilterReply.NEUTRAL;
+		}
+		dropped.increment();
+		return FilterReply.DENY;
+	}
+
+	/**
+	 * Replaces all rates.
+	 *
+	 * @param rates the fraction of events to keep, from 0 to 1, by package or
+	 *              logger name
+	 */
+	public void setRates(Map<String, Double> rates) {
+		rates.forEach((name, rate) -> {
+			if (rate == null || rate < 0 || rate > 1) {
+				throw new IllegalArgumentException("Sampling rate of " + name + " must be between 0 and 1");
+			}
+		});
+		this.rates = new Rates(rates);
+	}
+
+	public Map<String, Double> getRates() {
+		return rates.byName();
+	}
+
+	/**
+	 * The number of events dropped since startup.
+	 */
+	public long getDropped() {
+		return dropped.sum();
+	}
+}
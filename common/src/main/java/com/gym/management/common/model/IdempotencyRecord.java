@@ -0,0 +1,44 @@
+package com.gym.management.common.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * The outcome of a request made with an Idempotency-Key header. A record with
+ * no status belongs to a request that is still in progress, or that died
+ * before finishing if its lease has run out.
+ */
+@Data
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+		@Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at") })
+public class IdempotencyRecord {
+	@Id
+	@Column(name = "idempotency_key", length = 128)
+	private String key;
+
+	@Column(nullable = false, length = 512)
+	private String fingerprint;
+
+	private Integer responseStatus;
+
+	@Column(length = 128)
+	private String contentType;
+
+	@Column(length = 65535)
+	private byte[] responseBody;
+
+	@Column(nullable = false)
+	private LocalDateTime createdAt;
+
+	@Column(nullable = false)
+	private LocalDateTime expiresAt;
+
+	private LocalDateTime lockedUntil;
+}
@@ -0,0 +1,61 @@
+package com.gym.management.common.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gym.management.common.model.IdempotencyRecord;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+	/**
+	 * Claims a key for a request in progress, until {@code lockedUntil}. Fails
+	 * with a DataIntegrityViolationException if the key is already taken, so
+	 * two concurrent retries cannot both run.
+	 */
+	@Transactional
+	@Modifying
+	@Query("insert into IdempotencyRecord (key, fingerprint, createdAt, lockedUntil, expiresAt) "
+			+ "values (:key, :fingerprint, :now, :lockedUntil, :expiresAt)")
+	void reserve(@Param("key") String key, @Param("fingerprint") String fingerprint, @Param("now") LocalDateTime now,
+			@Param("lockedUntil") LocalDateTime lockedUntil, @Param("expiresAt") LocalDateTime expiresAt);
+
+	/**
+	 * Claims a key whose request never completed and whose lease ran out
+	 * before {@code now}. Returns 0 if the request completed or someone else
+	 * took it over first.
+	 */
+	@Transactional
+	@Modifying
+	@Query("update IdempotencyRecord r set r.lockedUntil = :lockedUntil where r.key = :key "
+			+ "and r.responseStatus is null and (r.lockedUntil is null or r.lockedUntil < :now)")
+	int takeOver(@Param("key") String key, @Param("now") LocalDateTime now,
+			@Param("lockedUntil") LocalDateTime lockedUntil);
+
+	/**
+	 * Stores the response of a completed request for replay.
+	 */
+	@Transactional
+	@Modifying
+	@Query("update IdempotencyRecord r set r.responseStatus = :status, r.contentType = :contentType, "
+			+ "r.responseBody = :body where r.key = :key")
+	int complete(@Param("key") String key, @Param("status") int status, @Param("contentType") String contentType,
+			@Param("body") byte[] body);
+
+	/**
+	 * Forgets a key, so its request can be retried.
+	 */
+	@Transactional
+	@Modifying
+	@Query("delete from IdempotencyRecord r where r.key = :key")
+	int release(@Param("key") String key);
+
+	@Transactional
+	@Modifying
+	@Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+	int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,11 @@
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(128) NOT NULL,
+    fingerprint     VARCHAR(512) NOT NULL,
+    response_status INT,
+    content_type    VARCHAR(128),
+    response_body   BLOB,
+    created_at      DATETIME(6)  NOT NULL,
+    expires_at      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (idempotency_key),
+    INDEX idx_idempotency_keys_expires_at (expires_at)
+) ENGINE = InnoDB;
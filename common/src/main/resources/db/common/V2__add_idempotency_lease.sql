@@ -0,0 +1,2 @@
+-- A reservation whose lease has run out belongs to a request that died, and may be taken over.
+ALTER TABLE idempotency_keys ADD COLUMN locked_until DATETIME(6);
@@ -0,0 +1,11 @@
+package com.gym.management.common;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Configuration for slice tests of the common module, which has no
+ * application class of its own.
+ */
+@SpringBootApplication
+class CommonTestApplication {
+}
@@ -0,0 +1,244 @@
+package com.gym.management.common;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.gym.management.common.filter.IdempotencyFilter;
+import com.gym.management.common.model.IdempotencyRecord;
+import com.gym.management.common.repository.IdempotencyRecordRepository;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+
+class IdempotencyFilterTests {
+	private static final String KEY = "3f1c2a";
+	private static final byte[] BODY = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] REQUEST_BODY = "{\"firstName\":\"Ann\"}".getBytes(StandardCharsets.UTF_8);
+
+	private IdempotencyRecordRepository repository;
+	private IdempotencyFilter filter;
+	private AtomicInteger executions;
+	private FilterChain chain;
+	private String fingerprint;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		fingerprint = fingerprint(post());
+		repository = mock(IdempotencyRecordRepository.class);
+		when(repository.findById(KEY)).thenReturn(Optional.empty());
+		filter = new IdempotencyFilter(repository, 60_000, 1024, 1024, 30_000);
+		executions = new AtomicInteger();
+		chain = (request, response) -> {
+			executions.incrementAndGet();
+			assertArrayEquals(REQUEST_BODY, request.getInputStream().readAllBytes());
+			response.setContentType("application/json");
+			response.getOutputStream().write(BODY);
+		};
+	}
+
+	private static MockHttpServletRequest post() {
+		return post(REQUEST_BODY);
+	}
+
+	private static MockHttpServletRequest post(byte[] body) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/members/add");
+		request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, KEY);
+		request.setContent(body);
+		return request;
+	}
+
+	/**
+	 * The fingerprint the filter reserves a key with for the given request.
+	 */
+	private static String fingerprint(MockHttpServletRequest request) throws Exception {
+		IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+		when(repository.findById(KEY)).thenReturn(Optional.empty());
+		new IdempotencyFilter(repository, 60_000, 1024, 1024, 30_000).doFilter(request, new MockHttpServletResponse(),
+				(req, res) -> {
+				});
+		ArgumentCaptor<String> fingerprint = ArgumentCaptor.forClass(String.class);
+		verify(repository).reserve(eq(KEY), fingerprint.capture(), any(), any(), any());
+		return fingerprint.getValue();
+	}
+
+	private IdempotencyRecord record(Integer status) {
+		IdempotencyRecord record = new IdempotencyRecord();
+		record.setKey(KEY);
+		record.setFingerprint(fingerprint);
+		record.setResponseStatus(status);
+		record.setContentType("application/json");
+		record.setResponseBody(BODY);
+		record.setExpiresAt(LocalDateTime.now().plusMinutes(1));
+		return record;
+	}
+
+	@Test
+	void testFirstRequestRunsAndStoresItsResponse() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(post(), response, chain);
+
+		assertEquals(1, executions.get());
+		assertArrayEquals(BODY, response.getContentAsByteArray());
+		verify(repository).reserve(eq(KEY), eq(fingerprint), any(), any(), any());
+		verify(repository).complete(KEY, 200, "application/json", BODY);
+	}
+
+	@Test
+	void testBodyCanBeReadWithAReadListener() throws Exception {
+		ByteArrayOutputStream read = new ByteArrayOutputStream();
+		AtomicInteger completions = new AtomicInteger();
+
+		filter.doFilter(post(), new MockHttpServletResponse(), (request, response) -> {
+			ServletInputStream in = request.getInputStream();
+			in.setReadListener(new ReadListener() {
+				@Override
+				public void onDataAvailable() throws IOException {
+					byte[] buffer = new byte[4];
+					while (in.isReady() && !in.isFinished()) {
+						read.write(buffer, 0, in.read(buffer));
+					}
+				}
+
+				@Override
+				public void onAllDataRead() {
+					completions.incrementAndGet();
+				}
+
+				@Override
+				public void onError(Throwable error) {
+					throw new AssertionError(error);
+				}
+			});
+		});
+
+		assertArrayEquals(REQUEST_BODY, read.toByteArray());
+		assertEquals(1, completions.get());
+	}
+
+	@Test
+	void testRetryReplaysTheStoredResponse() throws Exception {
+		when(repository.findById(KEY)).thenReturn(Optional.of(record(200)));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(post(), response, chain);
+
+		assertEquals(0, executions.get());
+		assertEquals(200, response.getStatus());
+		assertEquals("true", response.getHeader(IdempotencyFilter.REPLAYED));
+		assertArrayEquals(BODY, response.getContentAsByteArray());
+		verify(repository, never()).reserve(anyString(), anyString(), any(), any(), any());
+	}
+
+	@Test
+	void testConcurrentRetryIsRejected() throws Exception {
+		doThrow(new DataIntegrityViolationException("duplicate")).when(repository).reserve(eq(KEY), anyString(),
+				any(), any(), any());
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(post(), response, chain);
+
+		assertEquals(0, executions.get());
+		assertEquals(409, response.getStatus());
+		assertEquals("1", response.getHeader("Retry-After"));
+	}
+
+	@Test
+	void testRetryOfARunningRequestIsRejected() throws Exception {
+		when(repository.findById(KEY)).thenReturn(Optional.of(record(null)));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(post(), response, chain);
+
+		assertEquals(0, executions.get());
+		assertEquals(409, response.getStatus());
+		verify(repository).takeOver(eq(KEY), any(), any());
+	}
+
+	@Test
+	void testRetryOfADeadRequestTakesItsKeyOver() throws Exception {
+		when(repository.findById(KEY)).thenReturn(Optional.of(record(null)));
+		when(repository.takeOver(eq(KEY), any(), any())).thenReturn(1);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(post(), response, chain);
+
+		assertEquals(1, executions.get());
+		assertArrayEquals(BODY, response.getContentAsByteArray());
+		verify(repository).complete(KEY, 200, "application/json", BODY);
+	}
+
+	@Test
+	void testKeyReusedForAnotherRequestIsRejected() throws Exception {
+		when(repository.findById(KEY)).thenReturn(Optional.of(record(200)));
+		MockHttpServletRequest request = post();
+		request.setRequestURI("/members/batch");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response, chain);
+
+		assertEquals(0, executions.get());
+		assertEquals(422, response.getStatus());
+	}
+
+	@Test
+	void testKeyReusedWithAnotherBodyIsRejected() throws Exception {
+		when(repository.findById(KEY)).thenReturn(Optional.of(record(200)));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(post("{\"firstName\":\"Bob\"}".getBytes(StandardCharsets.UTF_8)), response, chain);
+
+		assertEquals(0, executions.get());
+		assertEquals(422, response.getStatus());
+	}
+
+	@Test
+	void testOversizedRequestIsRejected() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(post(new byte[2048]), response, chain);
+
+		assertEquals(0, executions.get());
+		assertEquals(413, response.getStatus());
+		verify(repository, never()).reserve(anyString(), anyString(), any(), any(), any());
+	}
+
+	@Test
+	void testServerErrorReleasesTheKey() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(post(), response, (req, res) -> {
+			executions.incrementAndGet();
+			((HttpServletResponse) res).setStatus(503);
+		});
+
+		assertEquals(1, executions.get());
+		verify(repository, never()).complete(anyString(), anyInt(), any(), any());
+		verify(repository).release(KEY);
+	}
+}
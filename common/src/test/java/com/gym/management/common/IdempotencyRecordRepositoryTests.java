@@ -0,0 +1,81 @@
+package com.gym.management.common;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.gym.management.common.model.IdempotencyRecord;
+import com.gym.management.common.repository.IdempotencyRecordRepository;
+
+@DataJpaTest(properties = { "spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop" })
+class IdempotencyRecordRepositoryTests {
+	private static final String FINGERPRINT = "POST /fitness/workouts?memberId=1&workoutName=Legs";
+
+	@Autowired
+	private IdempotencyRecordRepository idempotencyRecordRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Test
+	void testReserveThenComplete() {
+		LocalDateTime now = LocalDateTime.now();
+		idempotencyRecordRepository.reserve("k1", FINGERPRINT, now, now.plusSeconds(30), now.plusDays(1));
+		idempotencyRecordRepository.complete("k1", 200, "application/json", new byte[] { 1, 2 });
+		entityManager.clear();
+
+		IdempotencyRecord record = idempotencyRecordRepository.findById("k1").orElseThrow();
+		assertEquals(FINGERPRINT, record.getFingerprint());
+		assertEquals(200, record.getResponseStatus());
+		assertArrayEquals(new byte[] { 1, 2 }, record.getResponseBody());
+	}
+
+	@Test
+	void testReservedKeyCannotBeReservedAgain() {
+		LocalDateTime now = LocalDateTime.now();
+		idempotencyRecordRepository.reserve("k1", FINGERPRINT, now, now.plusSeconds(30), now.plusDays(1));
+
+		assertNull(idempotencyRecordRepository.findById("k1").orElseThrow().getResponseStatus());
+		assertThrows(DataIntegrityViolationException.class,
+				() -> idempotencyRecordRepository.reserve("k1", FINGERPRINT, now, now.plusSeconds(30), now.plusDays(1)));
+	}
+
+	@Test
+	void testOnlyAnExpiredLeaseCanBeTakenOver() {
+		LocalDateTime now = LocalDateTime.now();
+		idempotencyRecordRepository.reserve("k1", FINGERPRINT, now, now.plusSeconds(30), now.plusDays(1));
+
+		assertEquals(0, idempotencyRecordRepository.takeOver("k1", now.plusSeconds(10), now.plusSeconds(40)));
+		assertEquals(1, idempotencyRecordRepository.takeOver("k1", now.plusSeconds(31), now.plusSeconds(61)));
+		assertEquals(0, idempotencyRecordRepository.takeOver("k1", now.plusSeconds(32), now.plusSeconds(62)));
+	}
+
+	@Test
+	void testCompletedKeyCannotBeTakenOver() {
+		LocalDateTime now = LocalDateTime.now();
+		idempotencyRecordRepository.reserve("k1", FINGERPRINT, now, now.plusSeconds(30), now.plusDays(1));
+		idempotencyRecordRepository.complete("k1", 200, "application/json", new byte[] { 1, 2 });
+
+		assertEquals(0, idempotencyRecordRepository.takeOver("k1", now.plusMinutes(1), now.plusMinutes(2)));
+	}
+
+	@Test
+	void testDeleteExpiredKeepsLiveKeys() {
+		LocalDateTime now = LocalDateTime.now();
+		idempotencyRecordRepository.reserve("old", FINGERPRINT, now.minusDays(2), now.minusDays(2), now.minusDays(1));
+		idempotencyRecordRepository.reserve("live", FINGERPRINT, now, now.plusSeconds(30), now.plusDays(1));
+
+		assertEquals(1, idempotencyRecordRepository.deleteExpired(now));
+		assertTrue(idempotencyRecordRepository.existsById("live"));
+	}
+}
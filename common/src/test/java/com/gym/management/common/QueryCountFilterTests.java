@@ -0,0 +1,56 @@
+package com.gym.management.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.gym.management.common.filter.QueryCountFilter;
+import com.gym.management.common.filter.QueryCounter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class QueryCountFilterTests {
+	private QueryCounter queryCounter;
+	private SimpleMeterRegistry meterRegistry;
+	private QueryCountFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		queryCounter = new QueryCounter();
+		meterRegistry = new SimpleMeterRegistry();
+		filter = new QueryCountFilter(queryCounter, meterRegistry);
+	}
+
+	@Test
+	void testStatementsOfARequestAreRecordedUnderItsPattern() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/members/get/7");
+
+		filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+			req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/members/get/{id}");
+			queryCounter.inspect("select 1");
+			queryCounter.inspect("select 2");
+		});
+
+		DistributionSummary summary = meterRegistry.get("http.server.requests.queries")
+				.tag("uri", "/members/get/{id}")
+				.summary();
+		assertEquals(1, summary.count());
+		assertEquals(2, summary.totalAmount());
+	}
+
+	@Test
+	void testStatementsOutsideARequestAreNotCounted() throws Exception {
+		queryCounter.inspect("select 1");
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/members"), new MockHttpServletResponse(),
+				(req, res) -> queryCounter.inspect("select 2"));
+		queryCounter.inspect("select 3");
+
+		assertEquals(1, meterRegistry.get("http.server.requests.queries").summary().totalAmount());
+	}
+}
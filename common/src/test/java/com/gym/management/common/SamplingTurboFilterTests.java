@@ -0,0 +1,59 @@
+package com.gym.management.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.gym.management.common.logging.SamplingTurboFilter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+
+class SamplingTurboFilterTests {
+	private final LoggerContext loggerContext = new LoggerContext();
+	private SamplingTurboFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		filter = new SamplingTurboFilter();
+		filter.setRates(Map.of("com.gym.management.common.aop", 0.0));
+	}
+
+	private FilterReply decide(String loggerName, Level level) {
+		Logger logger = loggerContext.getLogger(loggerName);
+		return filter.decide(null, logger, level, "{} took {} µs", null, null);
+	}
+
+	@Test
+	void testEventsOfASampledPackageAreDropped() {
+		assertEquals(FilterReply.DENY, decide("com.gym.management.common.aop.ServiceMetricsAspect", Level.DEBUG));
+		assertEquals(FilterReply.DENY, decide("com.gym.management.common.aop.ServiceMetricsAspect", Level.INFO));
+		assertEquals(2, filter.getDropped());
+	}
+
+	@Test
+	void testWarningsAndOtherPackagesAreKept() {
+		assertEquals(FilterReply.NEUTRAL, decide("com.gym.management.common.aop.ServiceMetricsAspect", Level.WARN));
+		assertEquals(FilterReply.NEUTRAL, decide("com.gym.management.membership.service.OutboxRelay", Level.DEBUG));
+		assertEquals(FilterReply.NEUTRAL, filter.decide(null,
+				loggerContext.getLogger("com.gym.management.common.aop.ServiceMetricsAspect"), Level.DEBUG, null,
+				null, null));
+		assertEquals(0, filter.getDropped());
+	}
+
+	@Test
+	void testChangedRatesApplyToLoggersAlreadySeen() {
+		decide("com.gym.management.common.aop.ServiceMetricsAspect", Level.DEBUG);
+
+		filter.setRates(Map.of("com.gym.management", 1.0));
+
+		assertEquals(FilterReply.NEUTRAL, decide("com.gym.management.common.aop.ServiceMetricsAspect", Level.DEBUG));
+		assertThrows(IllegalArgumentException.class, () -> filter.setRates(Map.of("com", 2.0)));
+	}
+}
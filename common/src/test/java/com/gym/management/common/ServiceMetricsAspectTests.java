@@ -0,0 +1,55 @@
+package com.gym.management.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import com.gym.management.common.aop.ServiceMetricsAspect;
+import com.gym.management.common.service.PassService;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ServiceMetricsAspectTests {
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private PassService passService;
+
+	@BeforeEach
+	void setUp() {
+		AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new PassService());
+		proxyFactory.addAspect(new ServiceMetricsAspect(meterRegistry));
+		passService = proxyFactory.getProxy();
+	}
+
+	private Timer timer(String exception) {
+		return meterRegistry.find("service.method")
+				.tags("class", "PassService", "method", "issue", "exception", exception)
+				.timer();
+	}
+
+	@Test
+	void testSuccessfulCallsAreTimedWithoutAnException() {
+		assertEquals("Pass for Ann", passService.issue("Ann"));
+		assertEquals("Pass for Bo", passService.issue("Bo"));
+
+		Timer timer = timer("none");
+		assertNotNull(timer);
+		assertEquals(2, timer.count());
+		assertEquals(1, meterRegistry.find("service.method").timers().size());
+	}
+
+	@Test
+	void testFailedCallsAreTimedWithTheExceptionName() {
+		assertThrows(IllegalArgumentException.class, () -> passService.issue(" "));
+
+		Timer timer = timer("IllegalArgumentException");
+		assertNotNull(timer);
+		assertEquals(1, timer.count());
+		assertNull(timer("none"));
+	}
+}
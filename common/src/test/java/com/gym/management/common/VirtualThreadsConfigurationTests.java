@@ -0,0 +1,36 @@
+package com.gym.management.common;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.NestedExceptionUtils;
+
+class VirtualThreadsConfigurationTests {
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withUserConfiguration(VirtualThreadsConfiguration.class);
+
+	@Test
+	void testVirtualThreadsRefuseToStartBeforeJava21() {
+		assumeTrue(Runtime.version().feature() < 21);
+
+		contextRunner.withPropertyValues("spring.threads.virtual.enabled=true")
+				.run(context -> assertInstanceOf(IllegalStateException.class,
+						NestedExceptionUtils.getMostSpecificCause(context.getStartupFailure())));
+	}
+
+	@Test
+	void testVirtualThreadsStartOnJava21() {
+		assumeTrue(Runtime.version().feature() >= 21);
+
+		contextRunner.withPropertyValues("spring.threads.virtual.enabled=true")
+				.run(context -> assertNull(context.getStartupFailure()));
+	}
+
+	@Test
+	void testPlatformThreadsStartOnAnyRuntime() {
+		contextRunner.run(context -> assertNull(context.getStartupFailure()));
+	}
+}
@@ -0,0 +1,14 @@
+package com.gym.management.common.service;
+
+/**
+ * A service for {@code ServiceMetricsAspectTests} to time; it sits in a
+ * {@code service} package so the aspect's pointcut matches it.
+ */
+public class PassService {
+	public String issue(String memberName) {
+		if (memberName.isBlank()) {
+			throw new IllegalArgumentException("A pass needs a member name");
+		}
+		return "Pass for " + memberName;
+	}
+}
@@ -2,21 +2,24 @@ package com.gym.management.fitness;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
-import org.springframework.context.annotation.Bean;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.gym.management.common.CommonConfiguration;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableCaching
+@EnableAsync
+@EnableScheduling
+@Import(CommonConfiguration.class)
 public class MemberManagementService1Application {
 
 	public static void main(String[] args) {
 		SpringApplication.run(MemberManagementService1Application.class, args);
 	}
 
-	@Bean
-	public RestTemplate restTemplate() {
-		return new RestTemplate();
-	}
-
 }
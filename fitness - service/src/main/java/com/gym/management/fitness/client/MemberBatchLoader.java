@@ -0,0 +1,154 @@
+package com.gym.management.fitness.client;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.gym.management.fitness.dto.MemberDTO;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Coalesces concurrent member lookups into micro-batches. The first lookup
+ * opens a window of {@code member-client.batch-window-ms}; every lookup that
+ * arrives before it closes, or until {@code member-client.max-batch-size} IDs
+ * are pending, is resolved by a single {@code POST /members/batch} call.
+ *
+ * The remote call itself is non-blocking and holds no thread while it is in
+ * flight; callers that need the member now, like {@link MemberClient}, block
+ * on the returned future for at most {@link #maxWait()}. Each call is bounded
+ * by {@code member-client.call-timeout-ms} and goes through the member service
+ * bulkhead and circuit breaker, so a slow or failing member service fails
+ * lookups fast instead of piling them up.
+ *
+ * Pending lookups are guarded by a ReentrantLock rather than a monitor, so
+ * virtual request threads never pin their carrier while queueing a lookup.
+ */
+@Component
+public class MemberBatchLoader {
+	private static final String MEMBER_BATCH_PATH = "/members/batch";
+
+	private final WebClient webClient;
+	private final CircuitBreaker circuitBreaker;
+	private final Bulkhead bulkhead;
+	private final Duration callTimeout;
+	private final long batchWindowMillis;
+	private final int maxBatchSize;
+	private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+		Thread thread = new Thread(runnable, "member-batch-loader");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private Map<Integer, CompletableFuture<MemberDTO>> pending = new HashMap<>();
+
+	public MemberBatchLoader(WebClient memberServiceWebClient, CircuitBreaker memberServiceCircuitBreaker,
+			Bulkhead memberServiceBulkhead, @Value("${member-client.call-timeout-ms:3000}") long callTimeoutMillis,
+			@Value("${member-client.batch-window-ms:5}") long batchWindowMillis,
+			@Value("${member-client.max-batch-size:100}") int maxBatchSize) {
+		this.webClient = memberServiceWebClient;
+		this.circuitBreaker = memberServiceCircuitBreaker;
+		this.bulkhead = memberServiceBulkhead;
+		this.callTimeout = Duration.ofMillis(callTimeoutMillis);
+		this.batchWindowMillis = batchWindowMillis;
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * The longest a lookup can take: the batch window plus the call timeout.
+	 *
+	 * @return the upper bound on the time until a returned future completes
+	 */
+	public Duration maxWait() {
+		return callTimeout.plusMillis(batchWindowMillis);
+	}
+
+	/**
+	 * Queues a member lookup. Concurrent lookups of the same ID share one future.
+	 *
+	 * @param memberId the ID of the member
+	 * @return a future completed with the member, or with null if it does not exist
+	 */
+	public CompletableFuture<MemberDTO> load(int memberId) {
+		CompletableFuture<MemberDTO> future;
+		Map<Integer, CompletableFuture<MemberDTO>> fullBatch = null;
+
+		lock.lock();
+		try {
+			boolean windowOpen = !pending.isEmpty();
+			future = pending.computeIfAbsent(memberId, id -> new CompletableFuture<>());
+
+			if (pending.size() >= maxBatchSize) {
+				fullBatch = pending;
+				pending = new HashMap<>();
+			} else if (!windowOpen) {
+				scheduler.schedule(this::flush, batchWindowMillis, TimeUnit.MILLISECONDS);
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		if (fullBatch != null) {
+			dispatch(fullBatch);
+		}
+		return future;
+	}
+
+	private void flush() {
+		Map<Integer, CompletableFuture<MemberDTO>> batch;
+		lock.lock();
+		try {
+			if (pending.isEmpty()) {
+				return;
+			}
+			batch = pending;
+			pending = new HashMap<>();
+		} finally {
+			lock.unlock();
+		}
+		dispatch(batch);
+	}
+
+	private void dispatch(Map<Integer, CompletableFuture<MemberDTO>> batch) {
+		webClient.post()
+				.uri(MEMBER_BATCH_PATH)
+				.bodyValue(batch.keySet())
+				.retrieve()
+				.bodyToMono(MemberDTO[].class)
+				.timeout(callTimeout)
+				.transformDeferred(BulkheadOperator.of(bulkhead))
+				.transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+				.subscribe(members -> complete(batch, members),
+						error -> batch.values().forEach(future -> future.completeExceptionally(error)),
+						() -> complete(batch, new MemberDTO[0]));
+	}
+
+	private void complete(Map<Integer, CompletableFuture<MemberDTO>> batch, MemberDTO[] members) {
+		for (MemberDTO member : members) {
+			CompletableFuture<MemberDTO> future = batch.get(member.getId());
+			if (future != null) {
+				future.complete(member);
+			}
+		}
+		batch.values().forEach(future -> future.complete(null));
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		scheduler.shutdownNow();
+	}
+}
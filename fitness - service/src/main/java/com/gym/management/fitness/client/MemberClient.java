@@ -0,0 +1,70 @@
+package com.gym.management.fitness.client;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import com.gym.management.fitness.dto.MemberDTO;
+import com.gym.management.fitness.exception.MemberServiceTimeoutException;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Client for the member management service. Lookups are cached in the
+ * {@value #MEMBERS_CACHE} cache; its size, TTL and statistics are configured
+ * through {@code spring.cache.caffeine.spec}. Cache misses are resolved through
+ * the {@link MemberBatchLoader}, so concurrent misses share one remote call.
+ * A miss blocks the calling thread until its batch completes, for at most
+ * {@link MemberBatchLoader#maxWait()}.
+ *
+ * A lookup that times out fails with a {@link MemberServiceTimeoutException};
+ * one turned away by the circuit breaker or the bulkhead fails with the
+ * Resilience4j exception. MemberServiceExceptionHandler answers all three.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberClient {
+	public static final String MEMBERS_CACHE = "members";
+
+	private final MemberBatchLoader memberBatchLoader;
+
+	/**
+	 * Retrieves a member by ID, from the cache when possible.
+	 *
+	 * @param memberId the ID of the member
+	 * @return the member, or null if the member does not exist
+	 * @throws MemberServiceTimeoutException if the member service did not
+	 *                                       answer in time
+	 */
+	@Cacheable(cacheNames = MEMBERS_CACHE, unless = "#result == null")
+	public MemberDTO getMember(int memberId) {
+		try {
+			return memberBatchLoader.load(memberId).copy()
+					.orTimeout(memberBatchLoader.maxWait().toMillis(), TimeUnit.MILLISECONDS)
+					.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof TimeoutException cause) {
+				throw new MemberServiceTimeoutException("Member " + memberId + " was not loaded in time", cause);
+			}
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Removes a member from the cache so the next lookup goes to the member
+	 * service.
+	 *
+	 * @param memberId the ID of the member
+	 */
+	@CacheEvict(cacheNames = MEMBERS_CACHE)
+	public void evict(int memberId) {
+		// eviction is performed by the cache interceptor
+	}
+}
@@ -0,0 +1,72 @@
+package com.gym.management.fitness.client;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * HTTP client and resilience policies for calls to the member service. The
+ * base URL is resolved through Eureka by the load-balanced builder, connections
+ * come from a bounded pool, and the circuit breaker and bulkhead are configured
+ * under {@code resilience4j.*.instances.member-service}. Calls are observed, so
+ * their latency is recorded in http.client.requests and the trace context is
+ * passed on to the member service.
+ */
+@Configuration
+public class MemberServiceClientConfig {
+	public static final String MEMBER_SERVICE = "member-service";
+
+	@Bean
+	@LoadBalanced
+	public WebClient.Builder loadBalancedWebClientBuilder(ObjectProvider<ObservationRegistry> observationRegistry) {
+		return WebClient.builder()
+				.observationRegistry(observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+	}
+
+	@Bean
+	public WebClient memberServiceWebClient(WebClient.Builder loadBalancedWebClientBuilder,
+			@Value("${member-client.base-url:http://member-management-service}") String baseUrl,
+			@Value("${member-client.max-connections:50}") int maxConnections,
+			@Value("${member-client.pending-acquire-timeout-ms:500}") long pendingAcquireTimeoutMillis,
+			@Value("${member-client.connect-timeout-ms:1000}") int connectTimeoutMillis,
+			@Value("${member-client.response-timeout-ms:2000}") long responseTimeoutMillis) {
+		ConnectionProvider connectionProvider = ConnectionProvider.builder(MEMBER_SERVICE)
+				.maxConnections(maxConnections)
+				.pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMillis))
+				.maxIdleTime(Duration.ofSeconds(30))
+				.build();
+		HttpClient httpClient = HttpClient.create(connectionProvider)
+				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+				.responseTimeout(Duration.ofMillis(responseTimeoutMillis));
+
+		return loadBalancedWebClientBuilder.clone()
+				.baseUrl(baseUrl)
+				.clientConnector(new ReactorClientHttpConnector(httpClient))
+				.build();
+	}
+
+	@Bean
+	public CircuitBreaker memberServiceCircuitBreaker(CircuitBreakerRegistry circuitBreakerRegistry) {
+		return circuitBreakerRegistry.circuitBreaker(MEMBER_SERVICE);
+	}
+
+	@Bean
+	public Bulkhead memberServiceBulkhead(BulkheadRegistry bulkheadRegistry) {
+		return bulkheadRegistry.bulkhead(MEMBER_SERVICE);
+	}
+}
@@ -1,7 +1,11 @@
 package com.gym.management.fitness.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,11 +15,23 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym.management.common.dto.ResourceStamp;
+import com.gym.management.fitness.dto.BulkWorkoutRequest;
+import com.gym.management.fitness.dto.ExerciseRemovalDTO;
+import com.gym.management.fitness.dto.PurgeJobDTO;
+import com.gym.management.fitness.dto.WorkoutExerciseDTO;
+import com.gym.management.fitness.dto.WorkoutHistoryDTO;
+import com.gym.management.fitness.dto.WorkoutPage;
 
 import com.gym.management.fitness.models.Exercise;
 import com.gym.management.fitness.models.Workout;
 import com.gym.management.fitness.service.FitnessService;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -27,6 +43,7 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class FitnessController {
 	private final FitnessService fitnessService;
+	private final ObjectMapper objectMapper;
 
 	/**
 	 * Creates a new workout for a member.
@@ -41,13 +58,45 @@ public class FitnessController {
 	}
 
 	/**
-	 * Retrieves all workouts.
+	 * Creates a complete workout, including all of its exercises, in one call.
+	 *
+	 * @param request the workout and its exercise sets
+	 * @return the created Workout entity
+	 */
+	@PostMapping("/workouts/bulk")
+	public ResponseEntity<Workout> createWorkoutWithExercises(@Valid @RequestBody BulkWorkoutRequest request) {
+		return ResponseEntity.ok(fitnessService.createWorkoutWithExercises(request));
+	}
+
+	/**
+	 * Retrieves a page of workouts using keyset pagination.
 	 *
-	 * @return a list of all Workout entities
+	 * @param after the cursor returned by the previous page, 0 for the first page
+	 * @param size  the maximum number of workouts to return
+	 * @return a page of Workout entities and the cursor of the next page
 	 */
 	@GetMapping("/workouts")
-	public ResponseEntity<List<Workout>> getAllWorkouts() {
-		return ResponseEntity.ok(fitnessService.getAllWorkouts());
+	public ResponseEntity<WorkoutPage> getWorkouts(@RequestParam(defaultValue = "0") int after,
+			@RequestParam(defaultValue = "50") int size) {
+		return ResponseEntity.ok(fitnessService.getWorkouts(after, size));
+	}
+
+	/**
+	 * Streams all workouts as newline-delimited JSON, one workout per line.
+	 *
+	 * @return a streaming body that writes workouts as the database cursor advances
+	 */
+	@GetMapping(value = "/workouts/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamWorkouts() {
+		StreamingResponseBody body = out -> fitnessService.streamAllWorkouts(workout -> {
+			try {
+				out.write(objectMapper.writeValueAsBytes(workout));
+				out.write('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		return ResponseEntity.ok(body);
 	}
 
 	/**
@@ -58,25 +107,46 @@ public class FitnessController {
 	 * @param sets       the number of sets
 	 * @param reps       the number of repetitions
 	 * @param weight     the weight used in the exercise
-	 * @return the updated Workout entity
+	 * @return the added workout exercise
 	 */
 	@PostMapping("/workouts/{workoutId}/exercises")
-	public ResponseEntity<Workout> addExerciseToWorkout(@PathVariable int workoutId, @RequestParam int exerciseId,
+	public ResponseEntity<WorkoutExerciseDTO> addExerciseToWorkout(@PathVariable int workoutId, @RequestParam int exerciseId,
 			@RequestParam Integer sets, @RequestParam Integer reps, @RequestParam Double weight) {
 		return ResponseEntity.ok(fitnessService.addExerciseToWorkout(workoutId, exerciseId, sets, reps, weight));
 	}
 
 	/**
-	 * Retrieves all workouts for a specific member.
+	 * Retrieves all workouts for a specific member. The ETag and Last-Modified
+	 * date come from one aggregate query over the member's workouts, so a
+	 * request whose If-None-Match or If-Modified-Since still matches gets 304
+	 * Not Modified without the workouts being loaded.
 	 *
 	 * @param memberId the ID of the member
-	 * @return a list of Workout entities for the specified member
+	 * @param request  the request, for its conditional headers
+	 * @return a list of Workout entities for the specified member, or null if
+	 *         the client's copy is current
 	 */
 	@GetMapping("/workouts/member/{memberId}")
-	public ResponseEntity<List<Workout>> getMemberWorkouts(@PathVariable int memberId) {
+	public ResponseEntity<List<Workout>> getMemberWorkouts(@PathVariable int memberId, WebRequest request) {
+		ResourceStamp stamp = fitnessService.getMemberWorkoutsStamp(memberId);
+		if (stamp.getCount() > 0 && request.checkNotModified(stamp.toETag(), stamp.lastModifiedMillis())) {
+			return null;
+		}
 		return ResponseEntity.ok(fitnessService.getMemberWorkouts(memberId));
 	}
 
+	/**
+	 * Retrieves the workout history of a member as a flat read model, including
+	 * the exercise names of every set.
+	 *
+	 * @param memberId the ID of the member
+	 * @return a list of workout history entries, newest first
+	 */
+	@GetMapping("/workouts/member/{memberId}/history")
+	public ResponseEntity<List<WorkoutHistoryDTO>> getMemberWorkoutHistory(@PathVariable int memberId) {
+		return ResponseEntity.ok(fitnessService.getMemberWorkoutHistory(memberId));
+	}
+
 	/**
 	 * Deletes all workouts for a specific member.
 	 *
@@ -89,6 +159,30 @@ public class FitnessController {
 		return ResponseEntity.noContent().build();
 	}
 
+	/**
+	 * Starts deleting all workouts for a member in the background. Intended for
+	 * very large histories.
+	 *
+	 * @param memberId the ID of the member
+	 * @return the purge job, whose progress can be followed with
+	 *         {@link #getPurgeJob(String)}
+	 */
+	@DeleteMapping(value = "/workouts/member/{memberId}", params = "async=true")
+	public ResponseEntity<PurgeJobDTO> purgeMemberWorkouts(@PathVariable int memberId) {
+		return ResponseEntity.accepted().body(fitnessService.startMemberWorkoutsPurge(memberId));
+	}
+
+	/**
+	 * Retrieves the progress of a background workout purge.
+	 *
+	 * @param jobId the ID of the purge job
+	 * @return the purge job progress
+	 */
+	@GetMapping("/jobs/purge/{jobId}")
+	public ResponseEntity<PurgeJobDTO> getPurgeJob(@PathVariable String jobId) {
+		return ResponseEntity.ok(fitnessService.getPurgeJob(jobId));
+	}
+
 	/**
 	 * Creates a new exercise.
 	 *
@@ -101,13 +195,22 @@ public class FitnessController {
 	}
 
 	/**
-	 * Retrieves all exercises.
+	 * Retrieves all exercises. The ETag and Last-Modified date come from the
+	 * catalog's stamp, and clients must revalidate before reusing a copy; a
+	 * request whose If-None-Match or If-Modified-Since still matches gets 304
+	 * Not Modified without the catalog being loaded.
 	 *
-	 * @return a list of all Exercise entities
+	 * @param request the request, for its conditional headers
+	 * @return a list of all Exercise entities, or null if the client's copy is
+	 *         current
 	 */
 	@GetMapping("/exercises")
-	public ResponseEntity<List<Exercise>> getAllExercises() {
-		return ResponseEntity.ok(fitnessService.getAllExercises());
+	public ResponseEntity<List<Exercise>> getAllExercises(WebRequest request) {
+		ResourceStamp stamp = fitnessService.getExercisesStamp();
+		if (request.checkNotModified(stamp.toETag(), stamp.lastModifiedMillis())) {
+			return null;
+		}
+		return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(fitnessService.getAllExercises());
 	}
 
 	/**
@@ -115,10 +218,10 @@ public class FitnessController {
 	 *
 	 * @param workoutId  the ID of the workout
 	 * @param exerciseId the ID of the exercise
-	 * @return the updated Workout entity
+	 * @return the number of sets removed from the workout
 	 */
 	@DeleteMapping("/workouts/{workoutId}/exercises/{exerciseId}")
-	public ResponseEntity<Workout> removeExerciseFromWorkout(@PathVariable int workoutId,
+	public ResponseEntity<ExerciseRemovalDTO> removeExerciseFromWorkout(@PathVariable int workoutId,
 			@PathVariable int exerciseId) {
 		return ResponseEntity.ok(fitnessService.removeExerciseFromWorkout(workoutId, exerciseId));
 	}
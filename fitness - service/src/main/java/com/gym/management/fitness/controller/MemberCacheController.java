@@ -0,0 +1,34 @@
+package com.gym.management.fitness.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.gym.management.fitness.client.MemberClient;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller used by the member management service to invalidate cached
+ * member lookups when a member changes.
+ */
+@RestController
+@RequestMapping("/fitness/members")
+@RequiredArgsConstructor
+public class MemberCacheController {
+	private final MemberClient memberClient;
+
+	/**
+	 * Evicts a member from the member lookup cache.
+	 *
+	 * @param memberId the ID of the member
+	 * @return a ResponseEntity with no content
+	 */
+	@DeleteMapping("/{memberId}/cache")
+	public ResponseEntity<Void> evictMember(@PathVariable int memberId) {
+		memberClient.evict(memberId);
+		return ResponseEntity.noContent().build();
+	}
+}
@@ -0,0 +1,34 @@
+package com.gym.management.fitness.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A complete workout with all of its exercise sets, as synced by kiosks and
+ * wearables in a single request.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkWorkoutRequest {
+	@NotNull(message = "Member ID is mandatory")
+	private Integer memberId;
+
+	@NotBlank(message = "Workout name is mandatory")
+	private String workoutName;
+
+	private LocalDateTime workoutDate;
+	private String notes;
+
+	@Valid
+	@NotNull(message = "Exercises are mandatory")
+	private List<ExerciseSetDTO> exercises = new ArrayList<>();
+}
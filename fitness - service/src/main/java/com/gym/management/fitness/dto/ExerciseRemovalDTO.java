@@ -0,0 +1,17 @@
+package com.gym.management.fitness.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of removing an exercise from a workout.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExerciseRemovalDTO {
+	private int workoutId;
+	private int exerciseId;
+	private int removedSets;
+}
@@ -0,0 +1,17 @@
+package com.gym.management.fitness.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExerciseSetDTO {
+	@NotNull(message = "Exercise ID is mandatory")
+	private Integer exerciseId;
+	private Integer sets;
+	private Integer reps;
+	private Double weight;
+}
@@ -0,0 +1,22 @@
+package com.gym.management.fitness.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A member change read from the member service's event stream.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MemberEventDTO {
+	private long id;
+	private String aggregateType;
+	private int aggregateId;
+	private String eventType;
+	private MemberDTO payload;
+	private LocalDateTime createdAt;
+}
@@ -0,0 +1,28 @@
+package com.gym.management.fitness.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of an asynchronous purge of a member's workouts.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PurgeJobDTO {
+	private String jobId;
+	private int memberId;
+	private PurgeStatus status;
+	private long deletedWorkouts;
+	private long deletedExercises;
+	private LocalDateTime startedAt;
+	private LocalDateTime finishedAt;
+	private String error;
+
+	public enum PurgeStatus {
+		RUNNING, COMPLETED, FAILED
+	}
+}
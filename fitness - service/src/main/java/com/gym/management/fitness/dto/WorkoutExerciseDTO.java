@@ -0,0 +1,17 @@
+package com.gym.management.fitness.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkoutExerciseDTO {
+	private int id;
+	private int exerciseId;
+	private String exerciseName;
+	private Integer sets;
+	private Integer reps;
+	private Double weight;
+}
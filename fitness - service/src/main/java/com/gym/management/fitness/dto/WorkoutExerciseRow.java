@@ -0,0 +1,27 @@
+package com.gym.management.fitness.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Flat projection of a workout joined with one of its exercises. Workouts
+ * without exercises produce a single row with null exercise columns.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkoutExerciseRow {
+	private int workoutId;
+	private String workoutName;
+	private LocalDateTime workoutDate;
+	private String notes;
+	private Integer workoutExerciseId;
+	private Integer exerciseId;
+	private String exerciseName;
+	private Integer sets;
+	private Integer reps;
+	private Double weight;
+}
@@ -0,0 +1,24 @@
+package com.gym.management.fitness.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read model for a member's workout history. Built from
+ * {@link WorkoutExerciseRow}s so a whole history costs a single query.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkoutHistoryDTO {
+	private int workoutId;
+	private String workoutName;
+	private LocalDateTime workoutDate;
+	private String notes;
+	private List<WorkoutExerciseDTO> exercises = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.gym.management.fitness.dto;
+
+import java.util.List;
+
+import com.gym.management.fitness.models.Workout;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One keyset page of workouts. {@code nextCursor} is the id to pass as
+ * {@code after} for the following page, or null when there are no more rows.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkoutPage {
+	private List<Workout> content;
+	private Integer nextCursor;
+}
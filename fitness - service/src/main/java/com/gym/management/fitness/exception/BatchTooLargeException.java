@@ -0,0 +1,14 @@
+package com.gym.management.fitness.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a batch request carries more items than one call may hold.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BatchTooLargeException extends RuntimeException {
+	public BatchTooLargeException(String message) {
+		super(message);
+	}
+}
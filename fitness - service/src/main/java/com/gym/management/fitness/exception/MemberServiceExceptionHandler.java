@@ -0,0 +1,57 @@
+package com.gym.management.fitness.exception;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Answers requests whose member lookup the member service could not serve.
+ * The request itself may well succeed later, so each answer carries
+ * Retry-After. A lookup that timed out gets 504 Gateway Timeout. A lookup
+ * turned away by the open circuit breaker or the full bulkhead gets 503
+ * Service Unavailable: with the circuit open, the client is asked to come
+ * back once it half-opens; with the bulkhead full, after a second.
+ */
+@RestControllerAdvice
+public class MemberServiceExceptionHandler {
+	private static final Duration BUSY_RETRY_AFTER = Duration.ofSeconds(1);
+
+	private final Duration openCircuitRetryAfter;
+
+	public MemberServiceExceptionHandler(@Value("${resilience4j.circuitbreaker.instances.member-service."
+			+ "wait-duration-in-open-state:60s}") Duration openCircuitRetryAfter) {
+		this.openCircuitRetryAfter = openCircuitRetryAfter;
+	}
+
+	@ExceptionHandler(MemberServiceTimeoutException.class)
+	public void handleTimeout(HttpServletResponse response) throws IOException {
+		sendError(response, HttpStatus.GATEWAY_TIMEOUT, BUSY_RETRY_AFTER, "The member service did not answer in time");
+	}
+
+	@ExceptionHandler(CallNotPermittedException.class)
+	public void handleOpenCircuit(HttpServletResponse response) throws IOException {
+		sendError(response, HttpStatus.SERVICE_UNAVAILABLE, openCircuitRetryAfter,
+				"The member service is failing; lookups are suspended");
+	}
+
+	@ExceptionHandler(BulkheadFullException.class)
+	public void handleFullBulkhead(HttpServletResponse response) throws IOException {
+		sendError(response, HttpStatus.SERVICE_UNAVAILABLE, BUSY_RETRY_AFTER,
+				"Too many member lookups are in flight");
+	}
+
+	private static void sendError(HttpServletResponse response, HttpStatus status, Duration retryAfter,
+			String message) throws IOException {
+		response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfter.toSeconds())));
+		response.sendError(status.value(), message);
+	}
+}
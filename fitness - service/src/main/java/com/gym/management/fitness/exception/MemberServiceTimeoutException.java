@@ -0,0 +1,10 @@
+package com.gym.management.fitness.exception;
+
+/**
+ * Thrown when the member service does not answer a member lookup in time.
+ */
+public class MemberServiceTimeoutException extends RuntimeException {
+	public MemberServiceTimeoutException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
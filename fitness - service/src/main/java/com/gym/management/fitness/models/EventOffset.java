@@ -0,0 +1,27 @@
+package com.gym.management.fitness.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The ID of the last event a consumer has applied. Stored in the same
+ * transaction as the event's effects, so each event is applied exactly once.
+ */
+@Data
+@Entity
+@Table(name = "event_offsets")
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventOffset {
+	@Id
+	@Column(length = 64)
+	private String consumer;
+
+	@Column(nullable = false)
+	private long lastEventId;
+}
@@ -2,18 +2,32 @@ package com.gym.management.fitness.models;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
+/**
+ * An entry of the exercise catalog. The catalog is small and rarely changes,
+ * so exercises are kept in the second-level cache region "exercises".
+ */
 @Data
 @Entity
 @Table(name = "exercises")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Exercise.CACHE_REGION)
 public class Exercise {
+	public static final String CACHE_REGION = "exercises";
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private int id;
@@ -24,4 +38,10 @@ public class Exercise {
 	private String category;
 	private String muscleGroup;
 	private LocalDateTime createdAt = LocalDateTime.now();
+
+	@UpdateTimestamp
+	private LocalDateTime updatedAt;
+
+	@Version
+	private long version;
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.gym.management.fitness.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Local copy of a member, maintained from the member service's event stream.
+ */
+@Data
+@Entity
+@Table(name = "member_replicas")
+public class MemberReplica {
+	@Id
+	private int memberId;
+
+	private String firstName;
+	private String lastName;
+
+	@Column(nullable = false)
+	private long lastEventId;
+
+	private LocalDateTime updatedAt = LocalDateTime.now();
+}
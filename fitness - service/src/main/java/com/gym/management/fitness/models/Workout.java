@@ -4,19 +4,24 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.UpdateTimestamp;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 @Data
 @Entity
-@Table(name = "workouts")
+@Table(name = "workouts", indexes = {
+		@Index(name = "idx_workouts_member_id_workout_date", columnList = "member_id, workout_date") })
 public class Workout {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -32,7 +37,13 @@ public class Workout {
 	private String notes;
 	private LocalDateTime createdAt = LocalDateTime.now();
 
-	@OneToMany(mappedBy = "workout", cascade = CascadeType.ALL)
+	@UpdateTimestamp
+	private LocalDateTime updatedAt;
+
+	@Version
+	private long version;
+
+	@OneToMany(mappedBy = "workout", cascade = CascadeType.ALL, orphanRemoval = true)
 	private List<WorkoutExercise> exercises = new ArrayList<>();
 
 	@Override
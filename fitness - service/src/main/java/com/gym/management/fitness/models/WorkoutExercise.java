@@ -5,28 +5,36 @@ import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Data;
 
 @Data
 @Entity
-@Table(name = "workout_exercises")
+@Table(name = "workout_exercises", indexes = {
+		@Index(name = "idx_workout_exercises_workout_id_exercise_id", columnList = "workout_id, exercise_id"),
+		@Index(name = "idx_workout_exercises_exercise_id", columnList = "exercise_id") })
 public class WorkoutExercise {
+	// Pooled sequence ids (emulated with a table on MySQL) let Hibernate batch
+	// the inserts; IDENTITY forces one round trip per row.
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workout_exercises_seq")
+	@SequenceGenerator(name = "workout_exercises_seq", sequenceName = "workout_exercises_seq", allocationSize = 50)
 	private int id;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "workout_id")
 	@JsonIgnore
 	private Workout workout;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "exercise_id")
 	@JsonIgnore
 	private Exercise exercise;
@@ -0,0 +1,8 @@
+package com.gym.management.fitness.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.gym.management.fitness.models.EventOffset;
+
+public interface EventOffsetRepository extends JpaRepository<EventOffset, String> {
+}
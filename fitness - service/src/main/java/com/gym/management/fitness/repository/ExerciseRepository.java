@@ -1,9 +1,36 @@
 package com.gym.management.fitness.repository;
 
+import java.util.List;
+
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.gym.management.common.dto.ResourceStamp;
 import com.gym.management.fitness.models.Exercise;
 
+import jakarta.persistence.QueryHint;
+
 public interface ExerciseRepository extends JpaRepository<Exercise, Integer> {
+	String CATALOG_CACHE_REGION = "exercise-catalog";
+
+	/**
+	 * Lists the whole catalog. The result is kept in the query cache and is
+	 * invalidated by Hibernate whenever the exercises table is written.
+	 */
+	@QueryHints({ @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CATALOG_CACHE_REGION) })
+	@Query("select e from Exercise e order by e.id")
+	List<Exercise> findCatalog();
 
+	/**
+	 * Reads the size, version sum and latest change of the catalog, for
+	 * conditional GETs. Cached and invalidated like the catalog itself.
+	 */
+	@QueryHints({ @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CATALOG_CACHE_REGION) })
+	@Query("select new com.gym.management.common.dto.ResourceStamp(count(e), coalesce(sum(e.version), 0L), "
+			+ "max(coalesce(e.updatedAt, e.createdAt))) from Exercise e")
+	ResourceStamp findCatalogStamp();
 }
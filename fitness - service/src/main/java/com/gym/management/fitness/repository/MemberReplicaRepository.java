@@ -0,0 +1,8 @@
+package com.gym.management.fitness.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.gym.management.fitness.models.MemberReplica;
+
+public interface MemberReplicaRepository extends JpaRepository<MemberReplica, Integer> {
+}
@@ -0,0 +1,34 @@
+package com.gym.management.fitness.repository;
+
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.gym.management.fitness.models.WorkoutExercise;
+
+public interface WorkoutExerciseRepository extends JpaRepository<WorkoutExercise, Integer> {
+	/**
+	 * Deletes every set of an exercise from a workout with one DELETE statement,
+	 * without loading the workout or its other exercises.
+	 */
+	@Modifying
+	@Query("delete from WorkoutExercise we where we.workout.id = :workoutId and we.exercise.id = :exerciseId")
+	int deleteByWorkoutIdAndExerciseId(@Param("workoutId") int workoutId, @Param("exerciseId") int exerciseId);
+
+	/**
+	 * Deletes the exercises of every workout of a member in one statement.
+	 */
+	@Modifying
+	@Query("delete from WorkoutExercise we where we.workout.id in (select w.id from Workout w where w.memberId = :memberId)")
+	int deleteByMemberId(@Param("memberId") int memberId);
+
+	/**
+	 * Deletes the exercises of the given workouts in one statement.
+	 */
+	@Modifying
+	@Query("delete from WorkoutExercise we where we.workout.id in :workoutIds")
+	int deleteByWorkoutIdIn(@Param("workoutIds") Collection<Integer> workoutIds);
+}
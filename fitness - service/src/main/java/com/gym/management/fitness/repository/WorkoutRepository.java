@@ -1,11 +1,108 @@
 package com.gym.management.fitness.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.gym.management.common.dto.ResourceStamp;
+import com.gym.management.fitness.dto.WorkoutExerciseRow;
 import com.gym.management.fitness.models.Workout;
 
+import jakarta.persistence.QueryHint;
+
 public interface WorkoutRepository extends JpaRepository<Workout, Integer> {
+	/**
+	 * Loads a member's workouts together with their exercises and exercise
+	 * catalog entries in one joined select.
+	 */
+	@EntityGraph(attributePaths = { "exercises", "exercises.exercise" })
 	List<Workout> findByMemberId(int memberId);
+
+	/**
+	 * Flat history rows for a member, newest workout first, in one query.
+	 */
+	@Query("""
+			select new com.gym.management.fitness.dto.WorkoutExerciseRow(
+				w.id, w.workoutName, w.workoutDate, w.notes, we.id, e.id, e.name, we.sets, we.reps, we.weight)
+			from Workout w
+			left join w.exercises we
+			left join we.exercise e
+			where w.memberId = :memberId
+			order by w.workoutDate desc, w.id desc, we.id
+			""")
+	List<WorkoutExerciseRow> findHistoryRowsByMemberId(@Param("memberId") int memberId);
+
+	/**
+	 * IDs of a member's workouts, in id order, for chunked processing.
+	 */
+	@Query("select w.id from Workout w where w.memberId = :memberId order by w.id")
+	List<Integer> findIdsByMemberId(@Param("memberId") int memberId, Limit limit);
+
+	/**
+	 * Deletes every workout of a member in one statement. The workout exercises
+	 * must be deleted first.
+	 */
+	@Modifying
+	@Query("delete from Workout w where w.memberId = :memberId")
+	int deleteAllByMemberIdInBulk(@Param("memberId") int memberId);
+
+	/**
+	 * Deletes the given workouts in one statement. Their workout exercises must
+	 * be deleted first.
+	 */
+	@Modifying
+	@Query("delete from Workout w where w.id in :ids")
+	int deleteAllByIdInBulk(@Param("ids") Collection<Integer> ids);
+
+	/**
+	 * Reads the number of a member's workouts, the sum of their versions and
+	 * the latest change to any of them with one aggregate query, without
+	 * loading the workouts.
+	 */
+	@Query("select new com.gym.management.common.dto.ResourceStamp(count(w), coalesce(sum(w.version), 0L), "
+			+ "max(coalesce(w.updatedAt, w.createdAt))) from Workout w where w.memberId = :memberId")
+	ResourceStamp findStampByMemberId(@Param("memberId") int memberId);
+
+	/**
+	 * Bumps the version and update time of a workout whose exercises changed,
+	 * without loading it.
+	 *
+	 * @return 1, or 0 if the workout does not exist
+	 */
+	@Modifying
+	@Query("update Workout w set w.version = w.version + 1, w.updatedAt = local datetime where w.id = :id")
+	int touch(@Param("id") int id);
+
+	/**
+	 * Refreshes the member name copied into every workout of a member, in one
+	 * statement.
+	 */
+	@Modifying
+	@Query("update Workout w set w.memberFirstName = :firstName, w.memberLastName = :lastName, "
+			+ "w.version = w.version + 1, w.updatedAt = local datetime where w.memberId = :memberId")
+	int updateMemberNames(@Param("memberId") int memberId, @Param("firstName") String firstName,
+			@Param("lastName") String lastName);
+
+	/**
+	 * Keyset page: the next {@code limit} workouts after the given id, in id
+	 * order. Uses the primary key index, so the cost does not grow with the
+	 * cursor position the way OFFSET paging does.
+	 */
+	List<Workout> findByIdGreaterThanOrderByIdAsc(int afterId, Limit limit);
+
+	/**
+	 * Streams every workout in id order. Must be consumed inside a transaction;
+	 * rows are fetched from a server-side cursor in chunks of the fetch size.
+	 */
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+	Stream<Workout> streamAllByOrderByIdAsc();
 }
@@ -0,0 +1,159 @@
+package com.gym.management.fitness.seed;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk-loads realistic workout volumes for benchmarking: an exercise catalog,
+ * {@code seed.workouts-per-member} workouts for each member listed in
+ * {@code seed.members-file} and {@code seed.sets-per-workout} workout exercises
+ * per workout. The file is written by the member service's seeder, so the
+ * workouts belong to members that exist and carry their names; with its
+ * default 1M members this produces 50M workout exercises. Rows are written
+ * with plain JDBC batches and explicit ids; the workout exercise sequence is
+ * moved past them at the end.
+ *
+ * Run with {@code --spring.profiles.active=seed} after seeding the member
+ * service.
+ */
+@Component
+@Profile("seed")
+public class WorkoutSeeder implements CommandLineRunner {
+	private static final Logger logger = LoggerFactory.getLogger(WorkoutSeeder.class);
+
+	private static final String[][] CATALOG = { { "Push Up", "Strength", "Chest" },
+			{ "Bench Press", "Strength", "Chest" }, { "Squat", "Strength", "Legs" }, { "Deadlift", "Strength", "Back" },
+			{ "Pull Up", "Strength", "Back" }, { "Overhead Press", "Strength", "Shoulders" },
+			{ "Lunge", "Strength", "Legs" }, { "Plank", "Core", "Abs" }, { "Rowing", "Cardio", "Full Body" },
+			{ "Cycling", "Cardio", "Legs" }, { "Bicep Curl", "Strength", "Arms" },
+			{ "Tricep Dip", "Strength", "Arms" } };
+
+	private static final String INSERT_EXERCISE = "INSERT INTO exercises (name, category, muscle_group, created_at) "
+			+ "VALUES (?, ?, ?, ?)";
+	private static final String INSERT_WORKOUT = "INSERT INTO workouts "
+			+ "(id, member_id, member_first_name, member_last_name, workout_name, workout_date, notes, created_at) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+	private static final String INSERT_WORKOUT_EXERCISE = "INSERT INTO workout_exercises "
+			+ "(id, workout_id, exercise_id, sets, reps, weight, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Path membersFile;
+	private final int workoutsPerMember;
+	private final int setsPerWorkout;
+	private final int batchSize;
+	private final long randomSeed;
+
+	public WorkoutSeeder(JdbcTemplate jdbcTemplate, @Value("${seed.members-file:seed-members.csv}") Path membersFile,
+			@Value("${seed.workouts-per-member:5}") int workoutsPerMember,
+			@Value("${seed.sets-per-workout:10}") int setsPerWorkout,
+			@Value("${seed.batch-size:5000}") int batchSize, @Value("${seed.random-seed:42}") long randomSeed) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.membersFile = membersFile;
+		this.workoutsPerMember = workoutsPerMember;
+		this.setsPerWorkout = setsPerWorkout;
+		this.batchSize = batchSize;
+		this.randomSeed = randomSeed;
+	}
+
+	@Override
+	public void run(String... args) throws IOException {
+		List<Integer> exerciseIds = seedCatalog();
+		Random random = new Random(randomSeed);
+		long started = System.nanoTime();
+
+		int workoutId = maxId("workouts");
+		int workoutExerciseId = maxId("workout_exercises");
+		List<Object[]> workoutRows = new ArrayList<>(batchSize);
+		List<Object[]> workoutExerciseRows = new ArrayList<>(batchSize);
+
+		int members = 0;
+		try (BufferedReader membersReader = openMembersFile()) {
+			String line;
+			while ((line = membersReader.readLine()) != null) {
+				String[] member = line.split(",");
+				int memberId = Integer.parseInt(member[0]);
+				members++;
+				for (int w = 0; w < workoutsPerMember; w++) {
+					LocalDateTime workoutDate = LocalDateTime.now().minusDays(random.nextInt(3 * 365))
+							.minusMinutes(random.nextInt(24 * 60));
+					Timestamp timestamp = Timestamp.valueOf(workoutDate);
+					workoutRows.add(new Object[] { ++workoutId, memberId, member[1], member[2],
+							"Workout " + (w + 1), timestamp, null, timestamp });
+
+					for (int s = 0; s < setsPerWorkout; s++) {
+						workoutExerciseRows.add(new Object[] { ++workoutExerciseId, workoutId,
+								exerciseIds.get(random.nextInt(exerciseIds.size())), 3 + random.nextInt(3),
+								5 + random.nextInt(11), 2.5 * random.nextInt(60), timestamp });
+					}
+				}
+
+				if (workoutExerciseRows.size() >= batchSize) {
+					flush(workoutRows, workoutExerciseRows);
+				}
+				if (members % 100_000 == 0) {
+					logger.info("Seeded workouts for {} members", members);
+				}
+			}
+		}
+		flush(workoutRows, workoutExerciseRows);
+
+		jdbcTemplate.update("UPDATE workout_exercises_seq SET next_val = ?", workoutExerciseId + 50);
+
+		long rows = (long) members * workoutsPerMember * (1 + setsPerWorkout);
+		long seconds = Math.max(1, (System.nanoTime() - started) / 1_000_000_000L);
+		logger.info("Seeded {} rows in {}s ({} rows/s)", rows, seconds, rows / seconds);
+	}
+
+	private BufferedReader openMembersFile() throws IOException {
+		try {
+			return Files.newBufferedReader(membersFile);
+		} catch (NoSuchFileException e) {
+			throw new IllegalStateException("No seeded members in " + membersFile.toAbsolutePath()
+					+ "; seed the member service first and point seed.members-file at its output", e);
+		}
+	}
+
+	private List<Integer> seedCatalog() {
+		Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM exercises", Integer.class);
+		if (existing == 0) {
+			List<Object[]> rows = new ArrayList<>();
+			Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+			for (String[] exercise : CATALOG) {
+				rows.add(new Object[] { exercise[0], exercise[1], exercise[2], now });
+			}
+			jdbcTemplate.batchUpdate(INSERT_EXERCISE, rows);
+		}
+		return jdbcTemplate.queryForList("SELECT id FROM exercises", Integer.class);
+	}
+
+	private int maxId(String table) {
+		return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Integer.class);
+	}
+
+	private void flush(List<Object[]> workoutRows, List<Object[]> workoutExerciseRows) {
+		if (!workoutRows.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_WORKOUT, workoutRows);
+			workoutRows.clear();
+		}
+		if (!workoutExerciseRows.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_WORKOUT_EXERCISE, workoutExerciseRows);
+			workoutExerciseRows.clear();
+		}
+	}
+}
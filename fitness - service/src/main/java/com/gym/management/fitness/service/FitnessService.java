@@ -1,9 +1,18 @@
 package com.gym.management.fitness.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+
+import com.gym.management.common.dto.ResourceStamp;
+import com.gym.management.fitness.dto.BulkWorkoutRequest;
+import com.gym.management.fitness.dto.ExerciseRemovalDTO;
+import com.gym.management.fitness.dto.PurgeJobDTO;
+import com.gym.management.fitness.dto.WorkoutExerciseDTO;
+import com.gym.management.fitness.dto.WorkoutHistoryDTO;
+import com.gym.management.fitness.dto.WorkoutPage;
+import com.gym.management.fitness.exception.ResourceNotFoundException;
 import com.gym.management.fitness.models.Exercise;
 import com.gym.management.fitness.models.Workout;
-import com.gym.management.fitness.exception.ResourceNotFoundException;
 
 /**
  * Service interface for managing fitness-related operations. Defines methods
@@ -16,22 +25,47 @@ public interface FitnessService {
 	 */
 	Workout createWorkout(int memberId, String workoutName) throws ResourceNotFoundException;
 
+	/**
+	 * Creates a workout together with all of its exercises.
+	 */
+	Workout createWorkoutWithExercises(BulkWorkoutRequest request) throws ResourceNotFoundException;
+
 	/**
 	 * Adds an exercise to a workout.
 	 */
-	Workout addExerciseToWorkout(int workoutId, int exerciseId, Integer sets, Integer reps, Double weight)
+	WorkoutExerciseDTO addExerciseToWorkout(int workoutId, int exerciseId, Integer sets, Integer reps, Double weight)
 			throws ResourceNotFoundException;
 
 	/**
 	 * Adds an exercise to a workout.
 	 */
-	List<Workout> getMemberWorkouts(int memberId) throws ResourceNotFoundException;
+	List<Workout> getMemberWorkouts(int memberId);
+
+	/**
+	 * Retrieves the version stamp of a member's workouts.
+	 */
+	ResourceStamp getMemberWorkoutsStamp(int memberId);
+
+	/**
+	 * Retrieves a member's workout history as a flat read model.
+	 */
+	List<WorkoutHistoryDTO> getMemberWorkoutHistory(int memberId);
 
 	/**
 	 * Deletes workouts for a member.
 	 */
 	void deleteMemberWorkouts(int memberId) throws ResourceNotFoundException;
 
+	/**
+	 * Starts deleting workouts for a member in the background.
+	 */
+	PurgeJobDTO startMemberWorkoutsPurge(int memberId);
+
+	/**
+	 * Retrieves the progress of a background workout purge.
+	 */
+	PurgeJobDTO getPurgeJob(String jobId) throws ResourceNotFoundException;
+
 	/**
 	 * Creates an exercise.
 	 */
@@ -43,12 +77,23 @@ public interface FitnessService {
 	List<Exercise> getAllExercises();
 
 	/**
-	 * Retrieves all workouts.
+	 * Reads what a conditional GET of the exercise catalog needs, without
+	 * loading it.
+	 */
+	ResourceStamp getExercisesStamp();
+
+	/**
+	 * Retrieves one keyset page of workouts after the given cursor.
+	 */
+	WorkoutPage getWorkouts(int afterId, int size);
+
+	/**
+	 * Streams all workouts to the consumer without holding them in memory.
 	 */
-	List<Workout> getAllWorkouts();
+	void streamAllWorkouts(Consumer<Workout> consumer);
 
 	/**
 	 * Removes an exercise from a workout.
 	 */
-	Workout removeExerciseFromWorkout(int workoutId, int exerciseId) throws ResourceNotFoundException;
+	ExerciseRemovalDTO removeExerciseFromWorkout(int workoutId, int exerciseId) throws ResourceNotFoundException;
 }
\ No newline at end of file
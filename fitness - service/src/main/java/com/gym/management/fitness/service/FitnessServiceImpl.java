@@ -1,20 +1,43 @@
 package com.gym.management.fitness.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import com.gym.management.common.dto.ResourceStamp;
+import com.gym.management.fitness.client.MemberClient;
+import com.gym.management.fitness.dto.BulkWorkoutRequest;
+import com.gym.management.fitness.dto.ExerciseRemovalDTO;
+import com.gym.management.fitness.dto.ExerciseSetDTO;
 import com.gym.management.fitness.dto.MemberDTO;
+import com.gym.management.fitness.dto.PurgeJobDTO;
+import com.gym.management.fitness.dto.WorkoutExerciseDTO;
+import com.gym.management.fitness.dto.WorkoutExerciseRow;
+import com.gym.management.fitness.dto.WorkoutHistoryDTO;
+import com.gym.management.fitness.dto.WorkoutPage;
+import com.gym.management.fitness.exception.BatchTooLargeException;
 import com.gym.management.fitness.exception.ResourceNotFoundException;
 import com.gym.management.fitness.models.Exercise;
 import com.gym.management.fitness.models.Workout;
 import com.gym.management.fitness.models.WorkoutExercise;
 import com.gym.management.fitness.repository.ExerciseRepository;
+import com.gym.management.fitness.repository.MemberReplicaRepository;
+import com.gym.management.fitness.repository.WorkoutExerciseRepository;
 import com.gym.management.fitness.repository.WorkoutRepository;
 
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
@@ -28,37 +51,53 @@ import lombok.RequiredArgsConstructor;
 public class FitnessServiceImpl implements FitnessService {
 	private final WorkoutRepository workoutRepository;
 	private final ExerciseRepository exerciseRepository;
-	private static final String MEMBER_SERVICE_URL = "http://localhost:8082/members/get/";
-	private final RestTemplate restTemplate;
+	private final WorkoutExerciseRepository workoutExerciseRepository;
+	private final MemberWorkoutPurger memberWorkoutPurger;
+	private static final int MAX_PAGE_SIZE = 500;
+	private static final int MAX_BULK_EXERCISES = 500;
+	private final MemberClient memberClient;
+	private final MemberReplicaRepository memberReplicaRepository;
+	private final EntityManager entityManager;
 
 	/**
 	 * Constructor for FitnessServiceImpl.
 	 * 
-	 * @param restTemplate       RestTemplate for making HTTP requests.
+	 * @param memberClient       Client for cached member lookups.
+	 * @param memberReplicaRepository Local member replica, kept up to date from
+	 *                                the member event stream.
 	 * @param workoutRepository  Repository for managing Workout entities.
 	 * @param exerciseRepository Repository for managing Exercise entities.
+	 * @param workoutExerciseRepository Repository for managing WorkoutExercise
+	 *                                  entities.
+	 * @param memberWorkoutPurger       Background purger for large histories.
+	 * @param entityManager      EntityManager used to detach streamed workouts.
 	 */
 	@Autowired
-	public FitnessServiceImpl(RestTemplate restTemplate, WorkoutRepository workoutRepository,
-			ExerciseRepository exerciseRepository) {
-		this.restTemplate = restTemplate;
+	public FitnessServiceImpl(MemberClient memberClient, MemberReplicaRepository memberReplicaRepository,
+			WorkoutRepository workoutRepository, ExerciseRepository exerciseRepository,
+			WorkoutExerciseRepository workoutExerciseRepository, MemberWorkoutPurger memberWorkoutPurger,
+			EntityManager entityManager) {
+		this.memberClient = memberClient;
+		this.memberReplicaRepository = memberReplicaRepository;
 		this.workoutRepository = workoutRepository;
 		this.exerciseRepository = exerciseRepository;
+		this.workoutExerciseRepository = workoutExerciseRepository;
+		this.memberWorkoutPurger = memberWorkoutPurger;
+		this.entityManager = entityManager;
 	}
 
 	/**
-	 * Creates a new workout for a member.
+	 * Creates a new workout for a member. The member is looked up before any
+	 * database work starts, so a slow member service never holds a connection.
 	 * 
 	 * @param memberId    ID of the member.
 	 * @param workoutName Name of the workout.
 	 * @return The created Workout entity.
 	 * @throws ResourceNotFoundException if the member is not found.
 	 */
-	@Transactional
 	@Override
 	public Workout createWorkout(int memberId, String workoutName) {
-		String memberServiceUrl = MEMBER_SERVICE_URL + memberId;
-		MemberDTO memberDTO = restTemplate.getForObject(memberServiceUrl, MemberDTO.class);
+		MemberDTO memberDTO = findMember(memberId);
 
 		if (memberDTO == null) {
 			throw new ResourceNotFoundException("Member not found for ID " + memberId);
@@ -74,72 +113,191 @@ public class FitnessServiceImpl implements FitnessService {
 	}
 
 	/**
-	 * Adds an exercise to an existing workout.
+	 * Creates a workout with all of its exercises in one transaction. The
+	 * exercise catalog entries are resolved with a single query, and the
+	 * workout exercises are written as JDBC batches. The member lookup happens
+	 * outside the transaction; the workout and its exercises are written by the
+	 * single cascading save.
+	 * 
+	 * @param request The workout and its exercise sets.
+	 * @return The created Workout entity.
+	 * @throws BatchTooLargeException    if the request carries more than
+	 *                                   MAX_BULK_EXERCISES exercise sets.
+	 * @throws ResourceNotFoundException if the member or an exercise is not found.
+	 */
+	@Override
+	public Workout createWorkoutWithExercises(BulkWorkoutRequest request) {
+		if (request.getExercises().size() > MAX_BULK_EXERCISES) {
+			throw new BatchTooLargeException(
+					"At most " + MAX_BULK_EXERCISES + " exercise sets can be created at once");
+		}
+
+		MemberDTO memberDTO = findMember(request.getMemberId());
+
+		if (memberDTO == null) {
+			throw new ResourceNotFoundException("Member not found for ID " + request.getMemberId());
+		}
+
+		Set<Integer> exerciseIds = new HashSet<>();
+		request.getExercises().forEach(set -> exerciseIds.add(set.getExerciseId()));
+		Map<Integer, Exercise> exercises = exerciseRepository.findAllById(exerciseIds).stream()
+				.collect(Collectors.toMap(Exercise::getId, Function.identity()));
+
+		Workout workout = new Workout();
+		workout.setMemberId(memberDTO.getId());
+		workout.setMemberFirstName(memberDTO.getFirstName());
+		workout.setMemberLastName(memberDTO.getLastName());
+		workout.setWorkoutName(request.getWorkoutName());
+		workout.setWorkoutDate(request.getWorkoutDate() != null ? request.getWorkoutDate() : LocalDateTime.now());
+		workout.setNotes(request.getNotes());
+
+		for (ExerciseSetDTO set : request.getExercises()) {
+			Exercise exercise = exercises.get(set.getExerciseId());
+			if (exercise == null) {
+				throw new ResourceNotFoundException("Exercise not found with id: " + set.getExerciseId());
+			}
+
+			WorkoutExercise workoutExercise = new WorkoutExercise();
+			workoutExercise.setWorkout(workout);
+			workoutExercise.setExercise(exercise);
+			workoutExercise.setSets(set.getSets());
+			workoutExercise.setReps(set.getReps());
+			workoutExercise.setWeight(set.getWeight());
+			workout.getExercises().add(workoutExercise);
+		}
+
+		return workoutRepository.save(workout);
+	}
+
+	/**
+	 * Adds an exercise to an existing workout. Only the new WorkoutExercise row
+	 * is inserted and the workout's version bumped; the workout and its other
+	 * exercises are neither loaded nor merged.
 	 * 
 	 * @param workoutId  ID of the workout.
 	 * @param exerciseId ID of the exercise.
 	 * @param sets       Number of sets.
 	 * @param reps       Number of repetitions.
 	 * @param weight     Weight used.
-	 * @return The updated Workout entity.
+	 * @return The added workout exercise.
 	 * @throws ResourceNotFoundException if the workout or exercise is not found.
 	 */
 	@Transactional
 	@Override
-	public Workout addExerciseToWorkout(int workoutId, int exerciseId, Integer sets, Integer reps, Double weight) {
-		Workout workout = workoutRepository.findById(workoutId)
-				.orElseThrow(() -> new ResourceNotFoundException("Workout not found with id: " + workoutId));
+	public WorkoutExerciseDTO addExerciseToWorkout(int workoutId, int exerciseId, Integer sets, Integer reps,
+			Double weight) {
+		if (workoutRepository.touch(workoutId) == 0) {
+			throw new ResourceNotFoundException("Workout not found with id: " + workoutId);
+		}
 
 		Exercise exercise = exerciseRepository.findById(exerciseId)
 				.orElseThrow(() -> new ResourceNotFoundException("Exercise not found with id: " + exerciseId));
 
 		WorkoutExercise workoutExercise = new WorkoutExercise();
-		workoutExercise.setWorkout(workout);
+		workoutExercise.setWorkout(workoutRepository.getReferenceById(workoutId));
 		workoutExercise.setExercise(exercise);
 		workoutExercise.setSets(sets);
 		workoutExercise.setReps(reps);
 		workoutExercise.setWeight(weight);
+		workoutExercise = workoutExerciseRepository.save(workoutExercise);
 
-		workout.getExercises().add(workoutExercise);
-		return workoutRepository.save(workout);
+		return new WorkoutExerciseDTO(workoutExercise.getId(), exercise.getId(), exercise.getName(), sets, reps,
+				weight);
 	}
 
 	/**
-	 * Retrieves all workouts for a specific member.
+	 * Retrieves all workouts for a specific member. Member names are kept
+	 * current in the workouts by the member event stream, so this is a purely
+	 * local read.
 	 * 
 	 * @param memberId ID of the member.
-	 * @return List of Workout entities.
-	 * @throws ResourceNotFoundException if the member is not found.
+	 * @return List of Workout entities, empty if the member has none.
 	 */
 	@Override
 	public List<Workout> getMemberWorkouts(int memberId) {
-		String memberServiceUrl = MEMBER_SERVICE_URL + memberId;
-		MemberDTO memberDTO = restTemplate.getForObject(memberServiceUrl, MemberDTO.class);
+		return workoutRepository.findByMemberId(memberId);
+	}
 
-		if (memberDTO == null) {
-			throw new ResourceNotFoundException("Member not found for ID " + memberId);
-		}
+	/**
+	 * Retrieves the version stamp of a member's workouts with one aggregate
+	 * query. Every change to a workout or its exercises bumps its version.
+	 * 
+	 * @param memberId ID of the member.
+	 * @return The stamp, with a count of 0 if the member has no workouts.
+	 */
+	@Override
+	public ResourceStamp getMemberWorkoutsStamp(int memberId) {
+		return workoutRepository.findStampByMemberId(memberId);
+	}
 
-		List<Workout> workouts = workoutRepository.findByMemberId(memberId);
+	/**
+	 * Retrieves a member's workout history, newest first, with the name of each
+	 * exercise. The history is assembled from one flat query, so the number of
+	 * statements does not depend on how many workouts or sets the member has.
+	 * 
+	 * @param memberId ID of the member.
+	 * @return List of workout history entries.
+	 */
+	@Override
+	public List<WorkoutHistoryDTO> getMemberWorkoutHistory(int memberId) {
+		Map<Integer, WorkoutHistoryDTO> history = new LinkedHashMap<>();
+
+		for (WorkoutExerciseRow row : workoutRepository.findHistoryRowsByMemberId(memberId)) {
+			WorkoutHistoryDTO workout = history.computeIfAbsent(row.getWorkoutId(),
+					id -> new WorkoutHistoryDTO(id, row.getWorkoutName(), row.getWorkoutDate(), row.getNotes(),
+							new ArrayList<>()));
 
-		for (Workout workout : workouts) {
-			workout.setMemberFirstName(memberDTO.getFirstName());
-			workout.setMemberLastName(memberDTO.getLastName());
+			if (row.getWorkoutExerciseId() != null) {
+				workout.getExercises().add(new WorkoutExerciseDTO(row.getWorkoutExerciseId(), row.getExerciseId(),
+						row.getExerciseName(), row.getSets(), row.getReps(), row.getWeight()));
+			}
 		}
 
-		return workouts;
+		return new ArrayList<>(history.values());
 	}
 
 	/**
-	 * Deletes all workouts for a specific member.
+	 * Deletes all workouts for a specific member with two set-based statements:
+	 * one for the workout exercises and one for the workouts. Nothing is loaded
+	 * into memory.
 	 * 
 	 * @param memberId ID of the member.
 	 */
+	@Transactional
 	@Override
 	public void deleteMemberWorkouts(int memberId) {
-		List<Workout> memberWorkouts = workoutRepository.findByMemberId(memberId);
-		workoutRepository.deleteAll(memberWorkouts);
+		workoutExerciseRepository.deleteByMemberId(memberId);
+		workoutRepository.deleteAllByMemberIdInBulk(memberId);
+	}
+
+	/**
+	 * Starts deleting all workouts for a member in the background, in chunks.
+	 * 
+	 * @param memberId ID of the member.
+	 * @return The initial progress of the purge job.
+	 */
+	@Override
+	public PurgeJobDTO startMemberWorkoutsPurge(int memberId) {
+		String jobId = memberWorkoutPurger.register(memberId);
+		memberWorkoutPurger.purge(jobId);
+		return memberWorkoutPurger.getJob(jobId);
+	}
+
+	/**
+	 * Retrieves the progress of a background workout purge.
+	 * 
+	 * @param jobId ID of the purge job.
+	 * @return The progress of the purge job.
+	 * @throws ResourceNotFoundException if the job is not found.
+	 */
+	@Override
+	public PurgeJobDTO getPurgeJob(String jobId) {
+		PurgeJobDTO job = memberWorkoutPurger.getJob(jobId);
 
+		if (job == null) {
+			throw new ResourceNotFoundException("Purge job not found with id: " + jobId);
+		}
+		return job;
 	}
 
 	/**
@@ -154,41 +312,92 @@ public class FitnessServiceImpl implements FitnessService {
 	}
 
 	/**
-	 * Retrieves all exercises.
+	 * Retrieves all exercises, served from the query cache after the first call.
 	 * 
-	 * @return List of Exercise entities.
+	 * @return List of Exercise entities, ordered by ID.
 	 */
 	@Override
 	public List<Exercise> getAllExercises() {
-		return exerciseRepository.findAll();
+		return exerciseRepository.findCatalog();
+	}
+
+	/**
+	 * Reads the exercise catalog's stamp.
+	 * 
+	 * @return the number of exercises, their version sum and latest change
+	 */
+	@Override
+	public ResourceStamp getExercisesStamp() {
+		return exerciseRepository.findCatalogStamp();
+	}
+
+	/**
+	 * Retrieves one keyset page of workouts ordered by id.
+	 * 
+	 * @param afterId Cursor returned by the previous page, or 0 for the first page.
+	 * @param size    Requested page size, clamped to 1..MAX_PAGE_SIZE.
+	 * @return The page of workouts and the cursor for the next page.
+	 */
+	@Override
+	public WorkoutPage getWorkouts(int afterId, int size) {
+		int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+		List<Workout> workouts = workoutRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize));
+
+		Integer nextCursor = workouts.size() < pageSize ? null : workouts.get(workouts.size() - 1).getId();
+		return new WorkoutPage(workouts, nextCursor);
 	}
 
 	/**
-	 * Retrieves all workouts.
+	 * Streams all workouts in id order. Each workout is detached once the
+	 * consumer has handled it, so the persistence context stays small no matter
+	 * how many rows the cursor walks over.
 	 * 
-	 * @return List of Workout entities.
+	 * @param consumer Callback invoked once per workout.
 	 */
+	@Transactional
 	@Override
-	public List<Workout> getAllWorkouts() {
-		return workoutRepository.findAll();
+	public void streamAllWorkouts(Consumer<Workout> consumer) {
+		try (Stream<Workout> workouts = workoutRepository.streamAllByOrderByIdAsc()) {
+			workouts.forEach(workout -> {
+				consumer.accept(workout);
+				entityManager.detach(workout);
+			});
+		}
 	}
 
 	/**
-	 * Removes an exercise from a workout.
+	 * Removes an exercise from a workout with a single DELETE on the workout
+	 * exercises table, bumping the workout's version if any set was removed.
 	 * 
 	 * @param workoutId  ID of the workout.
 	 * @param exerciseId ID of the exercise to be removed.
-	 * @return The updated Workout entity.
+	 * @return The number of sets that were removed.
 	 * @throws ResourceNotFoundException if the workout is not found.
 	 */
 	@Transactional
 	@Override
-	public Workout removeExerciseFromWorkout(int workoutId, int exerciseId) {
-		Workout workout = workoutRepository.findById(workoutId)
-				.orElseThrow(() -> new ResourceNotFoundException("Workout not found with id: " + workoutId));
+	public ExerciseRemovalDTO removeExerciseFromWorkout(int workoutId, int exerciseId) {
+		int removedSets = workoutExerciseRepository.deleteByWorkoutIdAndExerciseId(workoutId, exerciseId);
 
-		workout.getExercises().removeIf(we -> we.getExercise().getId() == exerciseId);
+		if (removedSets > 0) {
+			workoutRepository.touch(workoutId);
+		} else if (!workoutRepository.existsById(workoutId)) {
+			throw new ResourceNotFoundException("Workout not found with id: " + workoutId);
+		}
 
-		return workoutRepository.save(workout);
+		return new ExerciseRemovalDTO(workoutId, exerciseId, removedSets);
+	}
+
+	/**
+	 * Looks a member up in the local replica, falling back to the member
+	 * service for members the event stream has not delivered yet.
+	 * 
+	 * @param memberId ID of the member.
+	 * @return The member, or null if it does not exist.
+	 */
+	private MemberDTO findMember(int memberId) {
+		return memberReplicaRepository.findById(memberId)
+				.map(replica -> new MemberDTO(replica.getMemberId(), replica.getFirstName(), replica.getLastName()))
+				.orElseGet(() -> memberClient.getMember(memberId));
 	}
 }
\ No newline at end of file
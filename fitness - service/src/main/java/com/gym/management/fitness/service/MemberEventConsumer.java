@@ -0,0 +1,153 @@
+package com.gym.management.fitness.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.gym.management.fitness.client.MemberClient;
+import com.gym.management.fitness.dto.MemberDTO;
+import com.gym.management.fitness.dto.MemberEventDTO;
+import com.gym.management.fitness.models.EventOffset;
+import com.gym.management.fitness.models.MemberReplica;
+import com.gym.management.fitness.repository.EventOffsetRepository;
+import com.gym.management.fitness.repository.MemberReplicaRepository;
+import com.gym.management.fitness.repository.WorkoutExerciseRepository;
+import com.gym.management.fitness.repository.WorkoutRepository;
+
+/**
+ * Follows the member service's event stream ({@code GET /events}) and keeps
+ * the member replica, and the member names copied into workouts, up to date.
+ * When a member is deleted, its replica and its workouts are deleted too.
+ * Each batch of events is applied in one transaction together with the new
+ * offset, so a crash or redelivery never applies an event twice.
+ */
+@Component
+@ConditionalOnProperty(name = "member-events.enabled", havingValue = "true", matchIfMissing = true)
+public class MemberEventConsumer {
+	static final String CONSUMER = "fitness-service.members";
+
+	private static final Logger logger = LoggerFactory.getLogger(MemberEventConsumer.class);
+	private static final ParameterizedTypeReference<List<MemberEventDTO>> EVENT_LIST = new ParameterizedTypeReference<>() {
+	};
+
+	private final WebClient webClient;
+	private final MemberReplicaRepository memberReplicaRepository;
+	private final EventOffsetRepository eventOffsetRepository;
+	private final WorkoutRepository workoutRepository;
+	private final WorkoutExerciseRepository workoutExerciseRepository;
+	private final MemberClient memberClient;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+	private final Duration callTimeout;
+
+	public MemberEventConsumer(WebClient memberServiceWebClient, MemberReplicaRepository memberReplicaRepository,
+			EventOffsetRepository eventOffsetRepository, WorkoutRepository workoutRepository,
+			WorkoutExerciseRepository workoutExerciseRepository, MemberClient memberClient, PlatformTransactionManager transactionManager,
+			@Value("${member-events.batch-size:200}") int batchSize,
+			@Value("${member-client.call-timeout-ms:3000}") long callTimeoutMillis) {
+		this.webClient = memberServiceWebClient;
+		this.memberReplicaRepository = memberReplicaRepository;
+		this.eventOffsetRepository = eventOffsetRepository;
+		this.workoutRepository = workoutRepository;
+		this.workoutExerciseRepository = workoutExerciseRepository;
+		this.memberClient = memberClient;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+		this.callTimeout = Duration.ofMillis(callTimeoutMillis);
+	}
+
+	/**
+	 * Reads and applies batches until the stream is drained.
+	 */
+	@Scheduled(fixedDelayString = "${member-events.poll-interval-ms:1000}")
+	public void poll() {
+		try {
+			List<MemberEventDTO> events;
+			do {
+				long offset = eventOffsetRepository.findById(CONSUMER).map(EventOffset::getLastEventId).orElse(0L);
+				events = fetch(offset);
+				if (!events.isEmpty()) {
+					apply(events);
+				}
+			} while (events.size() == batchSize);
+		} catch (RuntimeException e) {
+			logger.warn("Could not consume member events: {}", e.getMessage());
+		}
+	}
+
+	private List<MemberEventDTO> fetch(long offset) {
+		List<MemberEventDTO> events = webClient.get()
+				.uri(uri -> uri.path("/events")
+						.queryParam("after", offset)
+						.queryParam("aggregateType", "member")
+						.queryParam("limit", batchSize)
+						.build())
+				.retrieve()
+				.bodyToMono(EVENT_LIST)
+				.block(callTimeout);
+		return events == null ? List.of() : events;
+	}
+
+	/**
+	 * Applies a batch of events and advances the offset in one transaction,
+	 * then evicts the changed members from the lookup cache.
+	 *
+	 * @param events the events, oldest first
+	 */
+	void apply(List<MemberEventDTO> events) {
+		List<Integer> changed = new ArrayList<>();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			for (MemberEventDTO event : events) {
+				if (applyEvent(event)) {
+					changed.add(event.getAggregateId());
+				}
+			}
+			eventOffsetRepository.save(new EventOffset(CONSUMER, events.get(events.size() - 1).getId()));
+		});
+
+		changed.forEach(memberClient::evict);
+	}
+
+	private boolean applyEvent(MemberEventDTO event) {
+		int memberId = event.getAggregateId();
+
+		switch (event.getEventType()) {
+		case "MemberCreated", "MemberUpdated" -> {
+			MemberDTO member = event.getPayload();
+			MemberReplica replica = memberReplicaRepository.findById(memberId).orElseGet(MemberReplica::new);
+			if (replica.getLastEventId() >= event.getId()) {
+				return false;
+			}
+			replica.setMemberId(memberId);
+			replica.setFirstName(member.getFirstName());
+			replica.setLastName(member.getLastName());
+			replica.setLastEventId(event.getId());
+			replica.setUpdatedAt(event.getCreatedAt());
+			memberReplicaRepository.save(replica);
+			workoutRepository.updateMemberNames(memberId, member.getFirstName(), member.getLastName());
+			return true;
+		}
+		case "MemberDeleted" -> {
+			memberReplicaRepository.deleteById(memberId);
+			workoutExerciseRepository.deleteByMemberId(memberId);
+			workoutRepository.deleteAllByMemberIdInBulk(memberId);
+			return true;
+		}
+		default -> {
+			return false;
+		}
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package com.gym.management.fitness.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gym.management.fitness.dto.PurgeJobDTO;
+import com.gym.management.fitness.dto.PurgeJobDTO.PurgeStatus;
+import com.gym.management.fitness.repository.WorkoutExerciseRepository;
+import com.gym.management.fitness.repository.WorkoutRepository;
+
+/**
+ * Deletes very large workout histories in the background. Workouts are
+ * removed in chunks of {@code fitness.purge.chunk-size}, each chunk in its own
+ * short transaction, so locks are never held for the whole history. Progress
+ * is kept in memory and finished jobs are forgotten after an hour.
+ */
+@Component
+public class MemberWorkoutPurger {
+	private static final long FINISHED_JOB_RETENTION_MINUTES = 60;
+
+	private final WorkoutRepository workoutRepository;
+	private final WorkoutExerciseRepository workoutExerciseRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final int chunkSize;
+	private final Map<String, PurgeJob> jobs = new ConcurrentHashMap<>();
+
+	public MemberWorkoutPurger(WorkoutRepository workoutRepository,
+			WorkoutExerciseRepository workoutExerciseRepository, PlatformTransactionManager transactionManager,
+			@Value("${fitness.purge.chunk-size:1000}") int chunkSize) {
+		this.workoutRepository = workoutRepository;
+		this.workoutExerciseRepository = workoutExerciseRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Registers a new purge job for a member.
+	 *
+	 * @param memberId the ID of the member
+	 * @return the job ID
+	 */
+	public String register(int memberId) {
+		jobs.values().removeIf(PurgeJob::isExpired);
+
+		String jobId = UUID.randomUUID().toString();
+		jobs.put(jobId, new PurgeJob(jobId, memberId));
+		return jobId;
+	}
+
+	/**
+	 * Runs a registered purge job chunk by chunk.
+	 *
+	 * @param jobId the ID returned by {@link #register(int)}
+	 */
+	@Async
+	public void purge(String jobId) {
+		PurgeJob job = jobs.get(jobId);
+
+		try {
+			List<Integer> workoutIds;
+			do {
+				workoutIds = workoutRepository.findIdsByMemberId(job.memberId, Limit.of(chunkSize));
+				if (!workoutIds.isEmpty()) {
+					deleteChunk(job, workoutIds);
+				}
+			} while (workoutIds.size() == chunkSize);
+			job.finish(PurgeStatus.COMPLETED, null);
+		} catch (RuntimeException e) {
+			job.finish(PurgeStatus.FAILED, e.getMessage());
+		}
+	}
+
+	/**
+	 * Retrieves the progress of a purge job.
+	 *
+	 * @param jobId the ID of the job
+	 * @return the job progress, or null if the job is unknown
+	 */
+	public PurgeJobDTO getJob(String jobId) {
+		PurgeJob job = jobs.get(jobId);
+		return job == null ? null : job.toDTO();
+	}
+
+	private void deleteChunk(PurgeJob job, List<Integer> workoutIds) {
+		transactionTemplate.executeWithoutResult(status -> {
+			job.deletedExercises.addAndGet(workoutExerciseRepository.deleteByWorkoutIdIn(workoutIds));
+			job.deletedWorkouts.addAndGet(workoutRepository.deleteAllByIdInBulk(workoutIds));
+		});
+	}
+
+	private static final class PurgeJob {
+		private final String jobId;
+		private final int memberId;
+		private final LocalDateTime startedAt = LocalDateTime.now();
+		private final AtomicLong deletedWorkouts = new AtomicLong();
+		private final AtomicLong deletedExercises = new AtomicLong();
+		private volatile PurgeStatus status = PurgeStatus.RUNNING;
+		private volatile LocalDateTime finishedAt;
+		private volatile String error;
+
+		private PurgeJob(String jobId, int memberId) {
+			this.jobId = jobId;
+			this.memberId = memberId;
+		}
+
+		private void finish(PurgeStatus finalStatus, String failure) {
+			error = failure;
+			finishedAt = LocalDateTime.now();
+			status = finalStatus;
+		}
+
+		private boolean isExpired() {
+			LocalDateTime finished = finishedAt;
+			return finished != null
+					&& finished.isBefore(LocalDateTime.now().minusMinutes(FINISHED_JOB_RETENTION_MINUTES));
+		}
+
+		private PurgeJobDTO toDTO() {
+			return new PurgeJobDTO(jobId, memberId, status, deletedWorkouts.get(), deletedExercises.get(), startedAt,
+					finishedAt, error);
+		}
+	}
+}
@@ -0,0 +1,35 @@
+-- Baseline schema, as previously generated by Hibernate. IF NOT EXISTS lets
+-- databases created before migrations were introduced pass through unchanged.
+CREATE TABLE IF NOT EXISTS exercises (
+    id           INT          NOT NULL AUTO_INCREMENT,
+    name         VARCHAR(255) NOT NULL,
+    category     VARCHAR(255),
+    muscle_group VARCHAR(255),
+    created_at   DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS workouts (
+    id                INT          NOT NULL AUTO_INCREMENT,
+    member_id         INT          NOT NULL,
+    member_first_name VARCHAR(255),
+    member_last_name  VARCHAR(255),
+    workout_name      VARCHAR(255),
+    workout_date      DATETIME(6),
+    notes             VARCHAR(255),
+    created_at        DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS workout_exercises (
+    id          INT NOT NULL AUTO_INCREMENT,
+    workout_id  INT,
+    exercise_id INT,
+    sets        INT,
+    reps        INT,
+    weight      DOUBLE,
+    created_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_workout_exercises_workout_id FOREIGN KEY (workout_id) REFERENCES workouts (id),
+    CONSTRAINT fk_workout_exercises_exercise_id FOREIGN KEY (exercise_id) REFERENCES exercises (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,13 @@
+-- Table-emulated sequence for the pooled WorkoutExercise id generator
+-- (allocationSize 50). Hibernate treats next_val as the upper end of the next
+-- block, so starting at MAX(id) + 50 hands out MAX(id) + 1 onwards.
+CREATE TABLE workout_exercises_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO workout_exercises_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 50 FROM workout_exercises;
+
+CREATE INDEX idx_workouts_member_id_workout_date ON workouts (member_id, workout_date);
+CREATE INDEX idx_workout_exercises_workout_id_exercise_id ON workout_exercises (workout_id, exercise_id);
+CREATE INDEX idx_workout_exercises_exercise_id ON workout_exercises (exercise_id);
@@ -0,0 +1,14 @@
+CREATE TABLE member_replicas (
+    member_id     INT          NOT NULL,
+    first_name    VARCHAR(255),
+    last_name     VARCHAR(255),
+    last_event_id BIGINT       NOT NULL,
+    updated_at    DATETIME(6),
+    PRIMARY KEY (member_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE event_offsets (
+    consumer      VARCHAR(64) NOT NULL,
+    last_event_id BIGINT      NOT NULL,
+    PRIMARY KEY (consumer)
+) ENGINE = InnoDB;
@@ -0,0 +1 @@
+ALTER TABLE workouts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+ALTER TABLE workouts ADD COLUMN updated_at DATETIME(6);
+
+UPDATE workouts SET updated_at = created_at;
@@ -0,0 +1,4 @@
+ALTER TABLE exercises ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE exercises ADD COLUMN updated_at DATETIME(6);
+
+UPDATE exercises SET updated_at = created_at;
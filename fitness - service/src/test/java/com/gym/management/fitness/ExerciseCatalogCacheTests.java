@@ -0,0 +1,90 @@
+package com.gym.management.fitness;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gym.management.common.dto.ResourceStamp;
+import com.gym.management.fitness.models.Exercise;
+import com.gym.management.fitness.repository.ExerciseRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = { "spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExerciseCatalogCacheTests {
+
+	@Autowired
+	private ExerciseRepository exerciseRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		exerciseRepository.deleteAll();
+		entityManagerFactory.getCache().evictAll();
+		exerciseRepository.save(exercise("Squat"));
+		exerciseRepository.save(exercise("Bench Press"));
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	private static Exercise exercise(String name) {
+		Exercise exercise = new Exercise();
+		exercise.setName(name);
+		return exercise;
+	}
+
+	@Test
+	void testCatalogIsServedFromTheQueryCache() {
+		exerciseRepository.findCatalog();
+		exerciseRepository.findCatalog();
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(1, statistics.getQueryCacheHitCount());
+	}
+
+	@Test
+	void testCreatingAnExerciseInvalidatesTheCatalog() {
+		exerciseRepository.findCatalog();
+		exerciseRepository.save(exercise("Deadlift"));
+
+		assertEquals(3, exerciseRepository.findCatalog().size());
+	}
+
+	@Test
+	void testCatalogStampChangesWithTheCatalog() {
+		ResourceStamp before = exerciseRepository.findCatalogStamp();
+		assertEquals(before.toETag(), exerciseRepository.findCatalogStamp().toETag());
+		assertEquals(1, statistics.getQueryCacheHitCount());
+
+		exerciseRepository.save(exercise("Deadlift"));
+		ResourceStamp after = exerciseRepository.findCatalogStamp();
+
+		assertEquals(3, after.getCount());
+		assertNotEquals(before.toETag(), after.toETag());
+	}
+
+	@Test
+	void testExerciseLookupsHitTheSecondLevelCache() {
+		int id = exerciseRepository.findCatalog().get(0).getId();
+		statistics.clear();
+
+		exerciseRepository.findById(id);
+
+		assertEquals(0, statistics.getPrepareStatementCount());
+		assertEquals(1, statistics.getSecondLevelCacheHitCount());
+	}
+}
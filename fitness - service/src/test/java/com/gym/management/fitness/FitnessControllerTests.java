@@ -0,0 +1,74 @@
+package com.gym.management.fitness;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym.management.fitness.controller.FitnessController;
+import com.gym.management.fitness.exception.MemberServiceExceptionHandler;
+import com.gym.management.fitness.exception.MemberServiceTimeoutException;
+import com.gym.management.fitness.service.FitnessService;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+class FitnessControllerTests {
+	private FitnessService fitnessService;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		fitnessService = mock(FitnessService.class);
+		mockMvc = MockMvcBuilders.standaloneSetup(new FitnessController(fitnessService, new ObjectMapper()))
+				.setControllerAdvice(new MemberServiceExceptionHandler(Duration.ofSeconds(10)))
+				.build();
+	}
+
+	@Test
+	void testMemberLookupTimeoutIsAGatewayTimeout() throws Exception {
+		when(fitnessService.createWorkout(anyInt(), anyString()))
+				.thenThrow(new MemberServiceTimeoutException("Member 1 was not loaded in time", new TimeoutException()));
+
+		mockMvc.perform(post("/fitness/workouts").param("memberId", "1").param("workoutName", "Legs"))
+				.andExpect(status().isGatewayTimeout())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+	}
+
+	@Test
+	void testOpenCircuitIsUnavailableUntilItHalfOpens() throws Exception {
+		CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("member-service");
+		circuitBreaker.transitionToOpenState();
+		when(fitnessService.createWorkout(anyInt(), anyString()))
+				.thenThrow(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+
+		mockMvc.perform(post("/fitness/workouts").param("memberId", "1").param("workoutName", "Legs"))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"));
+	}
+
+	@Test
+	void testFullBulkheadIsUnavailable() throws Exception {
+		when(fitnessService.createWorkout(anyInt(), anyString()))
+				.thenThrow(BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("member-service")));
+
+		mockMvc.perform(post("/fitness/workouts").param("memberId", "1").param("workoutName", "Legs"))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+	}
+}
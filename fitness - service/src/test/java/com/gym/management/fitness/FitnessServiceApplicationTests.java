@@ -1,34 +1,58 @@
 package com.gym.management.fitness;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.web.client.RestTemplate;
-
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Limit;
+
+import com.gym.management.fitness.client.MemberClient;
+import com.gym.management.fitness.dto.BulkWorkoutRequest;
+import com.gym.management.fitness.dto.ExerciseRemovalDTO;
+import com.gym.management.fitness.dto.ExerciseSetDTO;
 import com.gym.management.fitness.dto.MemberDTO;
+import com.gym.management.fitness.dto.WorkoutExerciseDTO;
+import com.gym.management.fitness.dto.WorkoutExerciseRow;
+import com.gym.management.fitness.dto.WorkoutHistoryDTO;
+import com.gym.management.fitness.dto.WorkoutPage;
+import com.gym.management.fitness.exception.BatchTooLargeException;
+import com.gym.management.fitness.exception.ResourceNotFoundException;
 import com.gym.management.fitness.models.Exercise;
+import com.gym.management.fitness.models.MemberReplica;
 import com.gym.management.fitness.models.Workout;
 import com.gym.management.fitness.models.WorkoutExercise;
 import com.gym.management.fitness.repository.ExerciseRepository;
+import com.gym.management.fitness.repository.MemberReplicaRepository;
+import com.gym.management.fitness.repository.WorkoutExerciseRepository;
 import com.gym.management.fitness.repository.WorkoutRepository;
 import com.gym.management.fitness.service.FitnessServiceImpl;
+import com.gym.management.fitness.service.MemberWorkoutPurger;
+
+import jakarta.persistence.EntityManager;
 
 @ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
 class FitnessServiceApplicationTests {
 	@Mock
 	private WorkoutRepository workoutRepository;
@@ -37,7 +61,19 @@ class FitnessServiceApplicationTests {
 	private ExerciseRepository exerciseRepository;
 
 	@Mock
-	private RestTemplate restTemplate;
+	private WorkoutExerciseRepository workoutExerciseRepository;
+
+	@Mock
+	private MemberClient memberClient;
+
+	@Mock
+	private MemberReplicaRepository memberReplicaRepository;
+
+	@Mock
+	private MemberWorkoutPurger memberWorkoutPurger;
+
+	@Mock
+	private EntityManager entityManager;
 
 	@InjectMocks
 	private FitnessServiceImpl fitnessService;
@@ -48,8 +84,6 @@ class FitnessServiceApplicationTests {
 
 	@BeforeEach
 	void setUp() {
-		MockitoAnnotations.openMocks(this);
-
 		memberDTO = new MemberDTO();
 		memberDTO.setId(1);
 		memberDTO.setFirstName("John");
@@ -67,8 +101,7 @@ class FitnessServiceApplicationTests {
 		exercise.setId(1);
 		exercise.setName("Push Up");
 
-		String memberServiceUrl = "http://localhost:8082/api/members/get/1";
-		when(restTemplate.getForObject(memberServiceUrl, MemberDTO.class)).thenReturn(memberDTO);
+		when(memberClient.getMember(1)).thenReturn(memberDTO);
 		when(workoutRepository.findById(anyInt())).thenReturn(Optional.of(workout));
 		when(exerciseRepository.findById(anyInt())).thenReturn(Optional.of(exercise));
 		when(workoutRepository.save(any(Workout.class))).thenReturn(workout);
@@ -84,11 +117,75 @@ class FitnessServiceApplicationTests {
 		assertEquals("Morning Workout", createdWorkout.getWorkoutName());
 	}
 
+	@Test
+	void testCreateWorkoutUsesMemberReplica() {
+		MemberReplica replica = new MemberReplica();
+		replica.setMemberId(1);
+		replica.setFirstName("Johnny");
+		replica.setLastName("Doe");
+		when(memberReplicaRepository.findById(1)).thenReturn(Optional.of(replica));
+		when(workoutRepository.save(any(Workout.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		Workout createdWorkout = fitnessService.createWorkout(1, "Morning Workout");
+
+		assertEquals("Johnny", createdWorkout.getMemberFirstName());
+		verify(memberClient, never()).getMember(anyInt());
+	}
+
+	@Test
+	void testCreateWorkoutWithExercises() {
+		when(exerciseRepository.findAllById(any())).thenReturn(List.of(exercise));
+		when(workoutRepository.save(any(Workout.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		BulkWorkoutRequest request = new BulkWorkoutRequest(1, "Kiosk Sync", null, null,
+				List.of(new ExerciseSetDTO(1, 3, 10, 20.0), new ExerciseSetDTO(1, 3, 8, 22.5)));
+
+		Workout createdWorkout = fitnessService.createWorkoutWithExercises(request);
+
+		assertEquals("John", createdWorkout.getMemberFirstName());
+		assertEquals(2, createdWorkout.getExercises().size());
+		verify(exerciseRepository).findAllById(any());
+	}
+
+	@Test
+	void testCreateWorkoutWithUnknownExercise() {
+		when(exerciseRepository.findAllById(any())).thenReturn(List.of());
+		BulkWorkoutRequest request = new BulkWorkoutRequest(1, "Kiosk Sync", null, null,
+				List.of(new ExerciseSetDTO(9, 3, 10, 20.0)));
+
+		assertThrows(ResourceNotFoundException.class, () -> fitnessService.createWorkoutWithExercises(request));
+	}
+
+	@Test
+	void testCreateWorkoutWithTooManyExercisesIsRejected() {
+		List<ExerciseSetDTO> sets = Stream.generate(() -> new ExerciseSetDTO(1, 3, 10, 20.0)).limit(501).toList();
+		BulkWorkoutRequest request = new BulkWorkoutRequest(1, "Kiosk Sync", null, null, sets);
+
+		assertThrows(BatchTooLargeException.class, () -> fitnessService.createWorkoutWithExercises(request));
+		verify(workoutRepository, never()).save(any(Workout.class));
+	}
+
 	@Test
 	void testAddExerciseToWorkout() {
-		Workout updatedWorkout = fitnessService.addExerciseToWorkout(1, 1, 3, 10, 50.0);
+		when(workoutRepository.touch(1)).thenReturn(1);
+		when(workoutRepository.getReferenceById(1)).thenReturn(workout);
+		when(workoutExerciseRepository.save(any(WorkoutExercise.class))).thenAnswer(invocation -> {
+			WorkoutExercise saved = invocation.getArgument(0);
+			saved.setId(7);
+			return saved;
+		});
+
+		WorkoutExerciseDTO added = fitnessService.addExerciseToWorkout(1, 1, 3, 10, 50.0);
+
+		assertEquals(7, added.getId());
+		assertEquals("Push Up", added.getExerciseName());
+		verify(workoutRepository, never()).save(any(Workout.class));
+	}
 
-		assertEquals(1, updatedWorkout.getExercises().size());
+	@Test
+	void testAddExerciseToMissingWorkout() {
+		when(workoutRepository.touch(1)).thenReturn(0);
+
+		assertThrows(ResourceNotFoundException.class, () -> fitnessService.addExerciseToWorkout(1, 1, 3, 10, 50.0));
 	}
 
 	@Test
@@ -99,15 +196,29 @@ class FitnessServiceApplicationTests {
 
 		assertEquals(1, workouts.size());
 		assertEquals("John", workouts.get(0).getMemberFirstName());
+		verify(memberClient, never()).getMember(anyInt());
 	}
 
 	@Test
-	void testDeleteMemberWorkouts() {
-		when(workoutRepository.findByMemberId(anyInt())).thenReturn(Arrays.asList(workout));
+	void testGetMemberWorkoutsOfMemberWithoutWorkouts() {
+		when(workoutRepository.findByMemberId(anyInt())).thenReturn(List.of());
+
+		assertTrue(fitnessService.getMemberWorkouts(2).isEmpty());
+		verify(memberClient, never()).getMember(anyInt());
+	}
 
+	@Test
+	void testDeleteMemberWorkouts() {
 		fitnessService.deleteMemberWorkouts(1);
 
-		verify(workoutRepository).deleteAll(any(List.class));
+		verify(workoutExerciseRepository).deleteByMemberId(1);
+		verify(workoutRepository).deleteAllByMemberIdInBulk(1);
+		verify(workoutRepository, never()).findByMemberId(anyInt());
+	}
+
+	@Test
+	void testGetUnknownPurgeJob() {
+		assertThrows(ResourceNotFoundException.class, () -> fitnessService.getPurgeJob("unknown"));
 	}
 
 	@Test
@@ -119,7 +230,7 @@ class FitnessServiceApplicationTests {
 
 	@Test
 	void testGetAllExercises() {
-		when(exerciseRepository.findAll()).thenReturn(Arrays.asList(exercise));
+		when(exerciseRepository.findCatalog()).thenReturn(Arrays.asList(exercise));
 
 		List<Exercise> exercises = fitnessService.getAllExercises();
 
@@ -129,12 +240,69 @@ class FitnessServiceApplicationTests {
 
 	@Test
 	void testRemoveExerciseFromWorkout() {
-		WorkoutExercise workoutExercise = new WorkoutExercise();
-		workoutExercise.setExercise(exercise);
-		workout.getExercises().add(workoutExercise);
+		when(workoutExerciseRepository.deleteByWorkoutIdAndExerciseId(1, 1)).thenReturn(2);
+
+		ExerciseRemovalDTO removal = fitnessService.removeExerciseFromWorkout(1, 1);
+
+		assertEquals(2, removal.getRemovedSets());
+		verify(workoutRepository).touch(1);
+		verify(workoutRepository, never()).findById(anyInt());
+	}
+
+	@Test
+	void testRemoveExerciseFromMissingWorkout() {
+		when(workoutExerciseRepository.deleteByWorkoutIdAndExerciseId(1, 1)).thenReturn(0);
+		when(workoutRepository.existsById(1)).thenReturn(false);
+
+		assertThrows(ResourceNotFoundException.class, () -> fitnessService.removeExerciseFromWorkout(1, 1));
+	}
+
+	@Test
+	void testGetWorkoutsReturnsCursorForFullPage() {
+		Workout second = new Workout();
+		second.setId(2);
+		when(workoutRepository.findByIdGreaterThanOrderByIdAsc(0, Limit.of(2))).thenReturn(List.of(workout, second));
+
+		WorkoutPage page = fitnessService.getWorkouts(0, 2);
+
+		assertEquals(2, page.getContent().size());
+		assertEquals(2, page.getNextCursor());
+	}
+
+	@Test
+	void testGetWorkoutsLastPageHasNoCursor() {
+		when(workoutRepository.findByIdGreaterThanOrderByIdAsc(1, Limit.of(50))).thenReturn(List.of());
 
-		Workout updatedWorkout = fitnessService.removeExerciseFromWorkout(1, 1);
+		WorkoutPage page = fitnessService.getWorkouts(1, 50);
 
-		assertEquals(0, updatedWorkout.getExercises().size());
+		assertEquals(0, page.getContent().size());
+		assertNull(page.getNextCursor());
+	}
+
+	@Test
+	void testStreamAllWorkoutsDetachesEachWorkout() {
+		when(workoutRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(workout));
+		List<Workout> streamed = new ArrayList<>();
+
+		fitnessService.streamAllWorkouts(streamed::add);
+
+		assertEquals(1, streamed.size());
+		verify(entityManager).detach(workout);
+	}
+
+	@Test
+	void testGetMemberWorkoutHistoryGroupsRowsByWorkout() {
+		LocalDateTime now = LocalDateTime.now();
+		when(workoutRepository.findHistoryRowsByMemberId(1)).thenReturn(List.of(
+				new WorkoutExerciseRow(2, "Evening", now, null, 5, 1, "Push Up", 3, 10, 0.0),
+				new WorkoutExerciseRow(2, "Evening", now, null, 6, 2, "Squat", 3, 8, 60.0),
+				new WorkoutExerciseRow(1, "Morning", now.minusDays(1), null, null, null, null, null, null, null)));
+
+		List<WorkoutHistoryDTO> history = fitnessService.getMemberWorkoutHistory(1);
+
+		assertEquals(2, history.size());
+		assertEquals(2, history.get(0).getExercises().size());
+		assertEquals("Squat", history.get(0).getExercises().get(1).getExerciseName());
+		assertEquals(0, history.get(1).getExercises().size());
 	}
 }
@@ -0,0 +1,104 @@
+package com.gym.management.fitness;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.gym.management.fitness.client.MemberBatchLoader;
+import com.gym.management.fitness.dto.MemberDTO;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import reactor.core.publisher.Mono;
+
+class MemberBatchLoaderTests {
+	private static final String MEMBERS_JSON = """
+			[{"id":1,"firstName":"John","lastName":"Doe"},{"id":2,"firstName":"Jane","lastName":"Roe"}]""";
+
+	private final AtomicInteger calls = new AtomicInteger();
+	private WebClient webClient;
+	private CircuitBreaker circuitBreaker;
+	private MemberBatchLoader loader;
+
+	@BeforeEach
+	void setUp() {
+		webClient = WebClient.builder().exchangeFunction(request -> {
+			calls.incrementAndGet();
+			return Mono.just(ClientResponse.create(HttpStatus.OK)
+					.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+					.body(MEMBERS_JSON)
+					.build());
+		}).build();
+		circuitBreaker = CircuitBreaker.ofDefaults("member-service");
+	}
+
+	@AfterEach
+	void tearDown() {
+		loader.shutdown();
+	}
+
+	private MemberBatchLoader newLoader(long batchWindowMillis, int maxBatchSize) {
+		return new MemberBatchLoader(webClient, circuitBreaker, Bulkhead.ofDefaults("member-service"), 1000,
+				batchWindowMillis, maxBatchSize);
+	}
+
+	@Test
+	void testLookupsInOneWindowShareOneCall() {
+		loader = newLoader(50, 100);
+
+		CompletableFuture<MemberDTO> first = loader.load(1);
+		CompletableFuture<MemberDTO> second = loader.load(2);
+		CompletableFuture<MemberDTO> missing = loader.load(3);
+
+		assertEquals("John", first.join().getFirstName());
+		assertEquals("Jane", second.join().getFirstName());
+		assertNull(missing.join());
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	void testSameIdSharesFuture() {
+		loader = newLoader(50, 100);
+
+		assertSame(loader.load(1), loader.load(1));
+	}
+
+	@Test
+	void testFullBatchIsDispatchedImmediately() throws Exception {
+		loader = newLoader(60_000, 2);
+
+		loader.load(1);
+		CompletableFuture<MemberDTO> second = loader.load(2);
+
+		// Far shorter than the batch window, but the call itself completes on another thread
+		assertEquals("Jane", second.get(5, TimeUnit.SECONDS).getFirstName());
+	}
+
+	@Test
+	void testOpenCircuitFailsWithoutCallingMemberService() {
+		loader = newLoader(60_000, 1);
+		circuitBreaker.transitionToOpenState();
+
+		CompletionException e = assertThrows(CompletionException.class, () -> loader.load(1).join());
+
+		assertInstanceOf(CallNotPermittedException.class, e.getCause());
+		assertEquals(0, calls.get());
+	}
+}
@@ -0,0 +1,94 @@
+package com.gym.management.fitness;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import com.gym.management.fitness.client.MemberBatchLoader;
+import com.gym.management.fitness.client.MemberClient;
+import com.gym.management.fitness.dto.MemberDTO;
+import com.gym.management.fitness.exception.MemberServiceTimeoutException;
+
+@SpringJUnitConfig
+class MemberClientTests {
+	@Configuration
+	@EnableCaching
+	static class Config {
+		@Bean
+		MemberBatchLoader memberBatchLoader() {
+			return mock(MemberBatchLoader.class);
+		}
+
+		@Bean
+		CacheManager cacheManager() {
+			return new CaffeineCacheManager(MemberClient.MEMBERS_CACHE);
+		}
+
+		@Bean
+		MemberClient memberClient(MemberBatchLoader memberBatchLoader) {
+			return new MemberClient(memberBatchLoader);
+		}
+	}
+
+	@Autowired
+	private MemberClient memberClient;
+
+	@Autowired
+	private MemberBatchLoader memberBatchLoader;
+
+	@BeforeEach
+	void setUp() {
+		reset(memberBatchLoader);
+		memberClient.evict(1);
+		when(memberBatchLoader.maxWait()).thenReturn(Duration.ofMillis(100));
+		when(memberBatchLoader.load(1))
+				.thenAnswer(invocation -> CompletableFuture.completedFuture(new MemberDTO(1, "John", "Doe")));
+	}
+
+	@Test
+	void testGetMemberIsCached() {
+		memberClient.getMember(1);
+		MemberDTO member = memberClient.getMember(1);
+
+		assertEquals("John", member.getFirstName());
+		verify(memberBatchLoader, times(1)).load(1);
+	}
+
+	@Test
+	void testEvictForcesRemoteLookup() {
+		memberClient.getMember(1);
+		memberClient.evict(1);
+		memberClient.getMember(1);
+
+		verify(memberBatchLoader, times(2)).load(1);
+	}
+
+	@Test
+	void testGetMemberGivesUpAfterMaxWait() {
+		when(memberBatchLoader.load(2)).thenReturn(new CompletableFuture<>());
+
+		MemberServiceTimeoutException error = assertThrows(MemberServiceTimeoutException.class,
+				() -> memberClient.getMember(2));
+
+		assertInstanceOf(TimeoutException.class, error.getCause());
+	}
+}
@@ -0,0 +1,107 @@
+package com.gym.management.fitness;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.gym.management.fitness.client.MemberClient;
+import com.gym.management.fitness.models.EventOffset;
+import com.gym.management.fitness.models.MemberReplica;
+import com.gym.management.fitness.repository.EventOffsetRepository;
+import com.gym.management.fitness.repository.MemberReplicaRepository;
+import com.gym.management.fitness.repository.WorkoutExerciseRepository;
+import com.gym.management.fitness.repository.WorkoutRepository;
+import com.gym.management.fitness.service.MemberEventConsumer;
+
+import reactor.core.publisher.Mono;
+
+class MemberEventConsumerTests {
+	private static final String EVENTS_JSON = """
+			[{"id":11,"aggregateType":"member","aggregateId":1,"eventType":"MemberUpdated",
+			  "payload":{"id":1,"firstName":"Johnny","lastName":"Doe"},"createdAt":"2024-01-01T10:00:00"},
+			 {"id":12,"aggregateType":"member","aggregateId":2,"eventType":"MemberDeleted",
+			  "payload":{"id":2},"createdAt":"2024-01-01T10:00:01"}]""";
+
+	private final AtomicReference<String> requestedQuery = new AtomicReference<>();
+	private MemberReplicaRepository memberReplicaRepository;
+	private EventOffsetRepository eventOffsetRepository;
+	private WorkoutRepository workoutRepository;
+	private WorkoutExerciseRepository workoutExerciseRepository;
+	private MemberClient memberClient;
+	private MemberEventConsumer consumer;
+
+	@BeforeEach
+	void setUp() {
+		WebClient webClient = WebClient.builder().exchangeFunction(request -> {
+			requestedQuery.set(request.url().getQuery());
+			return Mono.just(ClientResponse.create(HttpStatus.OK)
+					.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+					.body(EVENTS_JSON)
+					.build());
+		}).build();
+		memberReplicaRepository = mock(MemberReplicaRepository.class);
+		eventOffsetRepository = mock(EventOffsetRepository.class);
+		workoutRepository = mock(WorkoutRepository.class);
+		workoutExerciseRepository = mock(WorkoutExerciseRepository.class);
+		memberClient = mock(MemberClient.class);
+		consumer = new MemberEventConsumer(webClient, memberReplicaRepository, eventOffsetRepository,
+				workoutRepository, workoutExerciseRepository, memberClient, mock(PlatformTransactionManager.class), 100, 1000);
+	}
+
+	@Test
+	void testPollAppliesEventsAndAdvancesOffset() {
+		when(eventOffsetRepository.findById(anyString())).thenReturn(Optional.of(new EventOffset("c", 10)));
+		when(memberReplicaRepository.findById(1)).thenReturn(Optional.empty());
+
+		consumer.poll();
+
+		ArgumentCaptor<MemberReplica> replica = ArgumentCaptor.forClass(MemberReplica.class);
+		verify(memberReplicaRepository).save(replica.capture());
+		assertEquals("Johnny", replica.getValue().getFirstName());
+		assertEquals(11, replica.getValue().getLastEventId());
+		verify(workoutRepository).updateMemberNames(1, "Johnny", "Doe");
+		verify(memberReplicaRepository).deleteById(2);
+		verify(workoutExerciseRepository).deleteByMemberId(2);
+		verify(workoutRepository).deleteAllByMemberIdInBulk(2);
+
+		ArgumentCaptor<EventOffset> offset = ArgumentCaptor.forClass(EventOffset.class);
+		verify(eventOffsetRepository).save(offset.capture());
+		assertEquals(12, offset.getValue().getLastEventId());
+		assertEquals("after=10&aggregateType=member&limit=100", requestedQuery.get());
+		verify(memberClient).evict(1);
+		verify(memberClient).evict(2);
+	}
+
+	@Test
+	void testAlreadyAppliedEventIsSkipped() {
+		MemberReplica replica = new MemberReplica();
+		replica.setMemberId(1);
+		replica.setLastEventId(11);
+		when(eventOffsetRepository.findById(anyString())).thenReturn(Optional.empty());
+		when(memberReplicaRepository.findById(1)).thenReturn(Optional.of(replica));
+
+		consumer.poll();
+
+		verify(memberReplicaRepository, never()).save(any());
+		verify(workoutRepository, never()).updateMemberNames(anyInt(), anyString(), anyString());
+		verify(memberClient, never()).evict(1);
+	}
+}
@@ -0,0 +1,68 @@
+package com.gym.management.fitness;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.gym.management.fitness.dto.PurgeJobDTO;
+import com.gym.management.fitness.dto.PurgeJobDTO.PurgeStatus;
+import com.gym.management.fitness.repository.WorkoutExerciseRepository;
+import com.gym.management.fitness.repository.WorkoutRepository;
+import com.gym.management.fitness.service.MemberWorkoutPurger;
+
+class MemberWorkoutPurgerTests {
+	private WorkoutRepository workoutRepository;
+	private WorkoutExerciseRepository workoutExerciseRepository;
+	private MemberWorkoutPurger purger;
+
+	@BeforeEach
+	void setUp() {
+		workoutRepository = mock(WorkoutRepository.class);
+		workoutExerciseRepository = mock(WorkoutExerciseRepository.class);
+		purger = new MemberWorkoutPurger(workoutRepository, workoutExerciseRepository,
+				mock(PlatformTransactionManager.class), 2);
+	}
+
+	@Test
+	void testPurgeDeletesInChunksAndReportsProgress() {
+		when(workoutRepository.findIdsByMemberId(1, Limit.of(2))).thenReturn(List.of(1, 2), List.of(3));
+		when(workoutExerciseRepository.deleteByWorkoutIdIn(anyList())).thenReturn(4, 1);
+		when(workoutRepository.deleteAllByIdInBulk(anyList())).thenReturn(2, 1);
+
+		String jobId = purger.register(1);
+		purger.purge(jobId);
+		PurgeJobDTO job = purger.getJob(jobId);
+
+		assertEquals(PurgeStatus.COMPLETED, job.getStatus());
+		assertEquals(3, job.getDeletedWorkouts());
+		assertEquals(5, job.getDeletedExercises());
+		verify(workoutRepository, times(2)).deleteAllByIdInBulk(anyList());
+	}
+
+	@Test
+	void testPurgeFailureIsReported() {
+		when(workoutRepository.findIdsByMemberId(1, Limit.of(2))).thenThrow(new IllegalStateException("boom"));
+
+		String jobId = purger.register(1);
+		purger.purge(jobId);
+
+		assertEquals(PurgeStatus.FAILED, purger.getJob(jobId).getStatus());
+		assertEquals("boom", purger.getJob(jobId).getError());
+	}
+
+	@Test
+	void testUnknownJob() {
+		assertNull(purger.getJob("unknown"));
+	}
+}
@@ -0,0 +1,170 @@
+package com.gym.management.fitness;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.gym.management.common.dto.ResourceStamp;
+import com.gym.management.fitness.dto.WorkoutExerciseRow;
+import com.gym.management.fitness.models.Exercise;
+import com.gym.management.fitness.models.Workout;
+import com.gym.management.fitness.models.WorkoutExercise;
+import com.gym.management.fitness.repository.WorkoutExerciseRepository;
+import com.gym.management.fitness.repository.WorkoutRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop" })
+class WorkoutRepositoryTests {
+	private static final int WORKOUTS = 5;
+	private static final int SETS_PER_WORKOUT = 4;
+	private static final int BULK_SETS = 200;
+
+	@Autowired
+	private WorkoutRepository workoutRepository;
+
+	@Autowired
+	private WorkoutExerciseRepository workoutExerciseRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+	private int exerciseId;
+
+	@BeforeEach
+	void setUp() {
+		Exercise[] catalog = new Exercise[SETS_PER_WORKOUT];
+		for (int i = 0; i < catalog.length; i++) {
+			catalog[i] = new Exercise();
+			catalog[i].setName("Exercise " + i);
+			entityManager.persist(catalog[i]);
+		}
+		exerciseId = catalog[0].getId();
+
+		for (int w = 0; w < WORKOUTS; w++) {
+			Workout workout = new Workout();
+			workout.setMemberId(1);
+			workout.setWorkoutName("Workout " + w);
+			workout.setWorkoutDate(LocalDateTime.now().minusDays(w));
+			for (Exercise exercise : catalog) {
+				WorkoutExercise workoutExercise = new WorkoutExercise();
+				workoutExercise.setWorkout(workout);
+				workoutExercise.setExercise(exercise);
+				workoutExercise.setSets(3);
+				workoutExercise.setReps(10);
+				workout.getExercises().add(workoutExercise);
+			}
+			entityManager.persist(workout);
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void testFindByMemberIdLoadsWholeGraphInOneQuery() {
+		List<Workout> workouts = workoutRepository.findByMemberId(1);
+
+		int sets = 0;
+		for (Workout workout : workouts) {
+			for (WorkoutExercise workoutExercise : workout.getExercises()) {
+				workoutExercise.getExercise().getName();
+				sets++;
+			}
+		}
+
+		assertEquals(WORKOUTS, workouts.size());
+		assertEquals(WORKOUTS * SETS_PER_WORKOUT, sets);
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void testBulkWorkoutInsertsAreBatched() {
+		Exercise exercise = entityManager.find(Exercise.class, exerciseId);
+		Workout workout = new Workout();
+		workout.setMemberId(2);
+		workout.setWorkoutName("Bulk");
+		for (int i = 0; i < BULK_SETS; i++) {
+			WorkoutExercise workoutExercise = new WorkoutExercise();
+			workoutExercise.setWorkout(workout);
+			workoutExercise.setExercise(exercise);
+			workoutExercise.setSets(i);
+			workout.getExercises().add(workoutExercise);
+		}
+		statistics.clear();
+
+		workoutRepository.save(workout);
+		entityManager.flush();
+
+		assertEquals(BULK_SETS + 1, statistics.getEntityInsertCount());
+		assertTrue(statistics.getPrepareStatementCount() < BULK_SETS / 10,
+				"expected batched inserts, got " + statistics.getPrepareStatementCount() + " statements");
+	}
+
+	@Test
+	void testFindHistoryRowsByMemberIdIsOneQuery() {
+		List<WorkoutExerciseRow> rows = workoutRepository.findHistoryRowsByMemberId(1);
+
+		assertEquals(WORKOUTS * SETS_PER_WORKOUT, rows.size());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void testBulkDeleteByMemberId() {
+		int deletedExercises = workoutExerciseRepository.deleteByMemberId(1);
+		int deletedWorkouts = workoutRepository.deleteAllByMemberIdInBulk(1);
+
+		assertEquals(WORKOUTS * SETS_PER_WORKOUT, deletedExercises);
+		assertEquals(WORKOUTS, deletedWorkouts);
+		assertEquals(2, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void testStampByMemberIdIsOneQuery() {
+		ResourceStamp stamp = workoutRepository.findStampByMemberId(1);
+
+		assertEquals(WORKOUTS, stamp.getCount());
+		assertEquals(0, stamp.getVersion());
+		assertNotNull(stamp.getLastModified());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void testStampOfMemberWithoutWorkouts() {
+		ResourceStamp stamp = workoutRepository.findStampByMemberId(99);
+
+		assertEquals(0, stamp.getCount());
+		assertNull(stamp.getLastModified());
+	}
+
+	@Test
+	void testTouchChangesTheStamp() {
+		String before = workoutRepository.findStampByMemberId(1).toETag();
+		int workoutId = workoutRepository.findIdsByMemberId(1, Limit.of(1)).get(0);
+
+		assertEquals(1, workoutRepository.touch(workoutId));
+		assertEquals(0, workoutRepository.touch(-1));
+		assertNotEquals(before, workoutRepository.findStampByMemberId(1).toETag());
+	}
+}
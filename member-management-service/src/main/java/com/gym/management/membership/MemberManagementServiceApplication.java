@@ -2,10 +2,19 @@ package com.gym.management.membership;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.gym.management.common.CommonConfiguration;
+import com.gym.management.membership.service.OutboxRelayProperties;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableScheduling
+@EnableConfigurationProperties(OutboxRelayProperties.class)
+@Import(CommonConfiguration.class)
 public class MemberManagementServiceApplication {
 
 	public static void main(String[] args) {
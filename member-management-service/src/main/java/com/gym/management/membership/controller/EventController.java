@@ -0,0 +1,40 @@
+package com.gym.management.membership.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.gym.management.membership.model.OutboxEvent;
+import com.gym.management.membership.service.EventOutbox;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller exposing the outbox as an ordered event stream. Consumers
+ * keep the ID of the last event they processed and pass it back as
+ * {@code after}.
+ */
+@RestController
+@RequestMapping("/events")
+@RequiredArgsConstructor
+public class EventController {
+	private final EventOutbox eventOutbox;
+
+	/**
+	 * Endpoint to read the events after a position in the stream.
+	 * 
+	 * @param after         The ID of the last event already processed.
+	 * @param aggregateType The aggregate type to read, or all types if absent.
+	 * @param limit         The maximum number of events to return.
+	 * @return ResponseEntity containing the events, oldest first.
+	 */
+	@GetMapping
+	public ResponseEntity<List<OutboxEvent>> getEvents(@RequestParam(defaultValue = "0") long after,
+			@RequestParam(required = false) String aggregateType, @RequestParam(defaultValue = "100") int limit) {
+		return ResponseEntity.ok(eventOutbox.read(after, aggregateType, limit));
+	}
+}
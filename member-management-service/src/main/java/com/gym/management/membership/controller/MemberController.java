@@ -1,10 +1,16 @@
 package com.gym.management.membership.controller;
 
+import com.gym.management.common.dto.ResourceStamp;
+import com.gym.management.membership.dto.MemberSearchPage;
+import com.gym.management.membership.dto.MemberSummaryDTO;
 import com.gym.management.membership.model.Member;
+import com.gym.management.membership.model.MemberSearchTerm;
 import com.gym.management.membership.service.MemberService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -30,36 +36,94 @@ public class MemberController {
 	}
 
 	/**
-	 * Endpoint to retrieve a member by ID.
+	 * Endpoint to retrieve a member by ID. The member's version is its ETag and
+	 * its last update its Last-Modified date; a request whose If-None-Match or
+	 * If-Modified-Since still matches gets 304 Not Modified without the member
+	 * being loaded.
 	 * 
-	 * @param id The ID of the member to be retrieved.
-	 * @return ResponseEntity containing the retrieved member.
+	 * @param id      The ID of the member to be retrieved.
+	 * @param request The request, for its conditional headers.
+	 * @return ResponseEntity containing the retrieved member, or null if the
+	 *         client's copy is current.
 	 */
 	@GetMapping("/get/{id}")
-	public ResponseEntity<Member> getMember(@PathVariable int id) {
-		return ResponseEntity.ok(memberService.getMember(id));
+	public ResponseEntity<Member> getMember(@PathVariable int id, WebRequest request) {
+		ResourceStamp stamp = memberService.getMemberStamp(id);
+		if (stamp != null
+				&& request.checkNotModified(Long.toString(stamp.getVersion()), stamp.lastModifiedMillis())) {
+			return null;
+		}
+		Member member = memberService.getMember(id);
+		return ResponseEntity.ok().eTag(Long.toString(member.getVersion())).body(member);
 	}
 
 	/**
-	 * Endpoint to retrieve all members.
+	 * Endpoint to retrieve the summaries of several members in one call.
 	 * 
-	 * @return ResponseEntity containing a list of all members.
+	 * @param ids The IDs of the members to be retrieved.
+	 * @return ResponseEntity containing the summaries of the members found.
+	 */
+	@PostMapping("/batch")
+	public ResponseEntity<List<MemberSummaryDTO>> getMembers(@RequestBody List<Integer> ids) {
+		return ResponseEntity.ok(memberService.getMemberSummaries(ids));
+	}
+
+	/**
+	 * Endpoint to retrieve all members. The ETag is derived from the number of
+	 * members, the sum of their versions and the latest update, so a request
+	 * whose If-None-Match still matches gets 304 Not Modified without the list
+	 * being loaded. There is no Last-Modified date, because a deleted member
+	 * leaves no timestamp behind.
+	 * 
+	 * @param request The request, for its conditional headers.
+	 * @return ResponseEntity containing a list of all members, or null if the
+	 *         client's copy is current.
 	 */
 	@GetMapping
-	public ResponseEntity<List<Member>> getAllMembers() {
-		return ResponseEntity.ok(memberService.getAllMembers());
+	public ResponseEntity<List<Member>> getAllMembers(WebRequest request) {
+		String etag = memberService.getAllMembersStamp().toETag();
+		if (request.checkNotModified(etag)) {
+			return null;
+		}
+		return ResponseEntity.ok().eTag(etag).body(memberService.getAllMembers());
 	}
 
 	/**
-	 * Endpoint to update an existing member.
+	 * Endpoint to find members by a prefix of their name, email address or phone
+	 * number, for example {@code /members/search?q=smi}. Names and email
+	 * addresses match regardless of case, and phone numbers by their digits
+	 * only. Results come in keyset pages ordered by the matched term.
 	 * 
-	 * @param id     The ID of the member to be updated.
-	 * @param member The member entity with updated information.
+	 * @param q      The prefix to search for.
+	 * @param by     The field to search; by default an email address if the
+	 *               query contains @, a phone number if it is made of digits,
+	 *               otherwise a name.
+	 * @param cursor The cursor returned by the previous page, if any.
+	 * @param size   The page size, at most 100.
+	 * @return ResponseEntity containing one page of matching members.
+	 */
+	@GetMapping("/search")
+	public ResponseEntity<MemberSearchPage> searchMembers(@RequestParam String q,
+			@RequestParam(required = false) MemberSearchTerm.Field by, @RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "20") int size) {
+		return ResponseEntity.ok(memberService.searchMembers(q, by, cursor, size));
+	}
+
+	/**
+	 * Endpoint to update an existing member. With an If-Match header carrying
+	 * the ETag of a previous read, the update only applies if the member has
+	 * not changed since; otherwise it fails with 412 Precondition Failed.
+	 * 
+	 * @param id      The ID of the member to be updated.
+	 * @param member  The member entity with updated information.
+	 * @param ifMatch The ETag the client last read, if any.
 	 * @return ResponseEntity containing the updated member.
 	 */
 	@PutMapping("/update/{id}")
-	public ResponseEntity<Member> updateMember(@PathVariable int id, @RequestBody Member member) {
-		return ResponseEntity.ok(memberService.updateMember(id, member));
+	public ResponseEntity<Member> updateMember(@PathVariable int id, @RequestBody Member member,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		Member updated = memberService.updateMember(id, member, parseVersion(ifMatch));
+		return ResponseEntity.ok().eTag(Long.toString(updated.getVersion())).body(updated);
 	}
 
 	/**
@@ -74,4 +138,20 @@ public class MemberController {
 		memberService.deleteMember(id);
 		return ResponseEntity.ok().build();
 	}
+
+	/**
+	 * Reads the version out of an If-Match header. An ETag that is not a
+	 * version can never match, so it maps to a version no member has.
+	 */
+	private static Long parseVersion(String ifMatch) {
+		if (ifMatch == null || ifMatch.equals("*")) {
+			return null;
+		}
+		String tag = ifMatch.startsWith("W/") ? ifMatch.substring(2) : ifMatch;
+		try {
+			return Long.parseLong(tag.replace("\"", "").trim());
+		} catch (NumberFormatException e) {
+			return -1L;
+		}
+	}
 }
\ No newline at end of file
@@ -86,6 +86,17 @@ public class MembershipController {
 		return ResponseEntity.ok(membershipService.getMembership(membershipId));
 	}
 
+	/**
+	 * Endpoint to retrieve the membership of a member.
+	 * 
+	 * @param memberId The ID of the member.
+	 * @return ResponseEntity containing the member's membership.
+	 */
+	@GetMapping("/member/{memberId}")
+	public ResponseEntity<Membership> getMembershipByMemberId(@PathVariable int memberId) {
+		return ResponseEntity.ok(membershipService.getMembershipByMemberId(memberId));
+	}
+
 	/**
 	 * Endpoint to retrieve all memberships.
 	 * 
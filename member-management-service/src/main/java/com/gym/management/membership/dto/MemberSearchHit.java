@@ -0,0 +1,20 @@
+package com.gym.management.membership.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A member found by a search, with the normalized term it matched on.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MemberSearchHit {
+	private String match;
+	private int id;
+	private String firstName;
+	private String lastName;
+	private String email;
+	private String phoneNumber;
+}
@@ -0,0 +1,20 @@
+package com.gym.management.membership.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One keyset page of search results. {@code nextCursor} is the value to pass
+ * as {@code cursor} for the following page, or null when there are no more
+ * results.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MemberSearchPage {
+	private List<MemberSearchHit> content;
+	private String nextCursor;
+}
@@ -0,0 +1,17 @@
+package com.gym.management.membership.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact projection of a member returned by batch lookups.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MemberSummaryDTO {
+	private int id;
+	private String firstName;
+	private String lastName;
+}
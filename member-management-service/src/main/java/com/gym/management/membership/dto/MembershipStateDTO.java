@@ -0,0 +1,33 @@
+package com.gym.management.membership.dto;
+
+import java.time.LocalDate;
+
+import com.gym.management.membership.model.Membership;
+import com.gym.management.membership.model.Membership.MembershipStatus;
+import com.gym.management.membership.model.Membership.MembershipType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The state of a membership after a lifecycle change, as published on the
+ * event stream.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MembershipStateDTO {
+	private int membershipId;
+	private int memberId;
+	private MembershipType membershipType;
+	private MembershipStatus status;
+	private LocalDate startDate;
+	private LocalDate endDate;
+
+	public static MembershipStateDTO of(Membership membership) {
+		return new MembershipStateDTO(membership.getId(), membership.getMember().getId(),
+				membership.getMembershipType(), membership.getStatus(), membership.getStartDate(),
+				membership.getEndDate());
+	}
+}
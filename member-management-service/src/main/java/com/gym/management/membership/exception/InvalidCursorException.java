@@ -0,0 +1,14 @@
+package com.gym.management.membership.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a page cursor was not issued by a previous page.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+	public InvalidCursorException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,14 @@
+package com.gym.management.membership.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a conditional write names a version that is no longer current.
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class VersionConflictException extends RuntimeException {
+	public VersionConflictException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,44 @@
+package com.gym.management.membership.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The lease and progress of a scheduled job that runs on one instance at a
+ * time. The instance holding an unexpired lease owns the job; the progress of
+ * an unfinished run lets the next owner resume it.
+ */
+@Data
+@Entity
+@Table(name = "job_checkpoints")
+@NoArgsConstructor
+public class JobCheckpoint {
+	@Id
+	@Column(length = 64)
+	private String name;
+
+	@Column(length = 64)
+	private String owner;
+
+	private LocalDateTime leaseUntil;
+
+	private LocalDate cutoffDate;
+
+	@Column(nullable = false)
+	private long processed;
+
+	private LocalDateTime startedAt;
+
+	private LocalDateTime finishedAt;
+
+	public JobCheckpoint(String name) {
+		this.name = name;
+	}
+}
@@ -3,6 +3,8 @@ package com.gym.management.membership.model;
 import java.time.LocalDateTime;
 import java.util.Date;
 
+import org.hibernate.annotations.UpdateTimestamp;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.CascadeType;
@@ -13,6 +15,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -56,6 +59,12 @@ public class Member {
 
 	private LocalDateTime createdAt = LocalDateTime.now();
 
+	@UpdateTimestamp
+	private LocalDateTime updatedAt;
+
+	@Version
+	private long version;
+
 	@OneToOne(mappedBy = "member", cascade = CascadeType.ALL)
 	@JsonIgnore
 	private Membership membership;
@@ -0,0 +1,78 @@
+package com.gym.management.membership.model;
+
+import java.io.Serializable;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One normalized search term of a member, such as a lower-cased name or the
+ * digits of a phone number. The primary key starts with the field and the
+ * term, so a prefix search is a range scan that returns rows already in page
+ * order. Hibernate orders the columns of a generated composite key by name,
+ * so schemas generated from this entity get the same order from the prefix
+ * index instead.
+ */
+@Data
+@Entity
+@Table(name = "member_search_terms", indexes = {
+		@Index(name = "idx_member_search_terms_prefix", columnList = "field, term, member_id"),
+		@Index(name = "idx_member_search_terms_member_id", columnList = "member_id") })
+@IdClass(MemberSearchTerm.Key.class)
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberSearchTerm implements Persistable<MemberSearchTerm.Key> {
+	@Id
+	@Enumerated(EnumType.STRING)
+	@Column(length = 8)
+	private Field field;
+
+	@Id
+	@Column(length = 255)
+	private String term;
+
+	@Id
+	@Column(name = "member_id")
+	private int memberId;
+
+	/**
+	 * The member fields that can be searched.
+	 */
+	public enum Field {
+		NAME, EMAIL, PHONE
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Key implements Serializable {
+		private Field field;
+		private String term;
+		private int memberId;
+	}
+
+	@Override
+	public Key getId() {
+		return new Key(field, term, memberId);
+	}
+
+	/**
+	 * Terms are only ever inserted after the old ones of the member were
+	 * deleted, so saving one never needs to look for an existing row first.
+	 */
+	@Override
+	public boolean isNew() {
+		return true;
+	}
+}
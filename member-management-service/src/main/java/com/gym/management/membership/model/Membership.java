@@ -3,21 +3,26 @@ package com.gym.management.membership.model;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 @Data
 @Entity
-@Table(name = "memberships")
+@Table(name = "memberships", indexes = {
+		@Index(name = "idx_memberships_status_end_date", columnList = "status, end_date") })
 public class Membership {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,10 +30,12 @@ public class Membership {
 
 	@NotNull(message = "Member is mandatory")
 	@OneToOne
-	@JoinColumn(name = "member_id")
+	@JoinColumn(name = "member_id", unique = true)
 	private Member member;
 
 	@NotNull(message = "Membership type is mandatory")
+	@Convert(converter = MembershipTypeConverter.class)
+	@Column(length = 1)
 	private MembershipType membershipType;
 
 	@NotNull(message = "Membership status is mandatory")
@@ -43,12 +50,34 @@ public class Membership {
 
 	private LocalDateTime createdAt = LocalDateTime.now();
 
+	@Version
+	private long version;
+
 	public enum MembershipType {
-		BASIC, PREMIUM
+		BASIC("B"), PREMIUM("P");
+
+		private final String code;
+
+		MembershipType(String code) {
+			this.code = code;
+		}
+
+		public String getCode() {
+			return code;
+		}
+
+		public static MembershipType fromCode(String code) {
+			for (MembershipType type : values()) {
+				if (type.code.equals(code)) {
+					return type;
+				}
+			}
+			throw new IllegalArgumentException("Unknown membership type code: " + code);
+		}
 	}
 
 	public enum MembershipStatus {
-		ACTIVE, INACTIVE
+		ACTIVE, INACTIVE, EXPIRED
 	}
 
 	@Override
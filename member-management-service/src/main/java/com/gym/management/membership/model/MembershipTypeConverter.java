@@ -0,0 +1,22 @@
+package com.gym.management.membership.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link Membership.MembershipType} as its one-character code instead of
+ * its ordinal, so reordering or adding types never changes stored values.
+ */
+@Converter
+public class MembershipTypeConverter implements AttributeConverter<Membership.MembershipType, String> {
+
+	@Override
+	public String convertToDatabaseColumn(Membership.MembershipType type) {
+		return type == null ? null : type.getCode();
+	}
+
+	@Override
+	public Membership.MembershipType convertToEntityAttribute(String code) {
+		return code == null ? null : Membership.MembershipType.fromCode(code);
+	}
+}
@@ -0,0 +1,44 @@
+package com.gym.management.membership.model;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * A change to an aggregate, recorded in the same transaction as the change
+ * itself. The ID is the event's position in the stream.
+ */
+@Data
+@Entity
+@Table(name = "outbox_events", indexes = {
+		@Index(name = "idx_outbox_events_aggregate_type_id", columnList = "aggregate_type, id") })
+public class OutboxEvent {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private long id;
+
+	@Column(nullable = false, length = 32)
+	private String aggregateType;
+
+	@Column(nullable = false)
+	private int aggregateId;
+
+	@Column(nullable = false, length = 64)
+	private String eventType;
+
+	@JsonRawValue
+	@Column(nullable = false, length = 4000)
+	private String payload;
+
+	@Column(nullable = false)
+	private LocalDateTime createdAt = LocalDateTime.now();
+}
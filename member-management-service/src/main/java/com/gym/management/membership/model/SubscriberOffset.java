@@ -0,0 +1,30 @@
+package com.gym.management.membership.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The ID of the last outbox event a relay subscriber has acknowledged.
+ */
+@Data
+@Entity
+@Table(name = "outbox_subscriber_offsets")
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubscriberOffset {
+	@Id
+	@Column(length = 64)
+	private String subscriber;
+
+	@Column(nullable = false)
+	private long lastEventId;
+
+	private LocalDateTime updatedAt;
+}
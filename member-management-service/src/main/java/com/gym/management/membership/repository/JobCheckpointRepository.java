@@ -0,0 +1,64 @@
+package com.gym.management.membership.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gym.management.membership.model.JobCheckpoint;
+
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+
+	/**
+	 * Takes or extends the lease on a job, unless another owner holds an
+	 * unexpired one.
+	 *
+	 * @return 1 if the lease is now held by the owner, 0 otherwise
+	 */
+	@Transactional
+	@Modifying
+	@Query("update JobCheckpoint j set j.owner = :owner, j.leaseUntil = :until "
+			+ "where j.name = :name and (j.owner = :owner or j.leaseUntil is null or j.leaseUntil < :now)")
+	int acquire(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now,
+			@Param("until") LocalDateTime until);
+
+	/**
+	 * Starts a new run of a job held by the owner.
+	 *
+	 * @return 1 if the run was started, 0 if the lease has been lost
+	 */
+	@Transactional
+	@Modifying
+	@Query("update JobCheckpoint j set j.cutoffDate = :cutoff, j.processed = 0, j.startedAt = :now, "
+			+ "j.finishedAt = null where j.name = :name and j.owner = :owner")
+	int start(@Param("name") String name, @Param("owner") String owner, @Param("cutoff") LocalDate cutoff,
+			@Param("now") LocalDateTime now);
+
+	/**
+	 * Records the progress of a run and extends the lease. Called in the
+	 * transaction of the work it records, so both commit or neither does.
+	 *
+	 * @return 1 if the progress was recorded, 0 if the lease has been lost
+	 */
+	@Transactional
+	@Modifying
+	@Query("update JobCheckpoint j set j.processed = j.processed + :processed, j.leaseUntil = :until "
+			+ "where j.name = :name and j.owner = :owner")
+	int checkpoint(@Param("name") String name, @Param("owner") String owner, @Param("processed") long processed,
+			@Param("until") LocalDateTime until);
+
+	/**
+	 * Marks the current run finished and releases the lease.
+	 *
+	 * @return 1 if the run was finished, 0 if the lease has been lost
+	 */
+	@Transactional
+	@Modifying
+	@Query("update JobCheckpoint j set j.finishedAt = :now, j.owner = null, j.leaseUntil = null "
+			+ "where j.name = :name and j.owner = :owner")
+	int finish(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -1,11 +1,41 @@
 package com.gym.management.membership.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.gym.management.common.dto.ResourceStamp;
+import com.gym.management.membership.dto.MemberSummaryDTO;
 import com.gym.management.membership.model.Member;
 
 public interface MemberRepository extends JpaRepository<Member, Integer> {
 	Optional<Member> findByEmail(String email);
+
+	/**
+	 * Loads the summaries of all given members with a single IN query, without
+	 * materialising Member entities or their memberships.
+	 */
+	@Query("select new com.gym.management.membership.dto.MemberSummaryDTO(m.id, m.firstName, m.lastName) "
+			+ "from Member m where m.id in :ids")
+	List<MemberSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+	/**
+	 * Reads the version and modification time of one member without loading
+	 * it or its membership.
+	 */
+	@Query("select new com.gym.management.common.dto.ResourceStamp(1L, m.version, "
+			+ "coalesce(m.updatedAt, m.createdAt)) from Member m where m.id = :id")
+	Optional<ResourceStamp> findStampById(@Param("id") int id);
+
+	/**
+	 * Reads the row count, version sum and latest modification time of all
+	 * members with one aggregate query.
+	 */
+	@Query("select new com.gym.management.common.dto.ResourceStamp(count(m), coalesce(sum(m.version), 0L), "
+			+ "max(coalesce(m.updatedAt, m.createdAt))) from Member m")
+	ResourceStamp findStamp();
 }
@@ -0,0 +1,32 @@
+package com.gym.management.membership.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.gym.management.membership.dto.MemberSearchHit;
+import com.gym.management.membership.model.MemberSearchTerm;
+
+public interface MemberSearchTermRepository extends JpaRepository<MemberSearchTerm, MemberSearchTerm.Key> {
+
+	/**
+	 * Keyset page of the members with a term of the given field that matches
+	 * {@code pattern}, after the given term and member, in term order. The
+	 * pattern must be a prefix followed by %, with ! as escape character.
+	 */
+	@Query("select new com.gym.management.membership.dto.MemberSearchHit(t.term, m.id, m.firstName, m.lastName, "
+			+ "m.email, m.phoneNumber) from MemberSearchTerm t join Member m on m.id = t.memberId "
+			+ "where t.field = :field and t.term like :pattern escape '!' "
+			+ "and (t.term > :afterTerm or (t.term = :afterTerm and t.memberId > :afterMemberId)) "
+			+ "order by t.field, t.term, t.memberId")
+	List<MemberSearchHit> search(@Param("field") MemberSearchTerm.Field field, @Param("pattern") String pattern,
+			@Param("afterTerm") String afterTerm, @Param("afterMemberId") int afterMemberId, Limit limit);
+
+	@Modifying
+	@Query("delete from MemberSearchTerm t where t.memberId = :memberId")
+	int deleteByMemberId(@Param("memberId") int memberId);
+}
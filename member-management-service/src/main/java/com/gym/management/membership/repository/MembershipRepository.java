@@ -1,9 +1,62 @@
 package com.gym.management.membership.repository;
 
-import com.gym.management.membership.model.Membership;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.gym.management.membership.dto.MembershipStateDTO;
+import com.gym.management.membership.model.Membership;
+import com.gym.management.membership.model.Membership.MembershipStatus;
+
 @Repository
 public interface MembershipRepository extends JpaRepository<Membership, Integer> {
-}
\ No newline at end of file
+
+	/**
+	 * Finds the membership of a member through the unique member_id column.
+	 */
+	Optional<Membership> findByMemberId(int memberId);
+
+	/**
+	 * Finds the IDs of memberships in a status that ended before a date, oldest
+	 * first. Served by idx_memberships_status_end_date.
+	 */
+	@Query("select m.id from Membership m where m.status = :status and m.endDate < :before order by m.endDate, m.id")
+	List<Integer> findIdsByStatusAndEndDateBefore(@Param("status") MembershipStatus status,
+			@Param("before") LocalDate before, Limit limit);
+
+	/**
+	 * Finds the earliest end date among memberships in a status that ended
+	 * before a date.
+	 */
+	@Query("select min(m.endDate) from Membership m where m.status = :status and m.endDate < :before")
+	LocalDate findEarliestEndDateByStatusAndEndDateBefore(@Param("status") MembershipStatus status,
+			@Param("before") LocalDate before);
+
+	/**
+	 * Moves memberships from one status to another in a single statement. Rows
+	 * that have left the source status or been extended past the date since
+	 * they were selected are left alone. The version is bumped so that
+	 * concurrent edits of a moved membership fail instead of overwriting it.
+	 *
+	 * @return the number of memberships moved
+	 */
+	@Modifying
+	@Query("update Membership m set m.status = :to, m.version = m.version + 1 "
+			+ "where m.id in :ids and m.status = :from and m.endDate < :before")
+	int updateStatus(@Param("ids") Collection<Integer> ids, @Param("from") MembershipStatus from,
+			@Param("to") MembershipStatus to, @Param("before") LocalDate before);
+
+	@Query("select new com.gym.management.membership.dto.MembershipStateDTO("
+			+ "m.id, m.member.id, m.membershipType, m.status, m.startDate, m.endDate) "
+			+ "from Membership m where m.id in :ids and m.status = :status order by m.id")
+	List<MembershipStateDTO> findStatesByIdInAndStatus(@Param("ids") Collection<Integer> ids,
+			@Param("status") MembershipStatus status);
+}
@@ -0,0 +1,34 @@
+package com.gym.management.membership.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.gym.management.membership.model.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+	/**
+	 * Reads the events after a position, in stream order, optionally only those
+	 * of one aggregate type. Events created after {@code before} are held back.
+	 */
+	@Query("select e from OutboxEvent e where e.id > :after and e.createdAt < :before "
+			+ "and (:aggregateType is null or e.aggregateType = :aggregateType) order by e.id")
+	List<OutboxEvent> findAfter(@Param("after") long after, @Param("aggregateType") String aggregateType,
+			@Param("before") LocalDateTime before, Limit limit);
+
+	/**
+	 * Reads the events of the given aggregate types after a position, in stream
+	 * order. Events created after {@code before} are held back.
+	 */
+	@Query("select e from OutboxEvent e where e.id > :after and e.createdAt < :before "
+			+ "and e.aggregateType in :aggregateTypes order by e.id")
+	List<OutboxEvent> findAfterOfTypes(@Param("after") long after,
+			@Param("aggregateTypes") Collection<String> aggregateTypes, @Param("before") LocalDateTime before,
+			Limit limit);
+}
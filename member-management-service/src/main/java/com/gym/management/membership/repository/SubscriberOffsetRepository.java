@@ -0,0 +1,37 @@
+package com.gym.management.membership.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gym.management.membership.model.SubscriberOffset;
+
+public interface SubscriberOffsetRepository extends JpaRepository<SubscriberOffset, String> {
+
+	/**
+	 * Starts a subscriber at the beginning of the outbox. A plain insert, so it
+	 * fails with a DataIntegrityViolationException if the subscriber already
+	 * has an offset instead of resetting one another relay has advanced.
+	 */
+	@Transactional
+	@Modifying
+	@Query("insert into SubscriberOffset (subscriber, lastEventId, updatedAt) values (:subscriber, 0, :now)")
+	void create(@Param("subscriber") String subscriber, @Param("now") LocalDateTime now);
+
+	/**
+	 * Moves a subscriber's offset forward, but only from the expected position,
+	 * so two relays cannot both advance past the same batch.
+	 *
+	 * @return 1 if the offset was advanced, 0 if it had already moved
+	 */
+	@Transactional
+	@Modifying
+	@Query("update SubscriberOffset o set o.lastEventId = :next, o.updatedAt = :now "
+			+ "where o.subscriber = :subscriber and o.lastEventId = :expected")
+	int advance(@Param("subscriber") String subscriber, @Param("expected") long expected, @Param("next") long next,
+			@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,145 @@
+package com.gym.management.membership.seed;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.gym.management.membership.model.MemberSearchTerm;
+import com.gym.management.membership.service.MemberSearchIndex;
+
+/**
+ * Bulk-loads realistic member and membership volumes for benchmarking. Rows
+ * are written with plain JDBC batches (rewritten into multi-row INSERTs by the
+ * MySQL driver) instead of going through JPA, together with the members'
+ * search terms. The ID and name of every inserted member are also written to
+ * {@code seed.members-file}, from which the fitness service's seeder builds
+ * workouts for exactly these members.
+ *
+ * Run with {@code --spring.profiles.active=seed --seed.members=1000000}.
+ */
+@Component
+@Profile("seed")
+public class MemberSeeder implements CommandLineRunner {
+	private static final Logger logger = LoggerFactory.getLogger(MemberSeeder.class);
+
+	private static final String[] FIRST_NAMES = { "James", "Mary", "Robert", "Patricia", "John", "Jennifer",
+			"Michael", "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica",
+			"Thomas", "Sarah", "Priya", "Aniruddh", "Wei", "Fatima", "Mateo", "Yuki" };
+	private static final String[] LAST_NAMES = { "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+			"Miller", "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson",
+			"Thomas", "Taylor", "Moore", "Sharma", "Chen", "Khan", "Tanaka", "Silva", "Nguyen" };
+
+	private static final String INSERT_MEMBER = "INSERT INTO members "
+			+ "(id, first_name, last_name, email, phone_number, date_of_birth, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+	private static final String INSERT_SEARCH_TERM = "INSERT INTO member_search_terms "
+			+ "(field, term, member_id) VALUES (?, ?, ?)";
+	private static final String INSERT_MEMBERSHIP = "INSERT INTO memberships "
+			+ "(member_id, membership_type, status, start_date, end_date, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final int members;
+	private final int batchSize;
+	private final double membershipRatio;
+	private final long randomSeed;
+	private final Path membersFile;
+
+	public MemberSeeder(JdbcTemplate jdbcTemplate, @Value("${seed.members:1000000}") int members,
+			@Value("${seed.batch-size:5000}") int batchSize,
+			@Value("${seed.membership-ratio:0.9}") double membershipRatio,
+			@Value("${seed.random-seed:42}") long randomSeed,
+			@Value("${seed.members-file:seed-members.csv}") Path membersFile) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.members = members;
+		this.batchSize = batchSize;
+		this.membershipRatio = membershipRatio;
+		this.randomSeed = randomSeed;
+		this.membersFile = membersFile;
+	}
+
+	@Override
+	public void run(String... args) throws IOException {
+		try (BufferedWriter membersWriter = Files.newBufferedWriter(membersFile)) {
+			seed(membersWriter);
+		}
+		logger.info("Wrote the seeded members to {}", membersFile.toAbsolutePath());
+	}
+
+	private void seed(BufferedWriter membersWriter) throws IOException {
+		Integer maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM members", Integer.class);
+		int firstId = maxId + 1;
+		Random random = new Random(randomSeed);
+		LocalDate today = LocalDate.now();
+		long started = System.nanoTime();
+
+		List<Object[]> memberRows = new ArrayList<>(batchSize);
+		List<Object[]> searchTermRows = new ArrayList<>(batchSize * 4);
+		List<Object[]> membershipRows = new ArrayList<>(batchSize);
+
+		for (int i = 0; i < members; i++) {
+			int id = firstId + i;
+			LocalDateTime createdAt = LocalDateTime.now().minusDays(random.nextInt(3 * 365));
+
+			String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+			String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+			String email = "member" + id + "@example.com";
+			String phoneNumber = String.format("+1555%07d", random.nextInt(10_000_000));
+			memberRows.add(new Object[] { id, firstName, lastName, email, phoneNumber,
+					Date.valueOf(today.minusYears(18 + random.nextInt(55)).minusDays(random.nextInt(365))),
+					Timestamp.valueOf(createdAt) });
+			membersWriter.write(id + "," + firstName + "," + lastName);
+			membersWriter.newLine();
+			for (MemberSearchTerm term : MemberSearchIndex.terms(id, firstName, lastName, email, phoneNumber)) {
+				searchTermRows.add(new Object[] { term.getField().name(), term.getTerm(), id });
+			}
+
+			if (random.nextDouble() < membershipRatio) {
+				boolean premium = random.nextInt(4) == 0;
+				LocalDate startDate = today.minusDays(random.nextInt(365));
+				LocalDate endDate = startDate.plusMonths(premium ? 3 : 1);
+				String status = random.nextInt(10) == 0 ? "INACTIVE" : "ACTIVE";
+				membershipRows.add(new Object[] { id, premium ? "P" : "B", status, Date.valueOf(startDate),
+						Date.valueOf(endDate), Timestamp.valueOf(createdAt) });
+			}
+
+			if (memberRows.size() == batchSize) {
+				flush(memberRows, searchTermRows, membershipRows);
+				logger.info("Seeded {} of {} members", i + 1, members);
+			}
+		}
+		flush(memberRows, searchTermRows, membershipRows);
+
+		long seconds = Math.max(1, (System.nanoTime() - started) / 1_000_000_000L);
+		logger.info("Seeded {} members in {}s ({} members/s)", members, seconds, members / seconds);
+	}
+
+	private void flush(List<Object[]> memberRows, List<Object[]> searchTermRows, List<Object[]> membershipRows) {
+		if (!memberRows.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_MEMBER, memberRows);
+			memberRows.clear();
+		}
+		if (!searchTermRows.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_SEARCH_TERM, searchTermRows);
+			searchTermRows.clear();
+		}
+		if (!membershipRows.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_MEMBERSHIP, membershipRows);
+			membershipRows.clear();
+		}
+	}
+}
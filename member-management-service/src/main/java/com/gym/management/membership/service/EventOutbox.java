@@ -0,0 +1,147 @@
+package com.gym.management.membership.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gym.management.membership.model.OutboxEvent;
+import com.gym.management.membership.repository.OutboxEventRepository;
+
+/**
+ * The transactional outbox. Events are appended in the transaction that makes
+ * the change, so they are recorded if and only if the change commits, and are
+ * read back in ID order by downstream services.
+ *
+ * IDs are assigned at insert but become visible at commit, so a reader could
+ * see a later ID before an earlier one commits. Events younger than
+ * {@code events.visibility-delay-ms} are therefore held back; it must exceed
+ * the longest transaction that appends events.
+ */
+@Component
+public class EventOutbox {
+	public static final String MEMBER = "member";
+	public static final String MEMBER_CREATED = "MemberCreated";
+	public static final String MEMBER_UPDATED = "MemberUpdated";
+	public static final String MEMBER_DELETED = "MemberDeleted";
+	public static final String MEMBERSHIP = "membership";
+	public static final String MEMBERSHIP_CREATED = "MembershipCreated";
+	public static final String MEMBERSHIP_RENEWED = "MembershipRenewed";
+	public static final String MEMBERSHIP_UPGRADED = "MembershipUpgraded";
+	public static final String MEMBERSHIP_DEACTIVATED = "MembershipDeactivated";
+	public static final String MEMBERSHIP_EXPIRED = "MembershipExpired";
+
+	private static final int MAX_READ_SIZE = 500;
+
+	private final OutboxEventRepository outboxEventRepository;
+	private final ObjectMapper objectMapper;
+	private final JdbcTemplate jdbcTemplate;
+	private final long visibilityDelayMillis;
+
+	public EventOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+			JdbcTemplate jdbcTemplate, @Value("${events.visibility-delay-ms:1000}") long visibilityDelayMillis) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.objectMapper = objectMapper;
+		this.jdbcTemplate = jdbcTemplate;
+		this.visibilityDelayMillis = visibilityDelayMillis;
+	}
+
+	/**
+	 * Appends an event. Must be called inside the transaction that makes the
+	 * change.
+	 *
+	 * @param aggregateType the type of the changed aggregate
+	 * @param aggregateId   the ID of the changed aggregate
+	 * @param eventType     the type of the change
+	 * @param payload       the event body, serialized as JSON
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void append(String aggregateType, int aggregateId, String eventType, Object payload) {
+		OutboxEvent event = new OutboxEvent();
+		event.setAggregateType(aggregateType);
+		event.setAggregateId(aggregateId);
+		event.setEventType(eventType);
+		event.setPayload(serialize(payload));
+		outboxEventRepository.save(event);
+	}
+
+	/**
+	 * Appends one event of the same type for each of many aggregates as a single
+	 * JDBC batch, for set-based changes such as expiring memberships. Must be
+	 * called inside the transaction that makes the change.
+	 *
+	 * @param aggregateType the type of the changed aggregates
+	 * @param eventType     the type of the change
+	 * @param payloads      the event bodies by aggregate ID, in the order the
+	 *                      events are to be appended
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void appendAll(String aggregateType, String eventType, Map<Integer, ?> payloads) {
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		List<Object[]> rows = new ArrayList<>(payloads.size());
+		payloads.forEach((aggregateId, payload) -> rows
+				.add(new Object[] { aggregateType, aggregateId, eventType, serialize(payload), now }));
+
+		jdbcTemplate.batchUpdate("""
+				INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, created_at)
+				VALUES (?, ?, ?, ?, ?)
+				""", rows);
+	}
+
+	/**
+	 * Reads the events after a position in the stream.
+	 *
+	 * @param after         the ID of the last event already seen, or 0
+	 * @param aggregateType the aggregate type to read, or null for all types
+	 * @param limit         the maximum number of events, clamped to
+	 *                      1..MAX_READ_SIZE
+	 * @return the events, oldest first
+	 */
+	public List<OutboxEvent> read(long after, String aggregateType, int limit) {
+		return outboxEventRepository.findAfter(after, aggregateType, visibleBefore(), Limit.of(clamp(limit)));
+	}
+
+	/**
+	 * Reads the events of several aggregate types after a position in the
+	 * stream.
+	 *
+	 * @param after          the ID of the last event already seen, or 0
+	 * @param aggregateTypes the aggregate types to read, or empty for all types
+	 * @param limit          the maximum number of events, clamped to
+	 *                       1..MAX_READ_SIZE
+	 * @return the events, oldest first
+	 */
+	public List<OutboxEvent> read(long after, Collection<String> aggregateTypes, int limit) {
+		if (aggregateTypes.isEmpty()) {
+			return read(after, (String) null, limit);
+		}
+		return outboxEventRepository.findAfterOfTypes(after, aggregateTypes, visibleBefore(), Limit.of(clamp(limit)));
+	}
+
+	private String serialize(Object payload) {
+		try {
+			return objectMapper.writeValueAsString(payload);
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Event payload is not serializable", e);
+		}
+	}
+
+	private LocalDateTime visibleBefore() {
+		return LocalDateTime.now().minusNanos(visibilityDelayMillis * 1_000_000);
+	}
+
+	private static int clamp(int limit) {
+		return Math.max(1, Math.min(limit, MAX_READ_SIZE));
+	}
+}
@@ -0,0 +1,200 @@
+package com.gym.management.membership.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.gym.management.membership.dto.MemberSearchHit;
+import com.gym.management.membership.dto.MemberSearchPage;
+import com.gym.management.membership.exception.InvalidCursorException;
+import com.gym.management.membership.model.Member;
+import com.gym.management.membership.model.MemberSearchTerm;
+import com.gym.management.membership.model.MemberSearchTerm.Field;
+import com.gym.management.membership.repository.MemberSearchTermRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Prefix search over member names, email addresses and phone numbers, backed
+ * by the member_search_terms table. Each member has a few normalized terms:
+ * the full name and the last name in lower case, the email address in lower
+ * case, and the digits of the phone number, plus its last ten digits for
+ * numbers with a country code. A search is a range scan of the primary key
+ * that reads one page of rows, so it takes the same few milliseconds with a
+ * million members as with a thousand. Pages are keyset pages in term order.
+ *
+ * The terms are written in the same transaction as the member itself, by
+ * {@link MemberServiceImpl}.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberSearchIndex {
+	public static final int MAX_PAGE_SIZE = 100;
+
+	private static final int NATIONAL_NUMBER_DIGITS = 10;
+	private static final int MAX_TERM_LENGTH = 255;
+	private static final Pattern PHONE_QUERY = Pattern.compile("^\\+?[0-9 ().-]*[0-9][0-9 ().-]*$");
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+	private final MemberSearchTermRepository memberSearchTermRepository;
+
+	/**
+	 * Adds the terms of a member that has none yet.
+	 *
+	 * @param member the saved member
+	 */
+	public void add(Member member) {
+		memberSearchTermRepository.saveAll(terms(member.getId(), member.getFirstName(), member.getLastName(),
+				member.getEmail(), member.getPhoneNumber()));
+	}
+
+	/**
+	 * Replaces the terms of a member after its details changed.
+	 *
+	 * @param member the saved member
+	 */
+	public void update(Member member) {
+		memberSearchTermRepository.deleteByMemberId(member.getId());
+		add(member);
+	}
+
+	/**
+	 * Removes the terms of a member that is being deleted.
+	 *
+	 * @param memberId the ID of the member
+	 */
+	public void remove(int memberId) {
+		memberSearchTermRepository.deleteByMemberId(memberId);
+	}
+
+	/**
+	 * Finds the members with a term of the given field that starts with the
+	 * normalized query.
+	 *
+	 * @param query  the prefix to search for
+	 * @param field  the field to search, or null to pick it from the query: an
+	 *               email address if it contains @, a phone number if it is
+	 *               made of digits and phone punctuation, otherwise a name
+	 * @param cursor the cursor returned by the previous page, or null for the
+	 *               first page
+	 * @param size   the page size, clamped to MAX_PAGE_SIZE
+	 * @return the page of matching members
+	 * @throws InvalidCursorException if the cursor was not issued by this method
+	 */
+	public MemberSearchPage search(String query, Field field, String cursor, int size) {
+		Field searched = field != null ? field : detectField(query);
+		String prefix = normalize(searched, query);
+		if (prefix.isEmpty()) {
+			return new MemberSearchPage(List.of(), null);
+		}
+		int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+		String afterTerm = "";
+		int afterMemberId = 0;
+		if (cursor != null && !cursor.isEmpty()) {
+			String decoded = decodeCursor(cursor);
+			int separator = decoded.indexOf(':');
+			afterMemberId = Integer.parseInt(decoded.substring(0, separator));
+			afterTerm = decoded.substring(separator + 1);
+		}
+
+		List<MemberSearchHit> rows = memberSearchTermRepository.search(searched, escapeLike(prefix) + "%",
+				afterTerm, afterMemberId, Limit.of(limit + 1));
+		String nextCursor = null;
+		if (rows.size() > limit) {
+			rows = rows.subList(0, limit);
+			MemberSearchHit last = rows.get(limit - 1);
+			nextCursor = encodeCursor(last.getId() + ":" + last.getMatch());
+		}
+
+		// A member whose first and last names start alike matches on both its
+		// name terms; list it once per page.
+		Set<Integer> seen = new HashSet<>();
+		List<MemberSearchHit> content = new ArrayList<>(rows.size());
+		for (MemberSearchHit row : rows) {
+			if (seen.add(row.getId())) {
+				content.add(row);
+			}
+		}
+		return new MemberSearchPage(content, nextCursor);
+	}
+
+	/**
+	 * Computes the search terms of a member. Also used by the seeder, which
+	 * writes members with plain JDBC. V10 backfilled the table with a frozen
+	 * copy of this format; changing it needs a new migration that rebuilds
+	 * the terms of the existing members.
+	 *
+	 * @return the distinct terms of the member
+	 */
+	public static List<MemberSearchTerm> terms(int memberId, String firstName, String lastName, String email,
+			String phoneNumber) {
+		Set<MemberSearchTerm> terms = new LinkedHashSet<>();
+		addTerm(terms, memberId, Field.NAME, firstName + " " + lastName);
+		addTerm(terms, memberId, Field.NAME, lastName);
+		addTerm(terms, memberId, Field.EMAIL, email);
+		String digits = normalize(Field.PHONE, phoneNumber);
+		addTerm(terms, memberId, Field.PHONE, digits);
+		if (digits.length() > NATIONAL_NUMBER_DIGITS) {
+			addTerm(terms, memberId, Field.PHONE, digits.substring(digits.length() - NATIONAL_NUMBER_DIGITS));
+		}
+		return new ArrayList<>(terms);
+	}
+
+	private static void addTerm(Set<MemberSearchTerm> terms, int memberId, Field field, String value) {
+		String term = normalize(field, value);
+		if (!term.isEmpty()) {
+			terms.add(new MemberSearchTerm(field, term, memberId));
+		}
+	}
+
+	static Field detectField(String query) {
+		if (query.indexOf('@') >= 0) {
+			return Field.EMAIL;
+		}
+		return PHONE_QUERY.matcher(query.trim()).matches() ? Field.PHONE : Field.NAME;
+	}
+
+	static String normalize(Field field, String value) {
+		if (value == null) {
+			return "";
+		}
+		String normalized = switch (field) {
+			case NAME -> WHITESPACE.matcher(value.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+			case EMAIL -> value.trim().toLowerCase(Locale.ROOT);
+			case PHONE -> value.replaceAll("[^0-9]", "");
+		};
+		return normalized.length() > MAX_TERM_LENGTH ? normalized.substring(0, MAX_TERM_LENGTH) : normalized;
+	}
+
+	private static String escapeLike(String prefix) {
+		return prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+	}
+
+	private static String encodeCursor(String value) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String decodeCursor(String cursor) {
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separator = decoded.indexOf(':');
+			if (separator > 0) {
+				Integer.parseInt(decoded.substring(0, separator));
+				return decoded;
+			}
+		} catch (IllegalArgumentException e) {
+			// Not Base64 or no member ID; reported below.
+		}
+		throw new InvalidCursorException("Invalid search cursor " + cursor);
+	}
+}
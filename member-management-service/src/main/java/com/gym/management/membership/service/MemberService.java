@@ -2,7 +2,11 @@ package com.gym.management.membership.service;
 
 import java.util.List;
 
+import com.gym.management.common.dto.ResourceStamp;
+import com.gym.management.membership.dto.MemberSearchPage;
+import com.gym.management.membership.dto.MemberSummaryDTO;
 import com.gym.management.membership.model.Member;
+import com.gym.management.membership.model.MemberSearchTerm;
 
 /**
  * Service interface for managing members.
@@ -19,16 +23,41 @@ public interface MemberService {
 	 */
 	Member getMember(int id);
 
+	/**
+	 * Retrieves the version stamp of a member, or null if it does not exist.
+	 */
+	ResourceStamp getMemberStamp(int id);
+
+	/**
+	 * Retrieves the summaries of several members at once.
+	 */
+	List<MemberSummaryDTO> getMemberSummaries(List<Integer> ids);
+
 	/**
 	 * Retrieves all members.
 	 */
 	List<Member> getAllMembers();
 
+	/**
+	 * Retrieves the version stamp of the list of all members.
+	 */
+	ResourceStamp getAllMembersStamp();
+
+	/**
+	 * Finds members by a prefix of their name, email address or phone number.
+	 */
+	MemberSearchPage searchMembers(String query, MemberSearchTerm.Field field, String cursor, int size);
+
 	/**
 	 * Updates an existing member.
 	 */
 	Member updateMember(int id, Member memberDetails);
 
+	/**
+	 * Updates an existing member if it is still at the expected version.
+	 */
+	Member updateMember(int id, Member memberDetails, Long expectedVersion);
+
 	/**
 	 * Deletes a member by ID.
 	 */
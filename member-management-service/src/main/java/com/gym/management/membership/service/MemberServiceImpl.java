@@ -1,12 +1,20 @@
 package com.gym.management.membership.service;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.gym.management.common.dto.ResourceStamp;
+import com.gym.management.membership.dto.MemberSearchPage;
+import com.gym.management.membership.dto.MemberSummaryDTO;
+import com.gym.management.membership.exception.BatchTooLargeException;
 import com.gym.management.membership.exception.ResourceNotFoundException;
+import com.gym.management.membership.exception.VersionConflictException;
 import com.gym.management.membership.model.Member;
+import com.gym.management.membership.model.MemberSearchTerm;
 import com.gym.management.membership.repository.MemberRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -14,22 +22,38 @@ import lombok.RequiredArgsConstructor;
 /**
  * Service implementation for managing gym members. This class provides methods
  * to create, retrieve, update, and delete members. It uses the MemberRepository
- * for database operations.
+ * for database operations, keeps the MemberSearchIndex in step with every
+ * change, and records every change in the EventOutbox.
  */
 @Service
 @RequiredArgsConstructor
 public class MemberServiceImpl implements MemberService {
 	private final MemberRepository memberRepository;
+	private final EventOutbox eventOutbox;
+	private final MemberSearchIndex memberSearchIndex;
+
+	private static final int MAX_BATCH_SIZE = 1000;
 
 	/**
-	 * Creates a new member and saves it to the database.
+	 * Creates a new member and saves it to the database. Saving a member that
+	 * already exists records an update instead.
 	 *
 	 * @param member the member to be created
 	 * @return the created member
 	 */
 	@Override
+	@Transactional
 	public Member createMember(Member member) {
-		return memberRepository.save(member);
+		boolean isNew = member.getId() == 0;
+		Member saved = memberRepository.save(member);
+		if (isNew) {
+			memberSearchIndex.add(saved);
+		} else {
+			memberSearchIndex.update(saved);
+		}
+		eventOutbox.append(EventOutbox.MEMBER, saved.getId(),
+				isNew ? EventOutbox.MEMBER_CREATED : EventOutbox.MEMBER_UPDATED, toSummary(saved));
+		return saved;
 	}
 
 	/**
@@ -45,6 +69,40 @@ public class MemberServiceImpl implements MemberService {
 				.orElseThrow(() -> new ResourceNotFoundException("Member not found with ID " + id));
 	}
 
+	/**
+	 * Retrieves the version stamp of a member without loading it.
+	 *
+	 * @param id the ID of the member
+	 * @return the stamp of the member, or null if no member has the given ID
+	 */
+	@Override
+	public ResourceStamp getMemberStamp(int id) {
+		return memberRepository.findStampById(id).orElse(null);
+	}
+
+	/**
+	 * Retrieves the summaries of the given members with a single query. Unknown
+	 * IDs are skipped, so the result may be shorter than the request.
+	 *
+	 * @param ids the IDs of the members to retrieve
+	 * @return the summaries of the members that exist
+	 * @throws BatchTooLargeException if more than MAX_BATCH_SIZE distinct IDs
+	 *                                are requested
+	 */
+	@Override
+	public List<MemberSummaryDTO> getMemberSummaries(List<Integer> ids) {
+		Set<Integer> distinctIds = new LinkedHashSet<>(ids);
+
+		if (distinctIds.size() > MAX_BATCH_SIZE) {
+			throw new BatchTooLargeException("At most " + MAX_BATCH_SIZE + " members can be requested at once");
+		}
+		if (distinctIds.isEmpty()) {
+			return List.of();
+		}
+
+		return memberRepository.findSummariesByIdIn(distinctIds);
+	}
+
 	/**
 	 * Retrieves all members from the database.
 	 *
@@ -55,6 +113,32 @@ public class MemberServiceImpl implements MemberService {
 		return memberRepository.findAll();
 	}
 
+	/**
+	 * Retrieves the version stamp of the list of all members with one aggregate
+	 * query.
+	 *
+	 * @return the stamp of the member list
+	 */
+	@Override
+	public ResourceStamp getAllMembersStamp() {
+		return memberRepository.findStamp();
+	}
+
+	/**
+	 * Finds members by a prefix of their name, email address or phone number,
+	 * one keyset page at a time.
+	 *
+	 * @param query  the prefix to search for
+	 * @param field  the field to search, or null to pick it from the query
+	 * @param cursor the cursor returned by the previous page, or null
+	 * @param size   the page size
+	 * @return the page of matching members
+	 */
+	@Override
+	public MemberSearchPage searchMembers(String query, MemberSearchTerm.Field field, String cursor, int size) {
+		return memberSearchIndex.search(query, field, cursor, size);
+	}
+
 	/**
 	 * Updates an existing member's details. This method is transactional to ensure
 	 * data consistency.
@@ -66,13 +150,39 @@ public class MemberServiceImpl implements MemberService {
 	@Override
 	@Transactional
 	public Member updateMember(int id, Member memberDetails) {
+		return updateMember(id, memberDetails, null);
+	}
+
+	/**
+	 * Updates an existing member's details if the member is still at the version
+	 * the caller last read. The write itself is guarded by the version column,
+	 * so an update that races another one fails at commit instead of silently
+	 * overwriting it.
+	 *
+	 * @param id              the ID of the member to update
+	 * @param memberDetails   the new details of the member
+	 * @param expectedVersion the version the caller last read, or null to skip
+	 *                        the check
+	 * @return the updated member
+	 * @throws VersionConflictException if the member has changed since
+	 */
+	@Override
+	@Transactional
+	public Member updateMember(int id, Member memberDetails, Long expectedVersion) {
 		Member member = getMember(id);
+		if (expectedVersion != null && expectedVersion != member.getVersion()) {
+			throw new VersionConflictException(
+					"Member " + id + " is at version " + member.getVersion() + ", not " + expectedVersion);
+		}
 		member.setFirstName(memberDetails.getFirstName());
 		member.setLastName(memberDetails.getLastName());
 		member.setEmail(memberDetails.getEmail());
 		member.setPhoneNumber(memberDetails.getPhoneNumber());
 		member.setDateOfBirth(memberDetails.getDateOfBirth());
-		return memberRepository.save(member);
+		Member saved = memberRepository.save(member);
+		memberSearchIndex.update(saved);
+		eventOutbox.append(EventOutbox.MEMBER, id, EventOutbox.MEMBER_UPDATED, toSummary(saved));
+		return saved;
 	}
 
 	/**
@@ -82,10 +192,17 @@ public class MemberServiceImpl implements MemberService {
 	 * @throws ResourceNotFoundException if no member is found with the given ID
 	 */
 	@Override
+	@Transactional
 	public void deleteMember(int id) {
 		if (!memberRepository.existsById(id)) {
 			throw new ResourceNotFoundException("Member not found with ID " + id);
 		}
+		memberSearchIndex.remove(id);
 		memberRepository.deleteById(id);
+		eventOutbox.append(EventOutbox.MEMBER, id, EventOutbox.MEMBER_DELETED, new MemberSummaryDTO(id, null, null));
+	}
+
+	private MemberSummaryDTO toSummary(Member member) {
+		return new MemberSummaryDTO(member.getId(), member.getFirstName(), member.getLastName());
 	}
 }
\ No newline at end of file
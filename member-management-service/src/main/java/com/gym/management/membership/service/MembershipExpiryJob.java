@@ -0,0 +1,189 @@
+package com.gym.management.membership.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gym.management.membership.dto.MembershipStateDTO;
+import com.gym.management.membership.model.JobCheckpoint;
+import com.gym.management.membership.model.Membership.MembershipStatus;
+import com.gym.management.membership.repository.JobCheckpointRepository;
+import com.gym.management.membership.repository.MembershipRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Moves active memberships whose end date has passed to EXPIRED.
+ *
+ * Due memberships are found oldest first through
+ * idx_memberships_status_end_date and expired in chunks of
+ * {@code membership.expiry.chunk-size}, each chunk with one UPDATE and one
+ * batch of MembershipExpired events in its own short transaction. Expired rows
+ * leave the index range, so every chunk starts at the front of what is still
+ * due and no chunk is ever skipped or repeated.
+ *
+ * Only the instance holding the lease in job_checkpoints runs the job. Each
+ * chunk records its progress and extends the lease in its own transaction, so
+ * an owner that stops loses the lease after {@code membership.expiry.lease-ms}
+ * and the next owner resumes the unfinished run with the same cutoff date.
+ * The lease relies on instance clocks agreeing to well within its length.
+ *
+ * Publishes membership.expiry.expired (throughput), membership.expiry.chunk
+ * (chunk latency) and membership.expiry.lag (days between the oldest due
+ * membership and the cutoff, measured at the start and end of each run).
+ */
+@Component
+@ConditionalOnProperty(name = "membership.expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class MembershipExpiryJob {
+	static final String JOB_NAME = "membership-expiry";
+
+	private static final Logger logger = LoggerFactory.getLogger(MembershipExpiryJob.class);
+
+	private final MembershipRepository membershipRepository;
+	private final JobCheckpointRepository jobCheckpointRepository;
+	private final EventOutbox eventOutbox;
+	private final TransactionTemplate transactionTemplate;
+	private final int chunkSize;
+	private final long leaseMillis;
+	private final String owner = UUID.randomUUID().toString();
+	private final Counter expired;
+	private final Timer chunkTimer;
+	private final AtomicLong lagDays = new AtomicLong();
+
+	public MembershipExpiryJob(MembershipRepository membershipRepository,
+			JobCheckpointRepository jobCheckpointRepository, EventOutbox eventOutbox,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+			@Value("${membership.expiry.chunk-size:500}") int chunkSize,
+			@Value("${membership.expiry.lease-ms:300000}") long leaseMillis) {
+		this.membershipRepository = membershipRepository;
+		this.jobCheckpointRepository = jobCheckpointRepository;
+		this.eventOutbox = eventOutbox;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.chunkSize = chunkSize;
+		this.leaseMillis = leaseMillis;
+		this.expired = Counter.builder("membership.expiry.expired")
+				.description("Memberships moved to EXPIRED")
+				.register(meterRegistry);
+		this.chunkTimer = Timer.builder("membership.expiry.chunk")
+				.description("Time to expire one chunk of memberships")
+				.register(meterRegistry);
+		Gauge.builder("membership.expiry.lag", lagDays, AtomicLong::get)
+				.description("Days between the oldest due membership and the cutoff of the last run")
+				.baseUnit("days")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Runs or resumes an expiry run if this instance can take the lease.
+	 */
+	@Scheduled(fixedDelayString = "${membership.expiry.interval-ms:60000}")
+	public void run() {
+		if (!acquireLease()) {
+			return;
+		}
+
+		JobCheckpoint checkpoint = jobCheckpointRepository.findById(JOB_NAME).orElseThrow();
+		LocalDate cutoff = checkpoint.getCutoffDate();
+		if (cutoff == null || checkpoint.getFinishedAt() != null) {
+			cutoff = LocalDate.now();
+			if (jobCheckpointRepository.start(JOB_NAME, owner, cutoff, LocalDateTime.now()) == 0) {
+				return;
+			}
+		} else {
+			logger.info("Resuming membership expiry for {} after {} memberships", cutoff,
+					checkpoint.getProcessed());
+		}
+
+		recordLag(cutoff);
+		Integer selected;
+		do {
+			LocalDate before = cutoff;
+			selected = chunkTimer.record(() -> transactionTemplate.execute(status -> {
+				Integer chunk = expireChunk(before);
+				if (chunk == null) {
+					status.setRollbackOnly();
+				}
+				return chunk;
+			}));
+		} while (selected != null && selected == chunkSize);
+
+		if (selected == null) {
+			logger.warn("Lost the membership expiry lease, leaving the run to the next owner");
+			return;
+		}
+		recordLag(cutoff);
+		jobCheckpointRepository.finish(JOB_NAME, owner, LocalDateTime.now());
+	}
+
+	/**
+	 * Expires one chunk of due memberships and records it in the checkpoint.
+	 *
+	 * @param before the cutoff date of the run
+	 * @return the number of memberships selected, or null if the lease has been
+	 *         lost and the chunk must be rolled back
+	 */
+	private Integer expireChunk(LocalDate before) {
+		List<Integer> ids = membershipRepository.findIdsByStatusAndEndDateBefore(MembershipStatus.ACTIVE, before,
+				Limit.of(chunkSize));
+		if (ids.isEmpty()) {
+			return 0;
+		}
+
+		int updated = membershipRepository.updateStatus(ids, MembershipStatus.ACTIVE, MembershipStatus.EXPIRED,
+				before);
+		if (updated > 0) {
+			Map<Integer, MembershipStateDTO> states = new LinkedHashMap<>();
+			for (MembershipStateDTO state : membershipRepository.findStatesByIdInAndStatus(ids,
+					MembershipStatus.EXPIRED)) {
+				states.put(state.getMembershipId(), state);
+			}
+			eventOutbox.appendAll(EventOutbox.MEMBERSHIP, EventOutbox.MEMBERSHIP_EXPIRED, states);
+		}
+
+		if (jobCheckpointRepository.checkpoint(JOB_NAME, owner, updated, leaseUntil()) == 0) {
+			return null;
+		}
+		expired.increment(updated);
+		return ids.size();
+	}
+
+	private boolean acquireLease() {
+		if (!jobCheckpointRepository.existsById(JOB_NAME)) {
+			try {
+				jobCheckpointRepository.save(new JobCheckpoint(JOB_NAME));
+			} catch (DataIntegrityViolationException e) {
+				// Another instance created it first; the lease decides who runs.
+			}
+		}
+		return jobCheckpointRepository.acquire(JOB_NAME, owner, LocalDateTime.now(), leaseUntil()) == 1;
+	}
+
+	private LocalDateTime leaseUntil() {
+		return LocalDateTime.now().plus(leaseMillis, ChronoUnit.MILLIS);
+	}
+
+	private void recordLag(LocalDate cutoff) {
+		LocalDate earliest = membershipRepository
+				.findEarliestEndDateByStatusAndEndDateBefore(MembershipStatus.ACTIVE, cutoff);
+		lagDays.set(earliest == null ? 0 : ChronoUnit.DAYS.between(earliest, cutoff));
+	}
+}
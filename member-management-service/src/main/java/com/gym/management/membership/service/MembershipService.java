@@ -35,10 +35,15 @@ public interface MembershipService {
 	 */
 	List<Membership> getAllMemberships();
 
+	/**
+	 * Retrieves a membership by ID.
+	 */
+	Membership getMembership(int membershipId);
+
 	/**
 	 * Retrieves a membership by member ID.
 	 */
-	Membership getMembership(int memberId);
+	Membership getMembershipByMemberId(int memberId);
 
     /**
      * Calculates the end date of a membership based on its type.
@@ -2,11 +2,11 @@ package com.gym.management.membership.service;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.gym.management.membership.dto.MembershipStateDTO;
 import com.gym.management.membership.exception.MembershipAlreadyExistsException;
 import com.gym.management.membership.exception.ResourceNotFoundException;
 import com.gym.management.membership.model.Member;
@@ -18,13 +18,17 @@ import lombok.RequiredArgsConstructor;
 /**
  * Service implementation for managing gym memberships. This class provides
  * methods to create, renew, upgrade, and deactivate memberships. It uses the
- * MembershipRepository for database operations.
+ * MembershipRepository for database operations, and records every lifecycle
+ * change in the EventOutbox within the same transaction. Lifecycle changes
+ * load the membership by its own ID and are versioned, so a concurrent change
+ * to the same membership fails instead of being overwritten.
  */
 @Service
 @RequiredArgsConstructor
 public class MembershipServiceImpl implements MembershipService {
 	private final MemberService memberService;
 	private final MembershipRepository membershipRepository;
+	private final EventOutbox eventOutbox;
 
 	private static final String MEMBERSHIP_NOT_FOUND_MESSAGE = "Membership not found for member with ID";
 
@@ -54,8 +58,9 @@ public class MembershipServiceImpl implements MembershipService {
 		membership.setEndDate(calculateEndDate(type));
 
 		member.setMembership(membership);
-		memberService.createMember(member);
+		membership = membershipRepository.save(membership);
 
+		publish(membership, EventOutbox.MEMBERSHIP_CREATED);
 		return membership;
 	}
 
@@ -69,18 +74,13 @@ public class MembershipServiceImpl implements MembershipService {
 	@Transactional
 	@Override
 	public Membership renewMembership(int membershipId) {
-		Member member = memberService.getMember(membershipId);
-		Membership membership = member.getMembership();
-
-		if (membership == null) {
-			throw new ResourceNotFoundException(MEMBERSHIP_NOT_FOUND_MESSAGE + membershipId);
-		}
+		Membership membership = getMembership(membershipId);
 
 		membership.setStartDate(LocalDate.now());
 		membership.setEndDate(calculateEndDate(membership.getMembershipType()));
 		membership.setStatus(Membership.MembershipStatus.ACTIVE);
 
-		memberService.createMember(member);
+		publish(membership, EventOutbox.MEMBERSHIP_RENEWED);
 		return membership;
 	}
 
@@ -95,17 +95,12 @@ public class MembershipServiceImpl implements MembershipService {
 	@Transactional
 	@Override
 	public Membership upgradeMembership(int membershipId, Membership.MembershipType newType) {
-		Member member = memberService.getMember(membershipId);
-		Membership membership = member.getMembership();
-
-		if (membership == null) {
-			throw new ResourceNotFoundException(MEMBERSHIP_NOT_FOUND_MESSAGE + membershipId);
-		}
+		Membership membership = getMembership(membershipId);
 
 		membership.setMembershipType(newType);
 		membership.setEndDate(calculateEndDate(newType));
 
-		memberService.createMember(member);
+		publish(membership, EventOutbox.MEMBERSHIP_UPGRADED);
 		return membership;
 	}
 
@@ -118,15 +113,10 @@ public class MembershipServiceImpl implements MembershipService {
 	@Transactional
 	@Override
 	public void deactivateMembership(int membershipId) {
-		Member member = memberService.getMember(membershipId);
-		Membership membership = member.getMembership();
-
-		if (membership == null) {
-			throw new ResourceNotFoundException(MEMBERSHIP_NOT_FOUND_MESSAGE + membershipId);
-		}
+		Membership membership = getMembership(membershipId);
 
 		membership.setStatus(Membership.MembershipStatus.INACTIVE);
-		memberService.createMember(member);
+		publish(membership, EventOutbox.MEMBERSHIP_DEACTIVATED);
 	}
 
 	/**
@@ -153,21 +143,41 @@ public class MembershipServiceImpl implements MembershipService {
 		return membershipRepository.findAll();
 	}
 
+	/**
+	 * Retrieves a membership by its ID.
+	 *
+	 * @param membershipId the ID of the membership
+	 * @return the retrieved membership
+	 * @throws ResourceNotFoundException if no membership is found with the given ID
+	 */
+	@Override
+	public Membership getMembership(int membershipId) {
+		return membershipRepository.findById(membershipId)
+				.orElseThrow(() -> new ResourceNotFoundException("Membership not found with id: " + membershipId));
+	}
+
 	/**
 	 * Retrieves a membership by the member ID.
 	 *
 	 * @param memberId the ID of the member
 	 * @return the retrieved membership
-	 * @throws ResourceNotFoundException if no membership is found with the given ID
+	 * @throws ResourceNotFoundException if the member has no membership
 	 */
 	@Override
-	public Membership getMembership(int memberId) {
-		Optional<Membership> membershipOptional = membershipRepository.findById(memberId);
+	public Membership getMembershipByMemberId(int memberId) {
+		return membershipRepository.findByMemberId(memberId)
+				.orElseThrow(() -> new ResourceNotFoundException(MEMBERSHIP_NOT_FOUND_MESSAGE + " " + memberId));
+	}
 
-		if (membershipOptional.isPresent()) {
-			return membershipOptional.get();
-		} else {
-			throw new ResourceNotFoundException("Membership not found with id: " + memberId);
-		}
+	/**
+	 * Records a lifecycle change. Changes to the managed membership are flushed
+	 * when the surrounding transaction commits, together with the event, as a
+	 * single-row UPDATE guarded by the membership's version.
+	 *
+	 * @param membership the changed membership
+	 * @param eventType  the type of the change
+	 */
+	private void publish(Membership membership, String eventType) {
+		eventOutbox.append(EventOutbox.MEMBERSHIP, membership.getId(), eventType, MembershipStateDTO.of(membership));
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,148 @@
+package com.gym.management.membership.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import com.gym.management.membership.model.OutboxEvent;
+import com.gym.management.membership.model.SubscriberOffset;
+import com.gym.management.membership.repository.SubscriberOffsetRepository;
+
+/**
+ * Pushes outbox events to the subscribers configured under
+ * {@code outbox.relay.subscribers}, so services such as billing or access
+ * control can follow membership state without polling.
+ *
+ * Each subscriber receives its events in ID order, in batches of at most
+ * {@code outbox.relay.batch-size}, with one batch in flight at a time. Its
+ * offset only moves once the batch has been acknowledged with a 2xx response.
+ * A subscriber that fails or answers 429/503 is backed off exponentially,
+ * honouring Retry-After, while undelivered events simply stay in the outbox.
+ * Delivery is at least once; every event carries its ID, which subscribers
+ * use to apply each event exactly once. Delivery timeouts come from
+ * {@code spring.http.client.*}.
+ */
+@Component
+public class OutboxRelay {
+	private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+	private final EventOutbox eventOutbox;
+	private final SubscriberOffsetRepository subscriberOffsetRepository;
+	private final OutboxRelayProperties properties;
+	private final RestClient restClient;
+	private final Map<String, Backoff> backoffs = new ConcurrentHashMap<>();
+
+	public OutboxRelay(EventOutbox eventOutbox, SubscriberOffsetRepository subscriberOffsetRepository,
+			OutboxRelayProperties properties, RestClient.Builder restClientBuilder) {
+		this.eventOutbox = eventOutbox;
+		this.subscriberOffsetRepository = subscriberOffsetRepository;
+		this.properties = properties;
+		this.restClient = restClientBuilder.build();
+	}
+
+	/**
+	 * Delivers pending events to every subscriber that is not backing off.
+	 */
+	@Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:500}")
+	public void relay() {
+		for (OutboxRelayProperties.Subscriber subscriber : properties.getSubscribers()) {
+			Backoff backoff = backoffs.get(subscriber.getName());
+			if (backoff != null && backoff.retryAt > System.currentTimeMillis()) {
+				continue;
+			}
+			try {
+				drain(subscriber);
+				backoffs.remove(subscriber.getName());
+			} catch (RestClientException e) {
+				backOff(subscriber.getName(), e);
+			}
+		}
+	}
+
+	/**
+	 * Sends full batches to a subscriber until it has caught up or the per-run
+	 * limit is reached.
+	 *
+	 * @param subscriber the subscriber
+	 */
+	void drain(OutboxRelayProperties.Subscriber subscriber) {
+		for (int batches = 0; batches < properties.getMaxBatchesPerRun(); batches++) {
+			long offset = offset(subscriber.getName());
+
+			List<OutboxEvent> events = eventOutbox.read(offset, subscriber.getAggregateTypes(),
+					properties.getBatchSize());
+			if (events.isEmpty()) {
+				return;
+			}
+
+			restClient.post()
+					.uri(subscriber.getUrl())
+					.contentType(MediaType.APPLICATION_JSON)
+					.body(events)
+					.retrieve()
+					.toBodilessEntity();
+
+			long next = events.get(events.size() - 1).getId();
+			if (subscriberOffsetRepository.advance(subscriber.getName(), offset, next, LocalDateTime.now()) == 0) {
+				logger.info("Offset of subscriber {} was advanced concurrently", subscriber.getName());
+				return;
+			}
+			if (events.size() < properties.getBatchSize()) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Reads a subscriber's offset, starting it at 0 the first time. Offsets are
+	 * only ever created here and moved by
+	 * {@link SubscriberOffsetRepository#advance}, never saved whole, so two
+	 * relays starting together cannot reset each other's progress.
+	 */
+	private long offset(String subscriber) {
+		Optional<SubscriberOffset> offset = subscriberOffsetRepository.findById(subscriber);
+		if (offset.isEmpty()) {
+			try {
+				subscriberOffsetRepository.create(subscriber, LocalDateTime.now());
+				return 0;
+			} catch (DataIntegrityViolationException e) {
+				// Another relay created it first; carry on from wherever it is now.
+				offset = subscriberOffsetRepository.findById(subscriber);
+			}
+		}
+		return offset.orElseThrow().getLastEventId();
+	}
+
+	private void backOff(String subscriber, RestClientException e) {
+		Backoff previous = backoffs.get(subscriber);
+		long delay = previous == null ? properties.getInitialBackoffMs()
+				: Math.min(previous.delayMs * 2, properties.getMaxBackoffMs());
+
+		if (e instanceof HttpStatusCodeException statusException) {
+			String retryAfter = statusException.getResponseHeaders() == null ? null
+					: statusException.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+			if (retryAfter != null && retryAfter.chars().allMatch(Character::isDigit)) {
+				delay = Math.min(Long.parseLong(retryAfter) * 1000, properties.getMaxBackoffMs());
+			}
+		}
+
+		backoffs.put(subscriber, new Backoff(delay, System.currentTimeMillis() + delay));
+		logger.warn("Delivery to subscriber {} failed, retrying in {} ms: {}", subscriber, delay, e.getMessage());
+	}
+
+	private record Backoff(long delayMs, long retryAt) {
+	}
+}
@@ -0,0 +1,41 @@
+package com.gym.management.membership.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings of the {@link OutboxRelay}, bound from {@code outbox.relay.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "outbox.relay")
+public class OutboxRelayProperties {
+	/** Maximum number of events sent to a subscriber in one request. */
+	private int batchSize = 100;
+
+	/** Maximum number of batches sent to one subscriber per relay run. */
+	private int maxBatchesPerRun = 10;
+
+	/** Delay before retrying a subscriber after its first failure. */
+	private long initialBackoffMs = 500;
+
+	/** Upper bound of the retry delay. */
+	private long maxBackoffMs = 60_000;
+
+	private List<Subscriber> subscribers = new ArrayList<>();
+
+	@Data
+	public static class Subscriber {
+		/** Unique name; the subscriber's offset is stored under it. */
+		private String name;
+
+		/** URL that batches are POSTed to. */
+		private String url;
+
+		/** Aggregate types to deliver; all types when empty. */
+		private List<String> aggregateTypes = new ArrayList<>();
+	}
+}
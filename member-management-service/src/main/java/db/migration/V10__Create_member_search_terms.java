@@ -0,0 +1,97 @@
+package db.migration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Creates member_search_terms, the normalized prefix-search terms kept in step
+ * by MemberSearchIndex, and fills it for the existing members.
+ *
+ * Written in Java because SQL cannot collapse inner whitespace or skip empty
+ * terms the way MemberSearchIndex does. The term format below is a frozen copy
+ * of MemberSearchIndex.terms as of this version, so the migration gives the
+ * same result whenever it runs; if the format changes, a new migration
+ * rebuilds the table. Members are read in keyset pages, so the migration holds
+ * one page at a time.
+ */
+public class V10__Create_member_search_terms extends BaseJavaMigration {
+	private static final int PAGE_SIZE = 1000;
+	private static final int NATIONAL_NUMBER_DIGITS = 10;
+	private static final int MAX_TERM_LENGTH = 255;
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+	@Override
+	public void migrate(Context context) {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+
+		// The primary key serves prefix searches in page order.
+		jdbcTemplate.execute("""
+				CREATE TABLE member_search_terms (
+					field     VARCHAR(8)   NOT NULL,
+					term      VARCHAR(255) NOT NULL,
+					member_id INT          NOT NULL,
+					PRIMARY KEY (field, term, member_id),
+					INDEX idx_member_search_terms_member_id (member_id)
+				) ENGINE = InnoDB
+				""");
+
+		int afterId = 0;
+		while (true) {
+			List<Object[]> rows = new ArrayList<>();
+			List<Integer> ids = jdbcTemplate.query("""
+					SELECT id, first_name, last_name, email, phone_number
+					FROM members WHERE id > ? ORDER BY id LIMIT ?
+					""", (resultSet, rowNum) -> {
+				int id = resultSet.getInt("id");
+				addTerms(rows, id, resultSet.getString("first_name"), resultSet.getString("last_name"),
+						resultSet.getString("email"), resultSet.getString("phone_number"));
+				return id;
+			}, afterId, PAGE_SIZE);
+			if (ids.isEmpty()) {
+				return;
+			}
+			jdbcTemplate.batchUpdate("INSERT INTO member_search_terms (field, term, member_id) VALUES (?, ?, ?)",
+					rows);
+			afterId = ids.get(ids.size() - 1);
+		}
+	}
+
+	private static void addTerms(List<Object[]> rows, int memberId, String firstName, String lastName,
+			String email, String phoneNumber) {
+		Set<List<String>> terms = new LinkedHashSet<>();
+		addTerm(terms, "NAME", normalizeName(firstName + " " + lastName));
+		addTerm(terms, "NAME", normalizeName(lastName));
+		addTerm(terms, "EMAIL", email == null ? "" : truncate(email.trim().toLowerCase(Locale.ROOT)));
+		String digits = phoneNumber == null ? "" : truncate(phoneNumber.replaceAll("[^0-9]", ""));
+		addTerm(terms, "PHONE", digits);
+		if (digits.length() > NATIONAL_NUMBER_DIGITS) {
+			addTerm(terms, "PHONE", digits.substring(digits.length() - NATIONAL_NUMBER_DIGITS));
+		}
+		for (List<String> term : terms) {
+			rows.add(new Object[] { term.get(0), term.get(1), memberId });
+		}
+	}
+
+	private static void addTerm(Set<List<String>> terms, String field, String term) {
+		if (!term.isEmpty()) {
+			terms.add(List.of(field, term));
+		}
+	}
+
+	private static String normalizeName(String name) {
+		return name == null ? "" : truncate(WHITESPACE.matcher(name.trim()).replaceAll(" ").toLowerCase(Locale.ROOT));
+	}
+
+	private static String truncate(String term) {
+		return term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term;
+	}
+}
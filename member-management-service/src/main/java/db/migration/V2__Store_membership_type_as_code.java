@@ -0,0 +1,41 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Converts memberships.membership_type from the enum ordinal to the
+ * one-character code written by MembershipTypeConverter, and widens status to
+ * a plain VARCHAR so new statuses do not need a column change.
+ *
+ * Written in Java because databases created by Hibernate carry a generated,
+ * unnamed CHECK constraint on the ordinal column that has to be looked up
+ * before it can be dropped.
+ */
+public class V2__Store_membership_type_as_code extends BaseJavaMigration {
+
+	@Override
+	public void migrate(Context context) {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+
+		for (String checkName : jdbcTemplate.queryForList("""
+				SELECT tc.constraint_name
+				FROM information_schema.table_constraints tc
+				JOIN information_schema.check_constraints cc
+					ON cc.constraint_schema = tc.constraint_schema AND cc.constraint_name = tc.constraint_name
+				WHERE tc.table_schema = DATABASE() AND tc.table_name = 'memberships'
+					AND tc.constraint_type = 'CHECK' AND cc.check_clause LIKE '%membership_type%'
+				""", String.class)) {
+			jdbcTemplate.execute("ALTER TABLE memberships DROP CHECK `" + checkName + "`");
+		}
+
+		jdbcTemplate.execute("ALTER TABLE memberships MODIFY membership_type VARCHAR(1) NOT NULL");
+		jdbcTemplate.update("""
+				UPDATE memberships
+				SET membership_type = CASE membership_type WHEN '0' THEN 'B' WHEN '1' THEN 'P' ELSE membership_type END
+				""");
+		jdbcTemplate.execute("ALTER TABLE memberships MODIFY status VARCHAR(16) NOT NULL");
+	}
+}
@@ -0,0 +1,26 @@
+-- Baseline schema, as previously generated by Hibernate. IF NOT EXISTS lets
+-- databases created before migrations were introduced pass through unchanged.
+CREATE TABLE IF NOT EXISTS members (
+    id            INT          NOT NULL AUTO_INCREMENT,
+    first_name    VARCHAR(10)  NOT NULL,
+    last_name     VARCHAR(10)  NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    phone_number  VARCHAR(255) NOT NULL,
+    date_of_birth DATETIME(6)  NOT NULL,
+    created_at    DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_members_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS memberships (
+    id              INT                        NOT NULL AUTO_INCREMENT,
+    member_id       INT                        NOT NULL,
+    membership_type TINYINT                    NOT NULL,
+    status          ENUM ('ACTIVE', 'INACTIVE') NOT NULL,
+    start_date      DATE                       NOT NULL,
+    end_date        DATE                       NOT NULL,
+    created_at      DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_memberships_member_id UNIQUE (member_id),
+    CONSTRAINT fk_memberships_member_id FOREIGN KEY (member_id) REFERENCES members (id)
+) ENGINE = InnoDB;
@@ -0,0 +1 @@
+CREATE INDEX idx_memberships_status_end_date ON memberships (status, end_date);
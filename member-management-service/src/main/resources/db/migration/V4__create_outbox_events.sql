@@ -0,0 +1,11 @@
+CREATE TABLE outbox_events (
+    id             BIGINT        NOT NULL AUTO_INCREMENT,
+    aggregate_type VARCHAR(32)   NOT NULL,
+    aggregate_id   INT           NOT NULL,
+    event_type     VARCHAR(64)   NOT NULL,
+    payload        VARCHAR(4000) NOT NULL,
+    created_at     DATETIME(6)   NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_outbox_events_aggregate_type_id ON outbox_events (aggregate_type, id);
@@ -0,0 +1,6 @@
+CREATE TABLE outbox_subscriber_offsets (
+    subscriber    VARCHAR(64) NOT NULL,
+    last_event_id BIGINT      NOT NULL,
+    updated_at    DATETIME(6),
+    PRIMARY KEY (subscriber)
+) ENGINE = InnoDB;
@@ -0,0 +1,12 @@
+CREATE TABLE job_checkpoints (
+    name        VARCHAR(64) NOT NULL,
+    owner       VARCHAR(64),
+    lease_until DATETIME(6),
+    cutoff_date DATE,
+    processed   BIGINT      NOT NULL,
+    started_at  DATETIME(6),
+    finished_at DATETIME(6),
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
+
+INSERT INTO job_checkpoints (name, processed) VALUES ('membership-expiry', 0);
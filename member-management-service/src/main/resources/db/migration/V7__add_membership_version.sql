@@ -0,0 +1 @@
+ALTER TABLE memberships ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1 @@
+ALTER TABLE members ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
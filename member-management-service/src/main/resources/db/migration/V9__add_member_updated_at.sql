@@ -0,0 +1,3 @@
+ALTER TABLE members ADD COLUMN updated_at DATETIME(6);
+
+UPDATE members SET updated_at = created_at;
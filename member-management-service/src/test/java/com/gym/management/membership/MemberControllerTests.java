@@ -0,0 +1,52 @@
+package com.gym.management.membership;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.gym.management.common.exception.LostUpdateExceptionHandler;
+import com.gym.management.membership.controller.MemberController;
+import com.gym.management.membership.model.Member;
+import com.gym.management.membership.service.MemberService;
+
+class MemberControllerTests {
+	private static final String MEMBER = "{\"firstName\":\"Ann\",\"lastName\":\"Lee\",\"email\":\"ann@example.com\"}";
+
+	private MemberService memberService;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		memberService = mock(MemberService.class);
+		mockMvc = MockMvcBuilders.standaloneSetup(new MemberController(memberService))
+				.setControllerAdvice(new LostUpdateExceptionHandler())
+				.build();
+		when(memberService.updateMember(eq(1), any(Member.class), any()))
+				.thenThrow(new ObjectOptimisticLockingFailureException(Member.class, 1));
+	}
+
+	@Test
+	void testLostUpdateIsAConflict() throws Exception {
+		mockMvc.perform(put("/members/update/1").contentType(MediaType.APPLICATION_JSON).content(MEMBER))
+				.andExpect(status().isConflict());
+	}
+
+	@Test
+	void testLostConditionalUpdateFailsItsPrecondition() throws Exception {
+		mockMvc.perform(put("/members/update/1").contentType(MediaType.APPLICATION_JSON)
+				.header(HttpHeaders.IF_MATCH, "\"3\"")
+				.content(MEMBER))
+				.andExpect(status().isPreconditionFailed());
+	}
+}
@@ -0,0 +1,94 @@
+package com.gym.management.membership;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import com.gym.management.membership.dto.MemberSearchHit;
+import com.gym.management.membership.dto.MemberSearchPage;
+import com.gym.management.membership.exception.InvalidCursorException;
+import com.gym.management.membership.model.MemberSearchTerm;
+import com.gym.management.membership.model.MemberSearchTerm.Field;
+import com.gym.management.membership.repository.MemberSearchTermRepository;
+import com.gym.management.membership.service.MemberSearchIndex;
+
+class MemberSearchIndexTests {
+	private MemberSearchTermRepository repository;
+	private MemberSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(MemberSearchTermRepository.class);
+		index = new MemberSearchIndex(repository);
+	}
+
+	private static MemberSearchHit hit(String match, int id) {
+		return new MemberSearchHit(match, id, "Ann", "Smith", "ann" + id + "@example.com", "+15550000000");
+	}
+
+	@Test
+	void testTermsAreNormalized() {
+		List<MemberSearchTerm> terms = MemberSearchIndex.terms(7, "John", " Doe", "John.Doe@Example.com",
+				"+1 (555) 123-4567");
+
+		assertEquals(List.of(new MemberSearchTerm(Field.NAME, "john doe", 7), new MemberSearchTerm(Field.NAME, "doe", 7),
+				new MemberSearchTerm(Field.EMAIL, "john.doe@example.com", 7),
+				new MemberSearchTerm(Field.PHONE, "15551234567", 7), new MemberSearchTerm(Field.PHONE, "5551234567", 7)),
+				terms);
+	}
+
+	@Test
+	void testFieldIsPickedFromTheQuery() {
+		index.search("555-12", null, null, 20);
+		index.search("Mc_Gr", null, null, 20);
+		index.search("Ann@", null, null, 500);
+
+		verify(repository).search(Field.PHONE, "55512%", "", 0, Limit.of(21));
+		verify(repository).search(Field.NAME, "mc!_gr%", "", 0, Limit.of(21));
+		verify(repository).search(Field.EMAIL, "ann@%", "", 0, Limit.of(MemberSearchIndex.MAX_PAGE_SIZE + 1));
+	}
+
+	@Test
+	void testCursorContinuesAfterTheLastRow() {
+		when(repository.search(eq(Field.NAME), eq("smi%"), eq(""), eq(0), any()))
+				.thenReturn(List.of(hit("smith", 4), hit("smith", 9), hit("smithers", 2)));
+		when(repository.search(eq(Field.NAME), eq("smi%"), eq("smith"), eq(9), any()))
+				.thenReturn(List.of(hit("smithers", 2)));
+
+		MemberSearchPage first = index.search("Smi", null, null, 2);
+		MemberSearchPage second = index.search("Smi", null, first.getNextCursor(), 2);
+
+		assertEquals(List.of(4, 9), first.getContent().stream().map(MemberSearchHit::getId).toList());
+		assertEquals(List.of(2), second.getContent().stream().map(MemberSearchHit::getId).toList());
+		assertNull(second.getNextCursor());
+	}
+
+	@Test
+	void testMemberMatchingTwoTermsIsListedOnce() {
+		when(repository.search(any(), anyString(), anyString(), anyInt(), any()))
+				.thenReturn(List.of(hit("lee lee", 3), hit("lee", 3), hit("lee", 5)));
+
+		MemberSearchPage page = index.search("lee", null, null, 20);
+
+		assertEquals(List.of(3, 5), page.getContent().stream().map(MemberSearchHit::getId).toList());
+	}
+
+	@Test
+	void testBlankQueryAndForgedCursor() {
+		assertEquals(List.of(), index.search("  ", null, null, 20).getContent());
+		assertThrows(InvalidCursorException.class, () -> index.search("smi", null, "not a cursor", 20));
+	}
+}
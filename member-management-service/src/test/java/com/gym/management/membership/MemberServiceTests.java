@@ -1,17 +1,27 @@
 package com.gym.management.membership;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -19,12 +29,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.gym.management.common.dto.ResourceStamp;
+import com.gym.management.membership.dto.MemberSummaryDTO;
+import com.gym.management.membership.exception.BatchTooLargeException;
 import com.gym.management.membership.exception.ResourceNotFoundException;
+import com.gym.management.membership.exception.VersionConflictException;
 import com.gym.management.membership.model.Member;
 import com.gym.management.membership.repository.MemberRepository;
+import com.gym.management.membership.service.EventOutbox;
+import com.gym.management.membership.service.MemberSearchIndex;
 import com.gym.management.membership.service.MemberServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,11 +51,16 @@ class MemberServiceTests {
 	@Mock
 	private MemberRepository memberRepository;
 
+	@Mock
+	private EventOutbox eventOutbox;
+
+	@Mock
+	private MemberSearchIndex memberSearchIndex;
+
 	private Member member;
 
 	@BeforeEach
 	public void setUp() {
-		MockitoAnnotations.openMocks(this);
 		member = new Member();
 		member.setId(1);
 		member.setFirstName("John");
@@ -58,6 +78,17 @@ class MemberServiceTests {
 		assertEquals(member.getId(), createdMember.getId());
 	}
 
+	@Test
+	public void testCreateMemberRecordsEvent() {
+		Member newMember = new Member();
+		newMember.setFirstName("Jane");
+		when(memberRepository.save(newMember)).thenReturn(member);
+		memberService.createMember(newMember);
+		verify(eventOutbox).append(eq(EventOutbox.MEMBER), eq(1), eq(EventOutbox.MEMBER_CREATED),
+				eq(new MemberSummaryDTO(1, "John", "Doe")));
+		verify(memberSearchIndex).add(member);
+	}
+
 	@Test
 	public void testGetMember() {
 		when(memberRepository.findById(1)).thenReturn(Optional.of(member));
@@ -98,6 +129,18 @@ class MemberServiceTests {
 		Member updatedMember = memberService.updateMember(1, updatedDetails);
 		assertNotNull(updatedMember);
 		assertEquals(updatedDetails.getFirstName(), updatedMember.getFirstName());
+		verify(eventOutbox).append(eq(EventOutbox.MEMBER), eq(1), eq(EventOutbox.MEMBER_UPDATED), any());
+		verify(memberSearchIndex).update(updatedDetails);
+	}
+
+	@Test
+	public void testUpdateMemberAtStaleVersionIsRejected() {
+		member.setVersion(4);
+		when(memberRepository.findById(1)).thenReturn(Optional.of(member));
+
+		assertThrows(VersionConflictException.class, () -> memberService.updateMember(1, new Member(), 3L));
+		verify(memberRepository, never()).save(any(Member.class));
+		verify(eventOutbox, never()).append(anyString(), anyInt(), anyString(), any());
 	}
 
 	@Test
@@ -106,6 +149,8 @@ class MemberServiceTests {
 		doNothing().when(memberRepository).deleteById(1);
 		memberService.deleteMember(1);
 		verify(memberRepository, times(1)).deleteById(1);
+		verify(memberSearchIndex).remove(1);
+		verify(eventOutbox).append(eq(EventOutbox.MEMBER), eq(1), eq(EventOutbox.MEMBER_DELETED), any());
 	}
 
 	@Test
@@ -114,6 +159,54 @@ class MemberServiceTests {
 		assertThrows(ResourceNotFoundException.class, () -> {
 			memberService.deleteMember(1);
 		});
+		verify(eventOutbox, never()).append(anyString(), anyInt(), anyString(), any());
+	}
+
+	@Test
+	public void testGetMemberSummariesDeduplicatesIds() {
+		when(memberRepository.findSummariesByIdIn(Set.of(1, 2)))
+				.thenReturn(List.of(new MemberSummaryDTO(1, "John", "Doe")));
+		List<MemberSummaryDTO> summaries = memberService.getMemberSummaries(List.of(1, 2, 1));
+		assertEquals(1, summaries.size());
+		assertEquals("John", summaries.get(0).getFirstName());
 	}
 
+	@Test
+	public void testGetMemberSummariesEmpty() {
+		assertEquals(0, memberService.getMemberSummaries(List.of()).size());
+		verify(memberRepository, never()).findSummariesByIdIn(anyCollection());
+	}
+
+	@Test
+	public void testGetMemberSummariesTooMany() {
+		List<Integer> ids = IntStream.rangeClosed(1, 1001).boxed().toList();
+		assertThrows(BatchTooLargeException.class, () -> {
+			memberService.getMemberSummaries(ids);
+		});
+	}
+
+	@Test
+	public void testGetMemberStampDoesNotLoadTheMember() {
+		ResourceStamp stamp = new ResourceStamp(1, 3, LocalDateTime.now());
+		when(memberRepository.findStampById(1)).thenReturn(Optional.of(stamp));
+
+		assertEquals(stamp, memberService.getMemberStamp(1));
+		verify(memberRepository, never()).findById(anyInt());
+	}
+
+	@Test
+	public void testGetMemberStampOfUnknownMember() {
+		when(memberRepository.findStampById(2)).thenReturn(Optional.empty());
+
+		assertNull(memberService.getMemberStamp(2));
+	}
+
+	@Test
+	public void testStampETagChangesWithVersion() {
+		LocalDateTime now = LocalDateTime.now();
+
+		assertEquals(new ResourceStamp(2, 5, now).toETag(), new ResourceStamp(2, 5, now).toETag());
+		assertNotEquals(new ResourceStamp(2, 5, now).toETag(), new ResourceStamp(2, 6, now).toETag());
+		assertEquals(-1, new ResourceStamp(0, 0, null).lastModifiedMillis());
+	}
 }
@@ -0,0 +1,147 @@
+package com.gym.management.membership;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.gym.management.membership.dto.MembershipStateDTO;
+import com.gym.management.membership.model.JobCheckpoint;
+import com.gym.management.membership.model.Membership.MembershipStatus;
+import com.gym.management.membership.model.Membership.MembershipType;
+import com.gym.management.membership.repository.JobCheckpointRepository;
+import com.gym.management.membership.repository.MembershipRepository;
+import com.gym.management.membership.service.EventOutbox;
+import com.gym.management.membership.service.MembershipExpiryJob;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MembershipExpiryJobTests {
+	private static final String JOB = "membership-expiry";
+	private static final int CHUNK_SIZE = 2;
+
+	private MembershipRepository membershipRepository;
+	private JobCheckpointRepository jobCheckpointRepository;
+	private EventOutbox eventOutbox;
+	private SimpleMeterRegistry meterRegistry;
+	private MembershipExpiryJob job;
+
+	@BeforeEach
+	void setUp() {
+		membershipRepository = mock(MembershipRepository.class);
+		jobCheckpointRepository = mock(JobCheckpointRepository.class);
+		eventOutbox = mock(EventOutbox.class);
+		PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+		when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+		meterRegistry = new SimpleMeterRegistry();
+
+		when(jobCheckpointRepository.existsById(JOB)).thenReturn(true);
+		when(jobCheckpointRepository.acquire(eq(JOB), anyString(), any(), any())).thenReturn(1);
+		when(jobCheckpointRepository.start(eq(JOB), anyString(), any(), any())).thenReturn(1);
+		when(jobCheckpointRepository.checkpoint(eq(JOB), anyString(), anyLong(), any())).thenReturn(1);
+		when(jobCheckpointRepository.findById(JOB)).thenReturn(Optional.of(finishedCheckpoint()));
+
+		job = new MembershipExpiryJob(membershipRepository, jobCheckpointRepository, eventOutbox,
+				transactionManager, meterRegistry, CHUNK_SIZE, 60_000);
+	}
+
+	private static JobCheckpoint finishedCheckpoint() {
+		JobCheckpoint checkpoint = new JobCheckpoint(JOB);
+		checkpoint.setCutoffDate(LocalDate.now().minusDays(1));
+		checkpoint.setFinishedAt(LocalDateTime.now().minusDays(1));
+		return checkpoint;
+	}
+
+	private static MembershipStateDTO expired(int id) {
+		return new MembershipStateDTO(id, id, MembershipType.BASIC, MembershipStatus.EXPIRED,
+				LocalDate.now().minusMonths(2), LocalDate.now().minusMonths(1));
+	}
+
+	@Test
+	void testDueMembershipsAreExpiredInChunksWithEvents() {
+		LocalDate today = LocalDate.now();
+		when(membershipRepository.findIdsByStatusAndEndDateBefore(eq(MembershipStatus.ACTIVE), eq(today),
+				any(Limit.class))).thenReturn(List.of(1, 2), List.of(3));
+		when(membershipRepository.updateStatus(any(), eq(MembershipStatus.ACTIVE), eq(MembershipStatus.EXPIRED),
+				eq(today))).thenReturn(2, 1);
+		when(membershipRepository.findStatesByIdInAndStatus(List.of(1, 2), MembershipStatus.EXPIRED))
+				.thenReturn(List.of(expired(1), expired(2)));
+		when(membershipRepository.findStatesByIdInAndStatus(List.of(3), MembershipStatus.EXPIRED))
+				.thenReturn(List.of(expired(3)));
+
+		job.run();
+
+		verify(jobCheckpointRepository).start(eq(JOB), anyString(), eq(today), any());
+		verify(eventOutbox).appendAll(EventOutbox.MEMBERSHIP, EventOutbox.MEMBERSHIP_EXPIRED,
+				Map.of(1, expired(1), 2, expired(2)));
+		verify(eventOutbox).appendAll(EventOutbox.MEMBERSHIP, EventOutbox.MEMBERSHIP_EXPIRED,
+				Map.of(3, expired(3)));
+		verify(jobCheckpointRepository).checkpoint(eq(JOB), anyString(), eq(2L), any());
+		verify(jobCheckpointRepository).checkpoint(eq(JOB), anyString(), eq(1L), any());
+		verify(jobCheckpointRepository).finish(eq(JOB), anyString(), any());
+		assertEquals(3, meterRegistry.counter("membership.expiry.expired").count());
+	}
+
+	@Test
+	void testUnfinishedRunIsResumedWithItsCutoff() {
+		LocalDate cutoff = LocalDate.now().minusDays(1);
+		JobCheckpoint checkpoint = new JobCheckpoint(JOB);
+		checkpoint.setCutoffDate(cutoff);
+		checkpoint.setProcessed(1000);
+		when(jobCheckpointRepository.findById(JOB)).thenReturn(Optional.of(checkpoint));
+		when(membershipRepository.findIdsByStatusAndEndDateBefore(eq(MembershipStatus.ACTIVE), eq(cutoff),
+				any(Limit.class))).thenReturn(List.of());
+		when(membershipRepository.findEarliestEndDateByStatusAndEndDateBefore(MembershipStatus.ACTIVE, cutoff))
+				.thenReturn(cutoff.minusDays(3));
+
+		job.run();
+
+		verify(jobCheckpointRepository, never()).start(anyString(), anyString(), any(), any());
+		verify(jobCheckpointRepository).finish(eq(JOB), anyString(), any());
+		assertEquals(3, meterRegistry.get("membership.expiry.lag").gauge().value());
+	}
+
+	@Test
+	void testNothingRunsWithoutTheLease() {
+		when(jobCheckpointRepository.acquire(eq(JOB), anyString(), any(), any())).thenReturn(0);
+
+		job.run();
+
+		verify(membershipRepository, never()).findIdsByStatusAndEndDateBefore(any(), any(), any(Limit.class));
+		verify(jobCheckpointRepository, never()).finish(anyString(), anyString(), any());
+	}
+
+	@Test
+	void testLosingTheLeaseStopsTheRun() {
+		when(membershipRepository.findIdsByStatusAndEndDateBefore(eq(MembershipStatus.ACTIVE), any(),
+				any(Limit.class))).thenReturn(List.of(1, 2));
+		when(membershipRepository.updateStatus(any(), any(), any(), any())).thenReturn(2);
+		when(membershipRepository.findStatesByIdInAndStatus(any(), any()))
+				.thenReturn(List.of(expired(1), expired(2)));
+		when(jobCheckpointRepository.checkpoint(eq(JOB), anyString(), anyLong(), any())).thenReturn(0);
+
+		job.run();
+
+		verify(eventOutbox).appendAll(anyString(), anyString(), anyMap());
+		verify(jobCheckpointRepository, never()).finish(anyString(), anyString(), any());
+		assertEquals(0, meterRegistry.counter("membership.expiry.expired").count());
+	}
+}
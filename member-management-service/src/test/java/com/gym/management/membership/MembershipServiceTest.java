@@ -1,8 +1,117 @@
 package com.gym.management.membership;
 
-import org.springframework.boot.test.context.SpringBootTest;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
-@SpringBootTest
-public class MembershipServiceTest {
+import java.time.LocalDate;
+import java.util.Optional;
 
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.gym.management.membership.dto.MembershipStateDTO;
+import com.gym.management.membership.exception.ResourceNotFoundException;
+import com.gym.management.membership.model.Member;
+import com.gym.management.membership.model.Membership;
+import com.gym.management.membership.model.Membership.MembershipStatus;
+import com.gym.management.membership.model.Membership.MembershipType;
+import com.gym.management.membership.repository.MembershipRepository;
+import com.gym.management.membership.service.EventOutbox;
+import com.gym.management.membership.service.MemberService;
+import com.gym.management.membership.service.MembershipServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class MembershipServiceTest {
+
+	@InjectMocks
+	private MembershipServiceImpl membershipService;
+
+	@Mock
+	private MemberService memberService;
+
+	@Mock
+	private MembershipRepository membershipRepository;
+
+	@Mock
+	private EventOutbox eventOutbox;
+
+	private Membership membership;
+
+	@BeforeEach
+	public void setUp() {
+		Member member = new Member();
+		member.setId(7);
+
+		membership = new Membership();
+		membership.setId(3);
+		membership.setMember(member);
+		membership.setMembershipType(MembershipType.BASIC);
+		membership.setStatus(MembershipStatus.EXPIRED);
+		membership.setStartDate(LocalDate.now().minusMonths(2));
+		membership.setEndDate(LocalDate.now().minusMonths(1));
+		member.setMembership(membership);
+	}
+
+	@Test
+	public void testRenewMembershipLooksUpByMembershipId() {
+		when(membershipRepository.findById(3)).thenReturn(Optional.of(membership));
+
+		Membership renewed = membershipService.renewMembership(3);
+
+		assertEquals(MembershipStatus.ACTIVE, renewed.getStatus());
+		assertEquals(LocalDate.now().plusMonths(1), renewed.getEndDate());
+		verify(eventOutbox).append(eq(EventOutbox.MEMBERSHIP), eq(3), eq(EventOutbox.MEMBERSHIP_RENEWED),
+				eq(MembershipStateDTO.of(membership)));
+		verifyNoInteractions(memberService);
+		verify(membershipRepository, never()).save(any());
+	}
+
+	@Test
+	public void testUpgradeMembership() {
+		when(membershipRepository.findById(3)).thenReturn(Optional.of(membership));
+
+		Membership upgraded = membershipService.upgradeMembership(3, MembershipType.PREMIUM);
+
+		assertEquals(MembershipType.PREMIUM, upgraded.getMembershipType());
+		assertEquals(LocalDate.now().plusMonths(3), upgraded.getEndDate());
+		verify(eventOutbox).append(eq(EventOutbox.MEMBERSHIP), eq(3), eq(EventOutbox.MEMBERSHIP_UPGRADED), any());
+	}
+
+	@Test
+	public void testDeactivateMembership() {
+		when(membershipRepository.findById(3)).thenReturn(Optional.of(membership));
+
+		membershipService.deactivateMembership(3);
+
+		assertEquals(MembershipStatus.INACTIVE, membership.getStatus());
+		verify(eventOutbox).append(eq(EventOutbox.MEMBERSHIP), eq(3), eq(EventOutbox.MEMBERSHIP_DEACTIVATED),
+				any());
+	}
+
+	@Test
+	public void testRenewUnknownMembershipThrows() {
+		when(membershipRepository.findById(7)).thenReturn(Optional.empty());
+
+		assertThrows(ResourceNotFoundException.class, () -> membershipService.renewMembership(7));
+		verify(eventOutbox, never()).append(any(), anyInt(), any(), any());
+	}
+
+	@Test
+	public void testGetMembershipByMemberId() {
+		when(membershipRepository.findByMemberId(7)).thenReturn(Optional.of(membership));
+
+		assertEquals(3, membershipService.getMembershipByMemberId(7).getId());
+		verify(membershipRepository, never()).findById(anyInt());
+	}
 }
@@ -0,0 +1,136 @@
+package com.gym.management.membership;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import com.gym.management.membership.model.OutboxEvent;
+import com.gym.management.membership.model.SubscriberOffset;
+import com.gym.management.membership.repository.SubscriberOffsetRepository;
+import com.gym.management.membership.service.EventOutbox;
+import com.gym.management.membership.service.OutboxRelay;
+import com.gym.management.membership.service.OutboxRelayProperties;
+
+class OutboxRelayTests {
+	private static final String URL = "http://billing/events";
+
+	private EventOutbox eventOutbox;
+	private SubscriberOffsetRepository subscriberOffsetRepository;
+	private MockRestServiceServer server;
+	private OutboxRelay relay;
+
+	@BeforeEach
+	void setUp() {
+		eventOutbox = mock(EventOutbox.class);
+		subscriberOffsetRepository = mock(SubscriberOffsetRepository.class);
+		when(subscriberOffsetRepository.findById("billing"))
+				.thenReturn(Optional.of(new SubscriberOffset("billing", 10, null)));
+		when(subscriberOffsetRepository.advance(anyString(), anyLong(), anyLong(), any())).thenReturn(1);
+
+		OutboxRelayProperties.Subscriber subscriber = new OutboxRelayProperties.Subscriber();
+		subscriber.setName("billing");
+		subscriber.setUrl(URL);
+		subscriber.setAggregateTypes(List.of(EventOutbox.MEMBERSHIP));
+		OutboxRelayProperties properties = new OutboxRelayProperties();
+		properties.setBatchSize(2);
+		properties.setSubscribers(List.of(subscriber));
+
+		RestClient.Builder builder = RestClient.builder();
+		server = MockRestServiceServer.bindTo(builder).build();
+		relay = new OutboxRelay(eventOutbox, subscriberOffsetRepository, properties, builder);
+	}
+
+	private static OutboxEvent event(long id) {
+		OutboxEvent event = new OutboxEvent();
+		event.setId(id);
+		event.setAggregateType(EventOutbox.MEMBERSHIP);
+		event.setAggregateId(1);
+		event.setEventType(EventOutbox.MEMBERSHIP_RENEWED);
+		event.setPayload("{\"membershipId\":1}");
+		return event;
+	}
+
+	@Test
+	void testBatchesAreDeliveredInOrderAndOffsetAdvances() {
+		when(eventOutbox.read(eq(10L), anyCollection(), eq(2))).thenReturn(List.of(event(11), event(12)));
+		when(eventOutbox.read(eq(12L), anyCollection(), eq(2))).thenReturn(List.of(event(13)));
+		when(subscriberOffsetRepository.findById("billing")).thenReturn(
+				Optional.of(new SubscriberOffset("billing", 10, null)),
+				Optional.of(new SubscriberOffset("billing", 12, null)));
+		server.expect(requestTo(URL)).andExpect(jsonPath("$[0].id").value(11))
+				.andExpect(jsonPath("$[0].payload.membershipId").value(1)).andRespond(withSuccess());
+		server.expect(requestTo(URL)).andExpect(jsonPath("$[0].id").value(13)).andRespond(withSuccess());
+
+		relay.relay();
+
+		server.verify();
+		verify(subscriberOffsetRepository).advance(eq("billing"), eq(10L), eq(12L), any());
+		verify(subscriberOffsetRepository).advance(eq("billing"), eq(12L), eq(13L), any());
+	}
+
+	@Test
+	void testRejectedBatchKeepsOffsetAndBacksOff() {
+		when(eventOutbox.read(eq(10L), anyCollection(), anyInt())).thenReturn(List.of(event(11)));
+		server.expect(ExpectedCount.once(), requestTo(URL)).andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+		relay.relay();
+		relay.relay();
+
+		server.verify();
+		verify(subscriberOffsetRepository, never()).advance(anyString(), anyLong(), anyLong(), any());
+	}
+
+	@Test
+	void testFirstDeliveryStartsTheOffsetWithAnInsert() {
+		when(subscriberOffsetRepository.findById("billing")).thenReturn(Optional.empty(),
+				Optional.of(new SubscriberOffset("billing", 11, null)));
+		when(eventOutbox.read(eq(0L), anyCollection(), eq(2))).thenReturn(List.of(event(11)));
+		server.expect(requestTo(URL)).andExpect(jsonPath("$[0].id").value(11)).andRespond(withSuccess());
+
+		relay.relay();
+
+		server.verify();
+		verify(subscriberOffsetRepository).create(eq("billing"), any());
+		verify(subscriberOffsetRepository).advance(eq("billing"), eq(0L), eq(11L), any());
+		verify(subscriberOffsetRepository, never()).save(any());
+	}
+
+	@Test
+	void testOffsetCreatedByAnotherRelayIsNotReset() {
+		when(subscriberOffsetRepository.findById("billing")).thenReturn(Optional.empty(),
+				Optional.of(new SubscriberOffset("billing", 10, null)));
+		doThrow(new DataIntegrityViolationException("duplicate")).when(subscriberOffsetRepository)
+				.create(eq("billing"), any());
+		when(eventOutbox.read(eq(10L), anyCollection(), eq(2))).thenReturn(List.of(event(11)));
+		server.expect(requestTo(URL)).andExpect(jsonPath("$[0].id").value(11)).andRespond(withSuccess());
+
+		relay.relay();
+
+		server.verify();
+		verify(subscriberOffsetRepository).advance(eq("billing"), eq(10L), eq(11L), any());
+		verify(subscriberOffsetRepository, never()).save(any());
+	}
+}